@@ -36,3 +36,35 @@ application {
     // Define the main class for the application.
     mainClass.set("dev.anli.oligopoly.App")
 }
+
+tasks.register<JavaExec>("simulate") {
+    // Runs headless batch simulations, e.g. ./gradlew simulate --args="Standard 10000 4"
+    group = "application"
+    description = "Simulates games without a user interface."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("dev.anli.oligopoly.Simulate")
+    jvmArgs("-Djava.awt.headless=true")
+}
+
+// Microbenchmarks live in their own source set so that JMH never ends up on the app's classpath.
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets["main"].output + sourceSets["main"].compileClasspath
+    runtimeClasspath += sourceSets["main"].output + sourceSets["main"].runtimeClasspath
+}
+
+dependencies {
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+}
+
+tasks.register<JavaExec>("jmh") {
+    // Runs the benchmarks with the GC profiler, e.g. ./gradlew jmh --args="ItemsBenchmark"
+    group = "verification"
+    description = "Runs the JMH microbenchmarks."
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    jvmArgs("-Djava.awt.headless=true")
+    argumentProviders.add(CommandLineArgumentProvider {
+        listOf("-prof", "gc", "-jvmArgsAppend", "-Djava.awt.headless=true")
+    })
+}
@@ -0,0 +1,72 @@
+package dev.anli.oligopoly.bench;
+
+import dev.anli.oligopoly.board.Board;
+import dev.anli.oligopoly.board.property.PropertyCategory;
+import dev.anli.oligopoly.board.property.StreetProperty;
+import dev.anli.oligopoly.state.Game;
+import dev.anli.oligopoly.state.GameSnapshot;
+import dev.anli.oligopoly.state.Player;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks moving around the Standard board, the monopoly check behind street rent and taking
+ * snapshots of the game.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBenchmark {
+    private Board board;
+    private PropertyCategory brown;
+    private Game game;
+    private Player player;
+
+    @Setup(Level.Trial)
+    public void setUpBoard() {
+        board = StandardBoard.get();
+        brown = ((StreetProperty) board.getItem("BROWN_1")).category();
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpGame() {
+        // Start every iteration from the same game so that drift (cash from passing Go, jail)
+        // doesn't build up across the run.
+        game = new Game(board, 4, board.startItems(), 1);
+        game.transitionToPremove();
+        player = game.getCurrentPlayer();
+        player.getItems().add("BROWN_1", 1);
+        player.getItems().add("BROWN_2", 1);
+    }
+
+    @Benchmark
+    public int move() {
+        game.move(7);
+        return player.getLocation();
+    }
+
+    @Benchmark
+    public int rollDiceAndMove() {
+        // Without this the dice rolls pile up and every double sends the player to jail.
+        game.clearDiceRolls();
+        game.rollDiceAndMove();
+        return player.getLocation();
+    }
+
+    @Benchmark
+    public boolean hasMonopoly() {
+        return player.hasMonopoly(brown, board);
+    }
+
+    @Benchmark
+    public GameSnapshot moveAndSnapshot() {
+        // A move changes one player's location and perhaps some money, so most of the snapshot
+        // is shared with the previous one.
+        game.move(7);
+        return game.snapshot();
+    }
+}
@@ -0,0 +1,44 @@
+package dev.anli.oligopoly.bench;
+
+import dev.anli.oligopoly.board.Board;
+import dev.anli.oligopoly.sim.Simulator;
+import dev.anli.oligopoly.state.Game;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks whole games between random players on the Standard board.
+ * <p>
+ * Every invocation plays a freshly seeded game, so the score is in games per second; divide by
+ * the average game length reported by the {@code simulate} task to get turns per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameThroughputBenchmark {
+    @Param({"4"})
+    public int players;
+
+    private Board board;
+    private Simulator simulator;
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        board = StandardBoard.get();
+        simulator = new Simulator(board, players, Simulator.DEFAULT_MAX_TURNS,
+            new SplittableRandom(1));
+    }
+
+    @Benchmark
+    public int playGame() {
+        Game game = new Game(board, players, board.startItems(), seed++);
+        simulator.play(game);
+        return game.getTurns();
+    }
+}
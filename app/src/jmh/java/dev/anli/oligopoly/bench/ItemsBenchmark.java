@@ -0,0 +1,50 @@
+package dev.anli.oligopoly.bench;
+
+import dev.anli.oligopoly.board.Money;
+import dev.anli.oligopoly.state.Items;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the {@link Items} operations performed on every payment.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemsBenchmark {
+    private Items wallet;
+    private Items cost;
+
+    @Setup
+    public void setUp() {
+        // A mid-game player: some cash, a few properties and a card.
+        wallet = new Items(StandardBoard.get().startItems());
+        wallet.add("BROWN_1", 1);
+        wallet.add("BROWN_2", 1);
+        wallet.add("RED_2", 1);
+        wallet.add("RAILROAD_1", 1);
+        cost = new Items(Money.ID, 200);
+    }
+
+    @Benchmark
+    public Items addThenSubtract() {
+        // Pair the two so the wallet stays the same size from one invocation to the next.
+        wallet.add(cost);
+        wallet.subtract(cost);
+        return wallet;
+    }
+
+    @Benchmark
+    public boolean has() {
+        return wallet.has(cost);
+    }
+
+    @Benchmark
+    public boolean hasDebt() {
+        return wallet.hasDebt();
+    }
+}
@@ -0,0 +1,63 @@
+package dev.anli.oligopoly.bench;
+
+import dev.anli.oligopoly.board.Action;
+import dev.anli.oligopoly.board.Board;
+import dev.anli.oligopoly.board.property.StreetProperty;
+import dev.anli.oligopoly.state.Game;
+import dev.anli.oligopoly.state.Items;
+import dev.anli.oligopoly.state.Player;
+import dev.anli.oligopoly.state.PropertyState;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the street property calls made whenever a player lands on or manages a street.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyBenchmark {
+    private Game game;
+    private Player owner;
+    private StreetProperty street;
+    private PropertyState state;
+    private List<Items> rentTable;
+
+    @Setup
+    public void setUp() {
+        Board board = StandardBoard.get();
+        game = new Game(board, 4, board.startItems(), 1);
+        owner = game.getPlayers().get(1);
+        owner.getItems().add("BROWN_1", 1);
+        owner.getItems().add("BROWN_2", 1);
+        street = (StreetProperty) board.getItem("BROWN_1");
+        state = game.getPropertyState("BROWN_1");
+        rentTable = board.getRentTable(board.getPropertyNumber("BROWN_1"));
+    }
+
+    @Benchmark
+    public Items getRent() {
+        // The owner has a monopoly and no buildings, which is the path that checks the category.
+        return street.getRent(rentTable, state, owner, game);
+    }
+
+    @Benchmark
+    public Items getCachedRent() {
+        return game.getRent("BROWN_1");
+    }
+
+    @Benchmark
+    public List<String> getDisplayStats() {
+        return street.getDisplayStats("BROWN_1", game);
+    }
+
+    @Benchmark
+    public List<Action> getItemActions() {
+        return street.getItemActions("BROWN_1", game);
+    }
+}
@@ -0,0 +1,45 @@
+package dev.anli.oligopoly.bench;
+
+import dev.anli.oligopoly.board.Board;
+import dev.anli.oligopoly.bot.PlayerPolicy;
+import dev.anli.oligopoly.bot.RandomPolicy;
+import dev.anli.oligopoly.state.Game;
+import dev.anli.oligopoly.state.GameReplay;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks playing back a 300-turn game between random players on the Standard board.
+ * <p>
+ * The score is in games per second; multiply by the number of decisions in the replay (printed
+ * during setup) to get decisions per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReplayBenchmark {
+    private GameReplay replay;
+
+    @Setup
+    public void setUp() {
+        Board board = StandardBoard.get();
+        Game game = new Game(board, 4, board.startItems(), 1);
+        GameReplay.Recorder recorder = GameReplay.record(game);
+        PlayerPolicy policy = new RandomPolicy(new SplittableRandom(1));
+        while (game.getTurns() < 300 && policy.step(game)) {
+            // Keep playing.
+        }
+        replay = recorder.getReplay();
+        System.out.printf("Replay of %d decisions\n", replay.size());
+    }
+
+    @Benchmark
+    public Game play() {
+        return replay.play(Integer.MAX_VALUE);
+    }
+}
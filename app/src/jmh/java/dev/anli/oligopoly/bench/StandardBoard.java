@@ -0,0 +1,28 @@
+package dev.anli.oligopoly.bench;
+
+import dev.anli.oligopoly.Boards;
+import dev.anli.oligopoly.board.Board;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Looks up the Standard board that the benchmarks run on.
+ */
+final class StandardBoard {
+    private StandardBoard() {
+        // This is purely a container for the get() method.
+    }
+
+    /**
+     * Gets the Standard board from {@link Boards}.
+     */
+    @Nonnull
+    static Board get() {
+        // Boards and tiles carry AWT geometry constants; make sure they never need a display.
+        System.setProperty("java.awt.headless", "true");
+        return Boards.getBoards().stream()
+            .filter(board -> board.name().equals("Standard"))
+            .findFirst()
+            .orElseThrow();
+    }
+}
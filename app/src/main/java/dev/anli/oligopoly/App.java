@@ -6,27 +6,45 @@ package dev.anli.oligopoly;
 import dev.anli.oligopoly.board.Board;
 import dev.anli.oligopoly.gui.BoardSelect;
 import dev.anli.oligopoly.gui.GamePanel;
-import dev.anli.oligopoly.io.Deserializer;
-import dev.anli.oligopoly.io.Serializer;
+import dev.anli.oligopoly.io.CharBufferDeserializer;
+import dev.anli.oligopoly.state.AutoSaver;
 import dev.anli.oligopoly.state.Game;
+import dev.anli.oligopoly.state.GameLog;
+import dev.anli.oligopoly.state.SaveFile;
+import dev.anli.oligopoly.state.SaveSlots;
+import dev.anli.oligopoly.state.TurnPhase;
 
 import javax.annotation.Nonnull;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.event.HyperlinkEvent;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.util.List;
 
 /**
- * App for the Oligopoly game. Displays and manages the current game being played.
+ * App for the Oligopoly game. Displays and manages the current game being played, which is saved
+ * in a slot of the saves directory.
  */
 public class App implements Runnable {
     private final List<Board> boards;
     private Game game = null;
     private JFrame frame = null;
     private JFrame instructionsFrame = null;
-    private final File saveFile = new File("game.txt");
+    private final SaveSlots slots = new SaveSlots(new File("saves"));
+    private String slot = null;
+    private AutoSaver saver = null;
+    private GameLog log = null;
+    /**
+     * Save and log of the only game kept before there were slots, which are moved into a slot.
+     */
+    private final File legacySaveFile = new File("game.txt");
+    private final File legacyLogFile = new File("game.log");
 
     /**
      * Creates the app instance with the given boards.
@@ -39,32 +57,182 @@ public class App implements Runnable {
     private void saveGame() {
         assert game != null;
 
-        Serializer serializer = new Serializer();
-        serializer.accept(game);
+        if (saver != null) {
+            saver.save(game);
+        }
+    }
+
+    private static void reportSave(AutoSaver.Report report) {
+        if (report.failure() != null) {
+            System.err.println("Couldn't save game:");
+            report.failure().printStackTrace();
+            return;
+        }
+
+        System.out.printf(
+            "Game saved for turn %d (%s, %d coalesced) in %.1f ms\n",
+            report.turn(),
+            report.isFull() ? "full" : "delta",
+            report.saves(),
+            report.latencyNanos() / 1e6
+        );
+    }
+
+    /**
+     * Waits for pending saves to be written.
+     */
+    private void flushSaves() {
+        if (saver == null) {
+            return;
+        }
 
-        try (FileWriter writer = new FileWriter(saveFile)) {
-            BufferedWriter bufferedWriter = new BufferedWriter(writer);
-            bufferedWriter.write(serializer.dump());
-            bufferedWriter.close();
-            System.out.printf("Game saved for turn %d\n", game.getTurns());
+        try {
+            saver.flush();
         } catch (IOException e) {
             System.err.println("Couldn't save game:");
             e.printStackTrace();
         }
     }
 
+    /**
+     * Starts logging the current game, either to a new log or appending to the log it was
+     * rebuilt from.
+     */
+    private void openLog(boolean append) {
+        assert game != null && slot != null;
+
+        try {
+            Writer writer = new BufferedWriter(new FileWriter(slots.getLogFile(slot), append));
+            log = append
+                ? GameLog.resume(game, writer, GameLog.DEFAULT_SNAPSHOT_INTERVAL)
+                : GameLog.start(game, writer, GameLog.DEFAULT_SNAPSHOT_INTERVAL);
+        } catch (IOException e) {
+            System.err.println("Couldn't open game log:");
+            e.printStackTrace();
+        }
+    }
+
+    private void closeLog() {
+        if (log == null) {
+            return;
+        }
+
+        try {
+            log.close();
+        } catch (IOException e) {
+            System.err.println("Couldn't write game log:");
+            e.printStackTrace();
+        }
+        log = null;
+    }
+
+    /**
+     * Starts playing a game, saving it to a slot.
+     * @param saveFile the slot's save file, which the game was loaded from if it was
+     * @param isLogged whether the game was rebuilt from the slot's log, which it carries on
+     */
+    private void play(Game game, String slot, SaveFile saveFile, boolean isLogged) {
+        this.game = game;
+        this.slot = slot;
+        saver = new AutoSaver(saveFile, App::reportSave);
+        updateFrame();
+        frame.pack();
+        if (!isLogged) {
+            saveGame();
+        }
+        openLog(isLogged);
+    }
+
+    private void startGame(Game game) {
+        String slot;
+        try {
+            slot = slots.create();
+        } catch (IOException e) {
+            System.err.println("Couldn't create save slot; the game won't be saved:");
+            e.printStackTrace();
+            this.game = game;
+            updateFrame();
+            frame.pack();
+            return;
+        }
+
+        play(game, slot, new SaveFile(slots.getSaveFile(slot)), false);
+    }
+
+    private void resumeGame(SaveSlots.Slot slot) {
+        SaveFile saveFile = new SaveFile(slots.getSaveFile(slot.id()));
+
+        // The log has everything up to the last action, so prefer it to the save.
+        try {
+            Game game = rebuildFromLog(slots.getLogFile(slot.id()));
+            System.out.println("Game log found and replayed");
+            play(game, slot.id(), saveFile, true);
+            return;
+        } catch (FileNotFoundException e) {
+            // Fall back to the save.
+        } catch (IOException e) {
+            System.err.println("Couldn't replay game log");
+            e.printStackTrace();
+        }
+
+        try {
+            Game game = saveFile.load(boards);
+            System.out.println("Saved game restored");
+            play(game, slot.id(), saveFile, false);
+        } catch (IOException e) {
+            System.err.println("Couldn't restore saved game");
+            e.printStackTrace();
+            JOptionPane.showMessageDialog(
+                frame, "Couldn't restore saved game.", "Oligopoly", JOptionPane.ERROR_MESSAGE
+            );
+        }
+    }
+
+    private Game rebuildFromLog(File logFile) throws IOException {
+        try (FileInputStream input = new FileInputStream(logFile)) {
+            ByteBuffer bytes = ByteBuffer.wrap(input.readAllBytes());
+            return GameLog.rebuild(
+                new CharBufferDeserializer(bytes, Charset.defaultCharset()),
+                boards,
+                Integer.MAX_VALUE
+            );
+        }
+    }
+
+    /**
+     * Moves the game saved before there were slots into a slot of its own.
+     */
+    private void importLegacySave() {
+        if (!legacySaveFile.exists() && !legacyLogFile.exists()) {
+            return;
+        }
+
+        try {
+            Game game = legacySaveFile.exists()
+                ? new SaveFile(legacySaveFile).load(boards)
+                : rebuildFromLog(legacyLogFile);
+            String slot = slots.create();
+            new SaveFile(slots.getSaveFile(slot)).save(game);
+            if (legacyLogFile.exists()) {
+                Files.move(legacyLogFile.toPath(), slots.getLogFile(slot).toPath());
+            }
+            Files.deleteIfExists(legacySaveFile.toPath());
+            System.out.println("Saved game moved to a save slot");
+        } catch (IOException e) {
+            System.err.println("Couldn't move saved game to a save slot");
+            e.printStackTrace();
+        }
+    }
+
     private void updateFrame() {
         if (frame == null) {
             return;
         }
 
         if (game == null) {
-            frame.setContentPane(new BoardSelect(boards, game -> {
-                this.game = game;
-                updateFrame();
-                frame.pack();
-                saveGame();
-            }, this::showInstructions));
+            frame.setContentPane(new BoardSelect(
+                boards, slots.list(), this::startGame, this::resumeGame, this::showInstructions
+            ));
         } else {
             game.setGameSaver(game -> saveGame());
             frame.setContentPane(new GamePanel(game, this::quit, this::showInstructions));
@@ -73,15 +241,35 @@ public class App implements Runnable {
         frame.getContentPane().revalidate();
     }
 
+    /**
+     * Stops playing the current game, keeping its save to resume later unless it is over.
+     */
     private void quit() {
-        game = null;
-        updateFrame();
+        boolean isOver = game.getTurnPhase() == TurnPhase.WINNER;
+        closeLog();
+        if (saver != null) {
+            try {
+                saver.close();
+            } catch (IOException e) {
+                System.err.println("Couldn't save game:");
+                e.printStackTrace();
+            }
+            saver = null;
+        }
 
-        if (saveFile.delete()) {
-            System.out.println("Save file deleted");
-        } else {
-            System.err.println("Unable to delete save file.");
+        if (isOver && slot != null) {
+            try {
+                slots.delete(slot);
+                System.out.println("Save of finished game deleted");
+            } catch (IOException e) {
+                System.err.println("Unable to delete save file.");
+                e.printStackTrace();
+            }
         }
+
+        game = null;
+        slot = null;
+        updateFrame();
     }
 
     private void showInstructions() {
@@ -127,21 +315,11 @@ public class App implements Runnable {
     }
 
     /**
-     * Attempts to load the most recent save and presents the game window.
+     * Presents the game window, with the saved games to resume.
      */
     @Override
     public void run() {
-        try (FileReader reader = new FileReader(saveFile)) {
-            Deserializer deserializer = new Deserializer(reader);
-            game = Game.deserialize(deserializer, boards);
-            deserializer.close();
-            System.out.println("Saved game found and restored");
-        } catch (FileNotFoundException e) {
-            System.out.println("No saved game found, starting new game");
-        } catch (IOException e) {
-            System.err.println("Couldn't restore saved game");
-            e.printStackTrace();
-        }
+        importLegacySave();
 
         frame = new JFrame("Oligopoly");
         updateFrame();
@@ -149,6 +327,14 @@ public class App implements Runnable {
         frame.pack();
         frame.setLocationByPlatform(true);
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                // Runs before the window's close operation exits.
+                flushSaves();
+                closeLog();
+            }
+        });
         frame.setVisible(true);
     }
 
@@ -282,12 +282,12 @@ public class Boards {
             @Nonnull
             @Override
             public List<Action> getCardActions(@Nonnull Game game) {
-                return List.of(Action.make("Sure I guess", () -> {
+                return game.getFlyweight(this, () -> List.of(Action.make("Sure I guess", () -> {
                     game.getPlayers().forEach(player -> player.getItems().set("PROPERTY", 0));
                     game.getCurrentPlayer().getItems().set("PROPERTY", 1);
-                    game.setCurrentActions(List.of(game.endTurnAction()));
+                    game.setCurrentActions(game.getEndTurnActions());
                     game.setCurrentCard(null);
-                }));
+                })));
             }
         }, ClippyCard.getInstance(), GoToJail.getInstance()));
         PropertyTile propertyTile = new PropertyTile("PROPERTY");
@@ -313,6 +313,8 @@ public class Boards {
         Map<String, Item> items = new HashMap<>(Map.of(
             KillCard.getInstance().getId(), KillCard.getInstance(),
             "ANTI_KILL", new OwnableCard() {
+                private final Items useCost = new Items("ANTI_KILL", 1).freeze();
+
                 @Override
                 public String getId() {
                     return "ANTI_KILL";
@@ -339,7 +341,7 @@ public class Boards {
                 @Nonnull
                 @Override
                 public List<Action> getItemActions(@Nonnull String id, @Nonnull Game game) {
-                    return Collections.singletonList(new Action() {
+                    return game.getItemFlyweight(id, () -> List.of(new Action() {
                         @Nonnull
                         @Override
                         public String getName() {
@@ -349,7 +351,7 @@ public class Boards {
                         @Nonnull
                         @Override
                         public Items getCost() {
-                            return new Items("ANTI_KILL", 1);
+                            return useCost;
                         }
 
                         @Override
@@ -363,7 +365,7 @@ public class Boards {
                                 player -> player.getItems().set(KillCard.getInstance().getId(), 0)
                             );
                         }
-                    });
+                    }));
                 }
             },
             DebugItem.ID, DebugItem.getInstance()
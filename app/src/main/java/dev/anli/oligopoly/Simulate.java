@@ -0,0 +1,99 @@
+package dev.anli.oligopoly;
+
+import dev.anli.oligopoly.board.Board;
+import dev.anli.oligopoly.bot.MctsPolicy;
+import dev.anli.oligopoly.bot.PlayerPolicy;
+import dev.anli.oligopoly.sim.ParallelSimulator;
+import dev.anli.oligopoly.sim.SimulationStats;
+import dev.anli.oligopoly.sim.Simulator;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Command-line entry point that simulates games without a user interface.
+ * <p>
+ * Usage: {@code Simulate [board name] [games] [players] [max turns] [threads]}, where players is
+ * either a number of random players or a comma-separated list of policy names (see
+ * {@link PlayerPolicy#byName}), one per seat.
+ */
+public class Simulate {
+    private Simulate() {
+        // This is purely a container for the main() method.
+    }
+
+    /**
+     * Simulates games on one of the boards in {@link Boards} and prints the results.
+     */
+    public static void main(String[] args) {
+        // Boards and tiles carry AWT geometry constants; make sure they never need a display.
+        System.setProperty("java.awt.headless", "true");
+
+        String boardName = args.length > 0 ? args[0] : "Standard";
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 10000;
+        String seatArg = args.length > 2 ? args[2] : "4";
+        String[] seats = seatArg.matches("\\d+") ? null : seatArg.split(",");
+        int players = seats == null ? Integer.parseInt(seatArg) : seats.length;
+        int maxTurns = args.length > 3 ? Integer.parseInt(args[3]) : Simulator.DEFAULT_MAX_TURNS;
+        int threads = args.length > 4 ?
+            Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+
+        Board board = Boards.getBoards().stream()
+            .filter(b -> b.name().equals(boardName))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unknown board: " + boardName));
+
+        System.out.printf(
+            "Simulating %d games on %s with %d players on %d threads\n",
+            games, boardName, players, threads
+        );
+
+        // Keep the search policies around to report how fast they played out.
+        Queue<MctsPolicy> searches = new ConcurrentLinkedQueue<>();
+        Function<SplittableRandom, List<PlayerPolicy>> policies = random -> {
+            if (seats == null) {
+                return Simulator.randomPolicies(players, random);
+            }
+
+            List<PlayerPolicy> result =
+                Arrays.stream(seats).map(name -> PlayerPolicy.byName(name, random)).toList();
+            result.forEach(policy -> {
+                if (policy instanceof MctsPolicy search) {
+                    searches.add(search);
+                }
+            });
+            return result;
+        };
+
+        SimulationStats stats;
+        if (threads <= 1) {
+            SplittableRandom random = new SplittableRandom();
+            Simulator simulator = new Simulator(board, policies.apply(random), maxTurns, random);
+            stats = simulator.run(games);
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                ParallelSimulator simulator =
+                    new ParallelSimulator(board, policies, maxTurns, pool);
+                stats = simulator.run(games, new SplittableRandom());
+            } finally {
+                pool.shutdown();
+            }
+        }
+        stats.report(System.out);
+
+        if (!searches.isEmpty()) {
+            long playouts = searches.stream().mapToLong(MctsPolicy::getTotalPlayouts).sum();
+            double rate = searches.stream().mapToDouble(MctsPolicy::getPlayoutsPerSecond)
+                .filter(r -> r > 0).average().orElse(0);
+            System.out.printf(
+                "MCTS: %d playouts, %.0f playouts/s per search thread\n", playouts, rate
+            );
+        }
+    }
+}
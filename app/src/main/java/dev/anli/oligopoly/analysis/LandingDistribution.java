@@ -0,0 +1,542 @@
+package dev.anli.oligopoly.analysis;
+
+import dev.anli.oligopoly.board.Board;
+import dev.anli.oligopoly.board.GoToJail;
+import dev.anli.oligopoly.board.card.Card;
+import dev.anli.oligopoly.board.card.GoToPropertyCard;
+import dev.anli.oligopoly.board.tile.CardTile;
+import dev.anli.oligopoly.board.tile.Tile;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.WeakHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * The long-run distribution of where a player's token lands on a board, solved exactly as the
+ * stationary distribution of a Markov chain.
+ * <p>
+ * Each state of the chain is a point at which the player is about to roll: a location plus the
+ * number of doubles already rolled this turn, or a turn started in jail. Transitions follow the
+ * game's rules: two six-sided dice, going to jail on the third double in
+ * {@link dev.anli.oligopoly.state.Game#rollDiceAndMove()}, rolling again after a double,
+ * {@link GoToJail} tiles and cards, {@link GoToPropertyCard} jumps, and leaving jail on a double
+ * or by paying the fine (see {@link JailStrategy}). Cards are drawn uniformly with replacement,
+ * as in {@link CardTile}. A landing is counted whenever a tile's {@code onLand} would be called.
+ * <p>
+ * Distributions depend only on the board, so they are cached per board and strategy (see
+ * {@link #of(Board, JailStrategy)}). Instances are immutable and may be shared between threads.
+ */
+public final class LandingDistribution {
+    /**
+     * How a player gets out of jail.
+     */
+    public enum JailStrategy {
+        /**
+         * Rolls for doubles, paying the fine only when forced to on the third turn in jail.
+         */
+        ROLL_FOR_DOUBLES,
+
+        /**
+         * Pays the fine (or uses a card) at the start of the first turn in jail.
+         */
+        PAY_FINE
+    }
+
+    /**
+     * Number of turns a player may spend in jail before they have to pay the fine.
+     */
+    private static final int JAIL_TURNS = 3;
+
+    /**
+     * Number of doubles in a turn that sends the player to jail.
+     */
+    private static final int MAX_DOUBLES = 3;
+
+    /**
+     * Number of states above which power iteration multiplies in parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = 4096;
+
+    private static final double TOLERANCE = 1e-13;
+    private static final int MAX_ITERATIONS = 100_000;
+
+    private static final Map<Board, LandingDistribution[]> CACHE =
+        Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Board board;
+    private final JailStrategy jailStrategy;
+    private final double[] landingsPerTurn;
+    private final double[] propertyLandingsPerTurn;
+    private final double jailProbability;
+    private final int iterations;
+
+    private LandingDistribution(
+        Board board,
+        JailStrategy jailStrategy,
+        double[] landingsPerTurn,
+        double jailProbability,
+        int iterations
+    ) {
+        this.board = board;
+        this.jailStrategy = jailStrategy;
+        this.landingsPerTurn = landingsPerTurn;
+        this.jailProbability = jailProbability;
+        this.iterations = iterations;
+
+        List<String> propertyIds = board.getPropertyIds();
+        this.propertyLandingsPerTurn = new double[propertyIds.size()];
+        for (int i = 0; i < propertyIds.size(); i++) {
+            for (int location : board.getPropertyLocations(propertyIds.get(i))) {
+                propertyLandingsPerTurn[i] += landingsPerTurn[location];
+            }
+        }
+    }
+
+    /**
+     * Gets the landing distribution of a board for players who roll for doubles in jail.
+     */
+    @Nonnull
+    public static LandingDistribution of(@Nonnull Board board) {
+        return of(board, JailStrategy.ROLL_FOR_DOUBLES);
+    }
+
+    /**
+     * Gets the landing distribution of a board, solving it on first use.
+     * @param board board to solve for
+     * @param jailStrategy how players get out of jail
+     */
+    @Nonnull
+    public static LandingDistribution of(
+        @Nonnull Board board, @Nonnull JailStrategy jailStrategy
+    ) {
+        LandingDistribution[] distributions = CACHE.computeIfAbsent(
+            board, b -> new LandingDistribution[JailStrategy.values().length]
+        );
+        synchronized (distributions) {
+            LandingDistribution distribution = distributions[jailStrategy.ordinal()];
+            if (distribution == null) {
+                distribution = solve(board, jailStrategy);
+                distributions[jailStrategy.ordinal()] = distribution;
+            }
+            return distribution;
+        }
+    }
+
+    /**
+     * Solves the landing distribution of a board without consulting the cache.
+     * @param board board to solve for
+     * @param jailStrategy how players get out of jail
+     */
+    @Nonnull
+    public static LandingDistribution solve(
+        @Nonnull Board board, @Nonnull JailStrategy jailStrategy
+    ) {
+        Chain chain = new Chain(board, jailStrategy);
+        double[] stationary = new double[chain.size()];
+        stationary[chain.free(0, 0)] = 1; // Everyone starts on the first tile.
+        int iterations = chain.transitions.solve(stationary);
+
+        double[] landings = chain.landings.multiply(stationary, board.tiles().size());
+        double turns = 0;
+        double jailTurns = 0;
+        for (int location = 0; location < board.tiles().size(); location++) {
+            turns += stationary[chain.free(location, 0)];
+        }
+        for (int turnsInJail = 1; turnsInJail <= JAIL_TURNS; turnsInJail++) {
+            jailTurns += stationary[chain.jailed(turnsInJail)];
+        }
+        turns += jailTurns;
+
+        for (int location = 0; location < landings.length; location++) {
+            landings[location] /= turns;
+        }
+        return new LandingDistribution(
+            board, jailStrategy, landings, jailTurns / turns, iterations
+        );
+    }
+
+    /**
+     * Gets the board the distribution was solved for.
+     */
+    @Nonnull
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Gets the jail strategy the distribution was solved for.
+     */
+    @Nonnull
+    public JailStrategy getJailStrategy() {
+        return jailStrategy;
+    }
+
+    /**
+     * Gets the expected number of times per turn that a player lands on the tile at a location.
+     */
+    public double getLandingsPerTurn(int location) {
+        return landingsPerTurn[location];
+    }
+
+    /**
+     * Gets the expected number of times per turn that a player lands on any tile of a property.
+     * @param propertyNumber property number (see {@link Board#getPropertyNumber(String)})
+     */
+    public double getPropertyLandingsPerTurn(int propertyNumber) {
+        return propertyLandingsPerTurn[propertyNumber];
+    }
+
+    /**
+     * Gets the expected number of times per turn that a player lands on any tile of a property, or
+     * 0 if the item is not a property.
+     */
+    public double getPropertyLandingsPerTurn(@Nonnull String itemId) {
+        int propertyNumber = board.getPropertyNumber(itemId);
+        return propertyNumber == -1 ? 0 : propertyLandingsPerTurn[propertyNumber];
+    }
+
+    /**
+     * Gets the share of all landings that are on the tile at a location.
+     */
+    public double getLandingProbability(int location) {
+        double total = 0;
+        for (double landings : landingsPerTurn) {
+            total += landings;
+        }
+        return total == 0 ? 0 : landingsPerTurn[location] / total;
+    }
+
+    /**
+     * Gets the long-run probability that a turn starts in jail.
+     */
+    public double getJailProbability() {
+        return jailProbability;
+    }
+
+    /**
+     * Gets the number of power iterations it took to solve the distribution.
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "LandingDistribution[%s, %s, %s]",
+            board.name(),
+            jailStrategy,
+            Arrays.toString(landingsPerTurn)
+        );
+    }
+
+    /**
+     * The transition and landing matrices of a board's chain.
+     */
+    private static final class Chain {
+        private final Board board;
+        private final List<Tile> tiles;
+        private final OptionalInt jailLocation;
+        private final JailStrategy jailStrategy;
+        private final SparseMatrix.Builder transitionRows;
+        private final SparseMatrix.Builder landingRows;
+        final SparseMatrix transitions;
+        final SparseMatrix landings;
+
+        Chain(Board board, JailStrategy jailStrategy) {
+            this.board = board;
+            this.tiles = board.tiles();
+            this.jailLocation = board.getJailLocation();
+            this.jailStrategy = jailStrategy;
+            this.transitionRows = new SparseMatrix.Builder(size());
+            this.landingRows = new SparseMatrix.Builder(tiles.size());
+
+            for (int location = 0; location < tiles.size(); location++) {
+                for (int doubles = 0; doubles < MAX_DOUBLES; doubles++) {
+                    roll(location, doubles, 1);
+                    endRow();
+                }
+            }
+            for (int turnsInJail = 1; turnsInJail <= JAIL_TURNS; turnsInJail++) {
+                rollInJail(turnsInJail);
+                endRow();
+            }
+
+            // Power iteration multiplies by the transpose: each state gathers from its sources.
+            this.transitions = transitionRows.build().transpose(size());
+            this.landings = landingRows.build();
+        }
+
+        int size() {
+            return tiles.size() * MAX_DOUBLES + JAIL_TURNS;
+        }
+
+        /**
+         * Gets the state of a player about to roll at a location after rolling some doubles.
+         */
+        int free(int location, int doubles) {
+            return location * MAX_DOUBLES + doubles;
+        }
+
+        /**
+         * Gets the state of a player starting a turn in jail.
+         */
+        int jailed(int turnsInJail) {
+            return tiles.size() * MAX_DOUBLES + turnsInJail - 1;
+        }
+
+        private void endRow() {
+            transitionRows.endRow();
+            landingRows.endRow();
+        }
+
+        /**
+         * Adds the outcomes of rolling at a location after rolling some doubles.
+         */
+        private void roll(int location, int doubles, double weight) {
+            for (int first = 1; first <= 6; first++) {
+                for (int second = 1; second <= 6; second++) {
+                    double probability = weight / 36;
+                    if (first != second) {
+                        land((location + first + second) % tiles.size(), 0, probability);
+                    } else if (doubles + 1 < MAX_DOUBLES) {
+                        land((location + first + second) % tiles.size(), doubles + 1, probability);
+                    } else if (jailLocation.isPresent()) {
+                        landingRows.add(jailLocation.getAsInt(), probability);
+                        transitionRows.add(jailed(1), probability);
+                    } else {
+                        // Without a jail, the player just gets another go.
+                        transitionRows.add(free(location, doubles), probability);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Adds the outcomes of starting a turn in jail.
+         */
+        private void rollInJail(int turnsInJail) {
+            if (jailLocation.isEmpty()) {
+                return;
+            }
+
+            int location = jailLocation.getAsInt();
+            if (jailStrategy == JailStrategy.PAY_FINE) {
+                roll(location, 0, 1);
+                return;
+            }
+
+            for (int first = 1; first <= 6; first++) {
+                for (int second = 1; second <= 6; second++) {
+                    double probability = 1.0 / 36;
+                    if (first == second) {
+                        land((location + first + second) % tiles.size(), 1, probability);
+                    } else if (turnsInJail < JAIL_TURNS) {
+                        transitionRows.add(jailed(turnsInJail + 1), probability);
+                    } else {
+                        // The player has to pay the fine, after which they roll as usual.
+                        roll(location, 0, probability);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Adds the outcomes of landing on a tile.
+         * @param location location of the tile
+         * @param doubles number of doubles rolled this turn if the player rolls again, or 0 if
+         *                the turn ends
+         * @param probability probability of landing
+         */
+        private void land(int location, int doubles, double probability) {
+            landingRows.add(location, probability);
+
+            Tile tile = tiles.get(location);
+            if (tile instanceof GoToJail) {
+                goToJail(location, probability);
+            } else if (tile instanceof CardTile cardTile && !cardTile.cards().isEmpty()) {
+                List<Card> cards = cardTile.cards();
+                double cardProbability = probability / cards.size();
+                for (Card card : cards) {
+                    if (card instanceof GoToJail) {
+                        goToJail(location, cardProbability);
+                    } else if (card instanceof GoToPropertyCard goToProperty) {
+                        goToProperty(location, goToProperty, doubles, cardProbability);
+                    } else {
+                        transitionRows.add(free(location, doubles), cardProbability);
+                    }
+                }
+            } else {
+                transitionRows.add(free(location, doubles), probability);
+            }
+        }
+
+        private void goToJail(int location, double probability) {
+            if (jailLocation.isPresent()) {
+                transitionRows.add(jailed(1), probability);
+            } else {
+                // Going to jail without a jail still ends the turn.
+                transitionRows.add(free(location, 0), probability);
+            }
+        }
+
+        private void goToProperty(
+            int location, GoToPropertyCard card, int doubles, double probability
+        ) {
+            List<Integer> locations = board.getPropertyLocations(card.propertyId());
+            if (locations.isEmpty()) {
+                transitionRows.add(free(location, doubles), probability);
+                return;
+            }
+
+            int size = tiles.size();
+            int distance = size;
+            for (int i = 0; i < locations.size(); i++) {
+                distance = Math.min(distance, Math.floorMod(locations.get(i) - location, size));
+            }
+            land((location + distance) % size, doubles, probability);
+        }
+    }
+
+    /**
+     * A sparse matrix in compressed sparse row form.
+     */
+    private record SparseMatrix(int[] rowStarts, int[] columns, double[] values) {
+        int rows() {
+            return rowStarts.length - 1;
+        }
+
+        /**
+         * Multiplies a row vector by this matrix.
+         */
+        double[] multiply(double[] vector, int width) {
+            double[] result = new double[width];
+            for (int row = 0; row < rows(); row++) {
+                for (int i = rowStarts[row]; i < rowStarts[row + 1]; i++) {
+                    result[columns[i]] += vector[row] * values[i];
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Transposes this matrix.
+         */
+        SparseMatrix transpose(int width) {
+            int[] starts = new int[width + 1];
+            for (int column : columns) {
+                starts[column + 1]++;
+            }
+            for (int i = 0; i < width; i++) {
+                starts[i + 1] += starts[i];
+            }
+
+            int[] next = Arrays.copyOf(starts, width);
+            int[] transposedColumns = new int[columns.length];
+            double[] transposedValues = new double[values.length];
+            for (int row = 0; row < rows(); row++) {
+                for (int i = rowStarts[row]; i < rowStarts[row + 1]; i++) {
+                    int position = next[columns[i]]++;
+                    transposedColumns[position] = row;
+                    transposedValues[position] = values[i];
+                }
+            }
+            return new SparseMatrix(starts, transposedColumns, transposedValues);
+        }
+
+        /**
+         * Finds the stationary distribution of the chain whose transposed transition matrix this
+         * is, by power iteration from the given distribution (which is overwritten.)
+         * <p>
+         * Each step averages the distribution with its successor. The lazy chain has the same
+         * stationary distribution but can't be periodic, so the iteration always converges.
+         * @return number of iterations taken
+         */
+        int solve(double[] distribution) {
+            double[] next = new double[distribution.length];
+            boolean parallel = rows() >= PARALLEL_THRESHOLD;
+            for (int iteration = 1; iteration <= MAX_ITERATIONS; iteration++) {
+                double[] current = distribution;
+                IntStream states = IntStream.range(0, rows());
+                (parallel ? states.parallel() : states).forEach(row -> {
+                    double sum = 0;
+                    for (int i = rowStarts[row]; i < rowStarts[row + 1]; i++) {
+                        sum += current[columns[i]] * values[i];
+                    }
+                    next[row] = (current[row] + sum) / 2;
+                });
+
+                double change = 0;
+                for (int i = 0; i < distribution.length; i++) {
+                    change += Math.abs(next[i] - distribution[i]);
+                    distribution[i] = next[i];
+                }
+                if (change < TOLERANCE) {
+                    return iteration;
+                }
+            }
+            return MAX_ITERATIONS;
+        }
+
+        /**
+         * Accumulates the rows of a sparse matrix, merging repeated entries within a row.
+         */
+        static final class Builder {
+            private final double[] row;
+            private final int[] touched;
+            private int touchedCount = 0;
+            private int[] rowStarts = new int[16];
+            private int[] columns = new int[64];
+            private double[] values = new double[64];
+            private int rows = 0;
+            private int entries = 0;
+
+            Builder(int width) {
+                this.row = new double[width];
+                this.touched = new int[width];
+            }
+
+            void add(int column, double value) {
+                if (row[column] == 0) {
+                    touched[touchedCount++] = column;
+                }
+                row[column] += value;
+            }
+
+            void endRow() {
+                Arrays.sort(touched, 0, touchedCount);
+                if (entries + touchedCount > columns.length) {
+                    int capacity = Math.max(2 * columns.length, entries + touchedCount);
+                    columns = Arrays.copyOf(columns, capacity);
+                    values = Arrays.copyOf(values, capacity);
+                }
+                for (int i = 0; i < touchedCount; i++) {
+                    columns[entries] = touched[i];
+                    values[entries] = row[touched[i]];
+                    entries++;
+                    row[touched[i]] = 0;
+                }
+                touchedCount = 0;
+
+                rows++;
+                if (rows + 1 > rowStarts.length) {
+                    rowStarts = Arrays.copyOf(rowStarts, 2 * rowStarts.length);
+                }
+                rowStarts[rows] = entries;
+            }
+
+            SparseMatrix build() {
+                return new SparseMatrix(
+                    Arrays.copyOf(rowStarts, rows + 1),
+                    Arrays.copyOf(columns, entries),
+                    Arrays.copyOf(values, entries)
+                );
+            }
+        }
+    }
+}
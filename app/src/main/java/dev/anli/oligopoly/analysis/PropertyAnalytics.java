@@ -0,0 +1,208 @@
+package dev.anli.oligopoly.analysis;
+
+import dev.anli.oligopoly.board.Board;
+import dev.anli.oligopoly.board.Money;
+import dev.anli.oligopoly.board.property.Property;
+import dev.anli.oligopoly.board.property.RentLevel;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Expected rent and payback figures for every property on a board at each of its rent levels
+ * (see {@link Property#createRentLevels(List)}).
+ * <p>
+ * Expected rents combine each level's rent with how often a player lands on the property, from
+ * the board's {@link LandingDistribution}. A round is one turn of each player, so the owner
+ * collects from every opponent once per round, and the payback is the number of rounds (or the
+ * owner's turns) the rent takes to cover the investment. Only money is taken into account.
+ * <p>
+ * Tables are cached per board and number of players (see {@link #of(Board, int)}), and every
+ * query is a lookup. Instances are immutable and may be shared between threads.
+ */
+public final class PropertyAnalytics {
+    private static final Map<Board, Map<Integer, PropertyAnalytics>> CACHE =
+        Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Board board;
+    private final int numPlayers;
+    private final int[] levelStarts;
+    private final List<RentLevel> levels;
+    private final int[] unmortgageCosts;
+    private final double[] rentsPerOpponentTurn;
+    private final double[] paybackRounds;
+    private final double[] unmortgagePaybackRounds;
+
+    private PropertyAnalytics(@Nonnull Board board, int numPlayers) {
+        this.board = board;
+        this.numPlayers = numPlayers;
+
+        LandingDistribution landings = LandingDistribution.of(board);
+        int properties = board.getPropertyIds().size();
+        this.levelStarts = new int[properties + 1];
+        this.unmortgageCosts = new int[properties];
+        List<RentLevel> levels = new ArrayList<>();
+        for (int i = 0; i < properties; i++) {
+            Property property = (Property) board.getItem(board.getPropertyIds().get(i));
+            levels.addAll(property.createRentLevels(board.getRentTable(i)));
+            levelStarts[i + 1] = levels.size();
+
+            // Unmortgaging costs the mortgage price plus 10% (see PropertyActions.)
+            int mortgage = property.getMortgagePrice().get(Money.ID);
+            unmortgageCosts[i] = mortgage + mortgage / 10;
+        }
+        this.levels = List.copyOf(levels);
+
+        this.rentsPerOpponentTurn = new double[levels.size()];
+        for (int i = 0; i < properties; i++) {
+            double propertyLandings = landings.getPropertyLandingsPerTurn(i);
+            for (int level = levelStarts[i]; level < levelStarts[i + 1]; level++) {
+                rentsPerOpponentTurn[level] =
+                    propertyLandings * levels.get(level).rent().get(Money.ID);
+            }
+        }
+
+        this.paybackRounds = new double[levels.size()];
+        this.unmortgagePaybackRounds = new double[levels.size()];
+        computePaybacks();
+    }
+
+    /**
+     * Constructs analytics for a different number of players, sharing everything that doesn't
+     * depend on it.
+     */
+    private PropertyAnalytics(@Nonnull PropertyAnalytics other, int numPlayers) {
+        this.board = other.board;
+        this.numPlayers = numPlayers;
+        this.levelStarts = other.levelStarts;
+        this.levels = other.levels;
+        this.unmortgageCosts = other.unmortgageCosts;
+        this.rentsPerOpponentTurn = other.rentsPerOpponentTurn;
+        this.paybackRounds = new double[levels.size()];
+        this.unmortgagePaybackRounds = new double[levels.size()];
+        computePaybacks();
+    }
+
+    private void computePaybacks() {
+        int opponents = Math.max(0, numPlayers - 1);
+        for (int i = 0; i < unmortgageCosts.length; i++) {
+            for (int level = levelStarts[i]; level < levelStarts[i + 1]; level++) {
+                double rentPerRound = rentsPerOpponentTurn[level] * opponents;
+                int investment = levels.get(level).investment().get(Money.ID);
+                paybackRounds[level] = payback(investment, rentPerRound);
+                unmortgagePaybackRounds[level] = payback(unmortgageCosts[i], rentPerRound);
+            }
+        }
+    }
+
+    private static double payback(int cost, double rentPerRound) {
+        if (cost <= 0) {
+            return 0;
+        }
+        return rentPerRound > 0 ? cost / rentPerRound : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Gets the analytics of a board for games with the given number of players, computing them
+     * on first use.
+     * @param board board to analyze
+     * @param numPlayers number of players in the game, including the owner
+     */
+    @Nonnull
+    public static PropertyAnalytics of(@Nonnull Board board, int numPlayers) {
+        Map<Integer, PropertyAnalytics> analytics =
+            CACHE.computeIfAbsent(board, b -> new ConcurrentHashMap<>());
+        return analytics.computeIfAbsent(numPlayers, players -> {
+            // Only the paybacks depend on the number of players, so reuse the rest if we can.
+            Optional<PropertyAnalytics> other = analytics.values().stream().findAny();
+            return other.isPresent()
+                ? new PropertyAnalytics(other.get(), players)
+                : new PropertyAnalytics(board, players);
+        });
+    }
+
+    /**
+     * Gets the board the analytics are for.
+     */
+    @Nonnull
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Gets the number of players the analytics are for.
+     */
+    public int getNumPlayers() {
+        return numPlayers;
+    }
+
+    /**
+     * Gets the number of rent levels of a property.
+     * @param propertyNumber property number (see {@link Board#getPropertyNumber(String)})
+     */
+    public int getLevelCount(int propertyNumber) {
+        return levelStarts[propertyNumber + 1] - levelStarts[propertyNumber];
+    }
+
+    /**
+     * Gets the rent levels of a property.
+     * @param propertyNumber property number (see {@link Board#getPropertyNumber(String)})
+     */
+    @Nonnull
+    public List<RentLevel> getLevels(int propertyNumber) {
+        return levels.subList(levelStarts[propertyNumber], levelStarts[propertyNumber + 1]);
+    }
+
+    private int index(int propertyNumber, int level) {
+        if (level < 0 || level >= getLevelCount(propertyNumber)) {
+            throw new IndexOutOfBoundsException(String.format(
+                "Level %d out of bounds for property %d", level, propertyNumber
+            ));
+        }
+        return levelStarts[propertyNumber] + level;
+    }
+
+    /**
+     * Gets the rent a property is expected to collect on each opponent's turn.
+     * @param propertyNumber property number (see {@link Board#getPropertyNumber(String)})
+     * @param level index into the property's {@link #getLevels(int) rent levels}
+     */
+    public double getRentPerOpponentTurn(int propertyNumber, int level) {
+        return rentsPerOpponentTurn[index(propertyNumber, level)];
+    }
+
+    /**
+     * Gets the rent a property is expected to collect each round, from all opponents.
+     * @param propertyNumber property number (see {@link Board#getPropertyNumber(String)})
+     * @param level index into the property's {@link #getLevels(int) rent levels}
+     */
+    public double getRentPerRound(int propertyNumber, int level) {
+        return rentsPerOpponentTurn[index(propertyNumber, level)] * Math.max(0, numPlayers - 1);
+    }
+
+    /**
+     * Gets the number of rounds a property's rent takes to cover the investment in it, or
+     * infinity if it is never expected to collect rent.
+     * @param propertyNumber property number (see {@link Board#getPropertyNumber(String)})
+     * @param level index into the property's {@link #getLevels(int) rent levels}
+     */
+    public double getPaybackRounds(int propertyNumber, int level) {
+        return paybackRounds[index(propertyNumber, level)];
+    }
+
+    /**
+     * Gets the number of rounds a property's rent takes to cover the cost of unmortgaging it, or
+     * infinity if it is never expected to collect rent.
+     * @param propertyNumber property number (see {@link Board#getPropertyNumber(String)})
+     * @param level index into the property's {@link #getLevels(int) rent levels}
+     */
+    public double getUnmortgagePaybackRounds(int propertyNumber, int level) {
+        return unmortgagePaybackRounds[index(propertyNumber, level)];
+    }
+}
@@ -52,7 +52,7 @@ public interface Action {
             @Nonnull
             @Override
             public Items getCost() {
-                return new Items();
+                return Items.EMPTY;
             }
 
             @Override
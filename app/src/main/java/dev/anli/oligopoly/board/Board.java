@@ -1,5 +1,9 @@
 package dev.anli.oligopoly.board;
 
+import dev.anli.oligopoly.board.property.Property;
+import dev.anli.oligopoly.board.property.PropertyCategory;
+import dev.anli.oligopoly.board.tile.JailTile;
+import dev.anli.oligopoly.board.tile.PropertyTile;
 import dev.anli.oligopoly.board.tile.Tile;
 import dev.anli.oligopoly.state.Items;
 
@@ -8,8 +12,144 @@ import java.util.function.Predicate;
 
 /**
  * An Oligopoly board.
+ * <p>
+ * Boards are immutable and may be shared between games running on different threads. Tiles and
+ * items are expected to be stateless; all mutable state lives in {@link dev.anli.oligopoly.state}.
  */
-public record Board(String name, List<Tile> tiles, Map<String, Item> items, Items startItems) {
+public final class Board {
+    private final String name;
+    private final List<Tile> tiles;
+    private final Map<String, Item> items;
+    private final ItemIndex itemIndex;
+    private final Items startItems;
+    private final Map<PropertyCategory, List<String>> categoryProperties;
+    private final List<PropertyCategory> categories;
+    private final Map<PropertyCategory, Integer> categoryNumbers;
+    private final int[] itemCategoryNumbers;
+    private final List<String> propertyIds;
+    private final int[] itemPropertyNumbers;
+    private final List<List<Items>> rentTables;
+    private final Map<Class<? extends Tile>, List<Integer>> tileLocations;
+    private final Map<String, List<Integer>> propertyLocations;
+    private final OptionalInt jailLocation;
+
+    /**
+     * Constructs a board, taking unmodifiable copies of the tiles and items.
+     * @param name name of the board
+     * @param tiles tiles of the board, in order
+     * @param items map of item IDs to items
+     * @param startItems recommended starting items
+     */
+    public Board(String name, List<Tile> tiles, Map<String, Item> items, Items startItems) {
+        this.name = name;
+        this.tiles = List.copyOf(tiles);
+        this.items = Collections.unmodifiableMap(new HashMap<>(items));
+        this.itemIndex = new ItemIndex(this.items);
+        this.startItems = new Items(startItems, itemIndex);
+
+        Map<PropertyCategory, List<String>> categoryProperties = new HashMap<>();
+        List<PropertyCategory> categories = new ArrayList<>();
+        Map<PropertyCategory, Integer> categoryNumbers = new HashMap<>();
+        this.itemCategoryNumbers = new int[itemIndex.size()];
+        List<String> propertyIds = new ArrayList<>();
+        this.itemPropertyNumbers = new int[itemIndex.size()];
+        List<List<Items>> rentTables = new ArrayList<>();
+        for (int ordinal = 0; ordinal < itemIndex.size(); ordinal++) {
+            if (itemIndex.itemAt(ordinal) instanceof Property property) {
+                itemPropertyNumbers[ordinal] = propertyIds.size();
+                propertyIds.add(itemIndex.idAt(ordinal));
+                rentTables.add(freezeAll(property.createRentTable()));
+
+                PropertyCategory category = property.getCategory();
+                if (!categoryNumbers.containsKey(category)) {
+                    categoryNumbers.put(category, categories.size());
+                    categories.add(category);
+                }
+
+                categoryProperties.computeIfAbsent(category, c -> new ArrayList<>())
+                    .add(itemIndex.idAt(ordinal));
+                itemCategoryNumbers[ordinal] = categoryNumbers.get(category);
+            } else {
+                itemCategoryNumbers[ordinal] = -1;
+                itemPropertyNumbers[ordinal] = -1;
+            }
+        }
+        this.propertyIds = List.copyOf(propertyIds);
+        this.rentTables = List.copyOf(rentTables);
+        this.categoryProperties = copyValues(categoryProperties);
+        this.categories = List.copyOf(categories);
+        this.categoryNumbers = Collections.unmodifiableMap(categoryNumbers);
+
+        Map<Class<? extends Tile>, List<Integer>> tileLocations = new HashMap<>();
+        Map<String, List<Integer>> propertyLocations = new HashMap<>();
+        for (int i = 0; i < this.tiles.size(); i++) {
+            Tile tile = this.tiles.get(i);
+            tileLocations.computeIfAbsent(tile.getClass(), type -> new ArrayList<>()).add(i);
+            if (tile instanceof PropertyTile propertyTile) {
+                propertyLocations
+                    .computeIfAbsent(propertyTile.itemId(), itemId -> new ArrayList<>())
+                    .add(i);
+            }
+        }
+        this.tileLocations = copyValues(tileLocations);
+        this.propertyLocations = copyValues(propertyLocations);
+        this.jailLocation = findLocation(tile -> tile instanceof JailTile);
+    }
+
+    private static List<Items> freezeAll(List<Items> rents) {
+        return rents.stream()
+            .map(rent -> rent.isFrozen() ? rent : new Items(rent).freeze())
+            .toList();
+    }
+
+    private static <K, V> Map<K, List<V>> copyValues(Map<K, List<V>> map) {
+        Map<K, List<V>> copy = new HashMap<>();
+        map.forEach((key, values) -> copy.put(key, List.copyOf(values)));
+        return Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * Gets the name of the board.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Gets the tiles of the board, in order.
+     */
+    public List<Tile> tiles() {
+        return tiles;
+    }
+
+    /**
+     * Gets the map of item IDs to items.
+     */
+    public Map<String, Item> items() {
+        return items;
+    }
+
+    /**
+     * Gets the index assigning each of the board's items an ordinal.
+     */
+    public ItemIndex itemIndex() {
+        return itemIndex;
+    }
+
+    /**
+     * Gets a copy of the recommended starting items, backed by the board's item index.
+     */
+    public Items startItems() {
+        return new Items(startItems);
+    }
+
+    /**
+     * Creates an empty Items instance backed by the board's item index.
+     */
+    public Items newItems() {
+        return new Items(itemIndex);
+    }
+
     /**
      * Gets the item for the given item ID. Returns an UnknownItem if the item is not found.
      *
@@ -24,6 +164,83 @@ public record Board(String name, List<Tile> tiles, Map<String, Item> items, Item
         }
     }
 
+    /**
+     * Gets the IDs of the properties in the given category, in the order of the item index.
+     */
+    public List<String> getProperties(PropertyCategory category) {
+        return categoryProperties.getOrDefault(category, Collections.emptyList());
+    }
+
+    /**
+     * Gets the IDs of the properties on the board, in the order of the item index. A property's
+     * position in this list is its property number.
+     */
+    public List<String> getPropertyIds() {
+        return propertyIds;
+    }
+
+    /**
+     * Gets the property number of the given item ID, or -1 if it is not the ID of a property.
+     * @see #getPropertyIds()
+     */
+    public int getPropertyNumber(String itemId) {
+        int ordinal = itemIndex.ordinalOf(itemId);
+        return ordinal >= 0 ? itemPropertyNumbers[ordinal] : -1;
+    }
+
+    /**
+     * Gets the frozen rent table of the property with the given number.
+     * @throws IndexOutOfBoundsException if there is no property with the number
+     * @see Property#createRentTable()
+     */
+    public List<Items> getRentTable(int propertyNumber) {
+        return rentTables.get(propertyNumber);
+    }
+
+    /**
+     * Gets the categories of the properties on the board, numbered by their position in the list.
+     */
+    public List<PropertyCategory> getCategories() {
+        return categories;
+    }
+
+    /**
+     * Gets the number of the given category in {@link #getCategories()}, or -1 if no property on
+     * the board is in the category.
+     */
+    public int getCategoryNumber(PropertyCategory category) {
+        return categoryNumbers.getOrDefault(category, -1);
+    }
+
+    /**
+     * Gets the category number of the item with the given ordinal in the item index, or -1 if the
+     * item is not a property.
+     */
+    public int getItemCategoryNumber(int ordinal) {
+        return itemCategoryNumbers[ordinal];
+    }
+
+    /**
+     * Gets the locations of the tiles of exactly the given class, in order.
+     */
+    public List<Integer> getTileLocations(Class<? extends Tile> type) {
+        return tileLocations.getOrDefault(type, Collections.emptyList());
+    }
+
+    /**
+     * Gets the locations of the property tiles for the given property ID, in order.
+     */
+    public List<Integer> getPropertyLocations(String itemId) {
+        return propertyLocations.getOrDefault(itemId, Collections.emptyList());
+    }
+
+    /**
+     * Gets the location of the first jail tile, if there is one.
+     */
+    public OptionalInt getJailLocation() {
+        return jailLocation;
+    }
+
     /**
      * Finds the location of the first tile matching the given predicate.
      * @return an int optional representing the location
@@ -7,7 +7,6 @@ import dev.anli.oligopoly.state.Game;
 
 import javax.annotation.Nonnull;
 import java.awt.*;
-import java.util.Collections;
 import java.util.List;
 
 /**
@@ -72,9 +71,9 @@ public final class GoToJail implements Tile, Card {
     @Nonnull
     @Override
     public List<Action> getCardActions(@Nonnull Game game) {
-        return Collections.singletonList(Action.make("Accept Fate", () -> {
-            game.getCurrentPlayer().sendToJail(game.getBoard());
+        return game.getFlyweight(this, () -> List.of(Action.make("Accept Fate", () -> {
+            game.sendToJail();
             game.endTurn();
-        }));
+        })));
     }
 }
@@ -0,0 +1,78 @@
+package dev.anli.oligopoly.board;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * Assigns each item on a board a dense ordinal, so that quantities can be stored in arrays.
+ * <p>
+ * Ordinals follow the display order of the items: first by {@link Item#getOrder()}, then by ID.
+ * Indices are immutable and may be shared between threads.
+ */
+public final class ItemIndex {
+    /**
+     * Index without any items.
+     */
+    public static final ItemIndex EMPTY = new ItemIndex(Collections.emptyMap());
+
+    private final String[] ids;
+    private final Item[] items;
+    private final Map<String, Integer> ordinals;
+
+    /**
+     * Constructs an index of the given items.
+     * @param items map of item IDs to items
+     */
+    public ItemIndex(@Nonnull Map<String, Item> items) {
+        ids = items.keySet().stream().sorted((a, b) -> {
+            int order = Integer.compare(items.get(a).getOrder(), items.get(b).getOrder());
+            if (order != 0) {
+                return order;
+            }
+
+            return a.compareTo(b);
+        }).toArray(String[]::new);
+
+        this.items = new Item[ids.length];
+        Map<String, Integer> ordinals = new HashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            this.items[i] = items.get(ids[i]);
+            ordinals.put(ids[i], i);
+        }
+        this.ordinals = ordinals;
+    }
+
+    /**
+     * Gets the number of items in the index.
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Gets the ordinal of the given item ID, or -1 if the ID is not in the index.
+     */
+    public int ordinalOf(@Nullable String itemId) {
+        Integer ordinal = ordinals.get(itemId);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    /**
+     * Gets the item ID with the given ordinal.
+     * @throws IndexOutOfBoundsException if the ordinal is out of range
+     */
+    @Nonnull
+    public String idAt(int ordinal) {
+        return ids[ordinal];
+    }
+
+    /**
+     * Gets the item with the given ordinal.
+     * @throws IndexOutOfBoundsException if the ordinal is out of range
+     */
+    @Nonnull
+    public Item itemAt(int ordinal) {
+        return items[ordinal];
+    }
+}
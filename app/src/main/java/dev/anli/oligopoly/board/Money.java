@@ -68,9 +68,9 @@ public final class Money implements Item {
     }
 
     /**
-     * Gets an Items instance with the specified amount of money.
+     * Gets a frozen Items instance with the specified amount of money.
      */
     public static Items of(int quantity) {
-        return new Items(ID, quantity);
+        return new Items(ID, quantity).freeze();
     }
 }
@@ -5,7 +5,6 @@ import dev.anli.oligopoly.board.Money;
 import dev.anli.oligopoly.state.Game;
 
 import javax.annotation.Nonnull;
-import java.util.Collections;
 import java.util.List;
 
 public final class ClippyCard implements Card {
@@ -22,6 +21,95 @@ public final class ClippyCard implements Card {
         return INSTANCE;
     }
 
+    /**
+     * Card shown after accepting Clippy's help.
+     */
+    private static final Card THANKS = new Card() {
+        @Nonnull
+        @Override
+        public String getTitle() {
+            return "No need to thank me!";
+        }
+
+        @Nonnull
+        @Override
+        public String getCardDescription() {
+            return "Actually, there is. Give Anthony Li a 100 on Gradescope!";
+        }
+
+        @Nonnull
+        @Override
+        public List<Action> getCardActions(@Nonnull Game game) {
+            return game.getEndTurnActions();
+        }
+    };
+
+    /**
+     * Card shown after declining Clippy's help.
+     */
+    private static final Card UNGRATEFUL = new Card() {
+        @Nonnull
+        @Override
+        public String getTitle() {
+            return "Wow, ungrateful.";
+        }
+
+        @Nonnull
+        @Override
+        public String getCardDescription() {
+            return "Thanks for the money, though.";
+        }
+
+        @Nonnull
+        @Override
+        public List<Action> getCardActions(@Nonnull Game game) {
+            return game.getEndTurnActions();
+        }
+    };
+
+    /**
+     * Card in which Clippy offers to help.
+     */
+    private static final Card OFFER = new Card() {
+        @Nonnull
+        @Override
+        public String getTitle() {
+            return "Awww, you miss me!";
+        }
+
+        @Nonnull
+        @Override
+        public String getCardDescription() {
+            return "It looks like you are trying to backstab all your friends. " +
+                "Would you like help?";
+        }
+
+        @Nonnull
+        @Override
+        public List<Action> getCardActions(@Nonnull Game game) {
+            return game.getFlyweight(this, () -> List.of(
+                Action.make(
+                    "Backstab my friends with help",
+                    () -> {
+                        game.getCurrentPlayer().getItems()
+                            .add(Money.ID, game.getPlayers().size() * 50);
+                        game.getPlayers().forEach(
+                            player -> player.getItems().add(Money.ID, -50)
+                        );
+                        game.setCurrentCard(THANKS);
+                    }
+                ),
+                Action.make(
+                    "Just backstab my friends without help",
+                    () -> {
+                        game.getCurrentPlayer().getItems().add(Money.ID, -100);
+                        game.setCurrentCard(UNGRATEFUL);
+                    }
+                )
+            ));
+        }
+    };
+
     @Nonnull
     @Override
     public String getTitle() {
@@ -37,83 +125,8 @@ public final class ClippyCard implements Card {
     @Nonnull
     @Override
     public List<Action> getCardActions(@Nonnull Game game) {
-        return Collections.singletonList(
-            Action.make("Oh no, not you again.", () -> game.setCurrentCard(new Card() {
-                @Nonnull
-                @Override
-                public String getTitle() {
-                    return "Awww, you miss me!";
-                }
-
-                @Nonnull
-                @Override
-                public String getCardDescription() {
-                    return "It looks like you are trying to backstab all your friends. " +
-                        "Would you like help?";
-                }
-
-                @Nonnull
-                @Override
-                public List<Action> getCardActions(@Nonnull Game game) {
-                    return List.of(
-                        Action.make(
-                            "Backstab my friends with help",
-                            () -> {
-                                game.getCurrentPlayer().getItems()
-                                    .add(Money.ID, game.getPlayers().size() * 50);
-                                game.getPlayers().forEach(
-                                    player -> player.getItems().add(Money.ID, -50)
-                                );
-                                game.setCurrentCard(new Card() {
-                                    @Nonnull
-                                    @Override
-                                    public String getTitle() {
-                                        return "No need to thank me!";
-                                    }
-
-                                    @Nonnull
-                                    @Override
-                                    public String getCardDescription() {
-                                        return "Actually, there is. Give Anthony Li a 100 on " +
-                                            "Gradescope!";
-                                    }
-
-                                    @Nonnull
-                                    @Override
-                                    public List<Action> getCardActions(@Nonnull Game game) {
-                                        return Collections.singletonList(game.endTurnAction());
-                                    }
-                                });
-                            }
-                        ),
-                        Action.make(
-                            "Just backstab my friends without help",
-                            () -> {
-                                game.getCurrentPlayer().getItems().add(Money.ID, -100);
-                                game.setCurrentCard(new Card() {
-                                    @Nonnull
-                                    @Override
-                                    public String getTitle() {
-                                        return "Wow, ungrateful.";
-                                    }
-
-                                    @Nonnull
-                                    @Override
-                                    public String getCardDescription() {
-                                        return "Thanks for the money, though.";
-                                    }
-
-                                    @Nonnull
-                                    @Override
-                                    public List<Action> getCardActions(@Nonnull Game game) {
-                                        return Collections.singletonList(game.endTurnAction());
-                                    }
-                                });
-                            }
-                        )
-                    );
-                }
-            }))
-        );
+        return game.getFlyweight(this, () -> List.of(
+            Action.make("Oh no, not you again.", () -> game.setCurrentCard(OFFER))
+        ));
     }
 }
@@ -1,12 +1,9 @@
 package dev.anli.oligopoly.board.card;
 
 import dev.anli.oligopoly.board.Action;
-import dev.anli.oligopoly.board.tile.PropertyTile;
-import dev.anli.oligopoly.board.tile.Tile;
 import dev.anli.oligopoly.state.Game;
 
 import javax.annotation.Nonnull;
-import java.util.Collections;
 import java.util.List;
 
 public record GoToPropertyCard(
@@ -28,21 +25,23 @@ public record GoToPropertyCard(
     @Nonnull
     @Override
     public List<Action> getCardActions(@Nonnull Game game) {
-        return Collections.singletonList(Action.make("Go!", () -> {
+        return game.getFlyweight(this, () -> List.of(Action.make("Go!", () -> {
             game.setCurrentCard(null);
 
-            List<Tile> tiles = game.getBoard().tiles();
-            for (int i = 0; i < tiles.size(); i++) {
-                Tile tile = tiles.get((i + game.getCurrentPlayer().getLocation()) % tiles.size());
-                if (tile instanceof PropertyTile propertyTile) {
-                    if (propertyTile.itemId().equals(propertyId)) {
-                        game.move(i);
-                        return;
-                    }
-                }
+            // Move forward to the nearest tile for the property, staying put if we're on one.
+            List<Integer> locations = game.getBoard().getPropertyLocations(propertyId);
+            if (locations.isEmpty()) {
+                game.setCurrentActions(game.getEndTurnActions());
+                return;
             }
 
-            game.setCurrentActions(Collections.singletonList(game.endTurnAction()));
-        }));
+            int size = game.getBoard().tiles().size();
+            int location = game.getCurrentPlayer().getLocation();
+            int distance = size;
+            for (int i = 0; i < locations.size(); i++) {
+                distance = Math.min(distance, Math.floorMod(locations.get(i) - location, size));
+            }
+            game.move(distance);
+        })));
     }
 }
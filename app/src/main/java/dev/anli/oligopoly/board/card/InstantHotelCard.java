@@ -11,7 +11,6 @@ import dev.anli.oligopoly.state.Items;
 import dev.anli.oligopoly.state.PropertyState;
 
 import javax.annotation.Nonnull;
-import java.util.Collections;
 import java.util.List;
 
 public final class InstantHotelCard implements OwnableCard {
@@ -54,7 +53,12 @@ public final class InstantHotelCard implements OwnableCard {
     @Nonnull
     @Override
     public List<Action> getItemActions(@Nonnull String id, @Nonnull Game game) {
-        return Collections.singletonList(new Action() {
+        return game.getItemFlyweight(id, () -> List.of(createUseAction(game)));
+    }
+
+    private Action createUseAction(@Nonnull Game game) {
+        Items cost = new Items(getId(), 1).freeze();
+        return new Action() {
             @Nonnull
             @Override
             public String getName() {
@@ -64,7 +68,7 @@ public final class InstantHotelCard implements OwnableCard {
             @Nonnull
             @Override
             public Items getCost() {
-                return new Items(getId(), 1);
+                return cost;
             }
 
             @Override
@@ -96,6 +100,6 @@ public final class InstantHotelCard implements OwnableCard {
                 items.set(House.ID, 0);
                 items.set(Hotel.ID, 1);
             }
-        });
+        };
     }
 }
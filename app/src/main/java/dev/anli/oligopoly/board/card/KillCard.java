@@ -7,7 +7,6 @@ import dev.anli.oligopoly.state.Items;
 
 import javax.annotation.Nonnull;
 import java.awt.*;
-import java.util.Collections;
 import java.util.List;
 
 public final class KillCard implements OwnableCard {
@@ -64,7 +63,12 @@ public final class KillCard implements OwnableCard {
     @Nonnull
     @Override
     public List<Action> getItemActions(@Nonnull String id, @Nonnull Game game) {
-        return Collections.singletonList(new Action() {
+        return game.getItemFlyweight(id, () -> List.of(createUseAction(game)));
+    }
+
+    private Action createUseAction(@Nonnull Game game) {
+        Items cost = new Items(getId(), 1).freeze();
+        return new Action() {
             @Nonnull
             @Override
             public String getName() {
@@ -74,7 +78,7 @@ public final class KillCard implements OwnableCard {
             @Nonnull
             @Override
             public Items getCost() {
-                return new Items(getId(), 1);
+                return cost;
             }
 
             @Override
@@ -96,6 +100,6 @@ public final class KillCard implements OwnableCard {
                     }
                 });
             }
-        });
+        };
     }
 }
@@ -7,7 +7,6 @@ import dev.anli.oligopoly.state.Game;
 
 import javax.annotation.Nonnull;
 import java.awt.*;
-import java.util.Collections;
 import java.util.List;
 
 /**
@@ -60,11 +59,11 @@ public interface OwnableCard extends Card, Item {
     @Nonnull
     @Override
     default List<Action> getCardActions(@Nonnull Game game) {
-        return Collections.singletonList(Action.make("Accept", () -> {
+        return game.getFlyweight(this, () -> List.of(Action.make("Accept", () -> {
             game.getCurrentPlayer().getItems().add(getId(), 1);
             game.setCurrentCard(null);
-            game.setCurrentActions(Collections.singletonList(game.endTurnAction()));
-        }));
+            game.setCurrentActions(game.getEndTurnActions());
+        })));
     }
 
     @Override
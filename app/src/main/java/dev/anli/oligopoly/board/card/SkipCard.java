@@ -5,7 +5,6 @@ import dev.anli.oligopoly.state.Game;
 import dev.anli.oligopoly.state.Items;
 
 import javax.annotation.Nonnull;
-import java.util.Collections;
 import java.util.List;
 
 public final class SkipCard implements OwnableCard {
@@ -47,7 +46,12 @@ public final class SkipCard implements OwnableCard {
     @Nonnull
     @Override
     public List<Action> getItemActions(@Nonnull String id, @Nonnull Game game) {
-        return Collections.singletonList(new Action() {
+        return game.getItemFlyweight(id, () -> List.of(createUseAction(game)));
+    }
+
+    private Action createUseAction(@Nonnull Game game) {
+        Items cost = new Items(getId(), 1).freeze();
+        return new Action() {
             @Nonnull
             @Override
             public String getName() {
@@ -57,7 +61,7 @@ public final class SkipCard implements OwnableCard {
             @Nonnull
             @Override
             public Items getCost() {
-                return new Items(getId(), 1);
+                return cost;
             }
 
             @Override
@@ -69,6 +73,6 @@ public final class SkipCard implements OwnableCard {
             public void perform() {
                 game.endTurn();
             }
-        });
+        };
     }
 }
@@ -8,7 +8,6 @@ import dev.anli.oligopoly.state.Items;
 import dev.anli.oligopoly.state.Player;
 
 import javax.annotation.Nonnull;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -52,7 +51,12 @@ public final class StealCard implements OwnableCard {
     @Nonnull
     @Override
     public List<Action> getItemActions(@Nonnull String id, @Nonnull Game game) {
-        return Collections.singletonList(new Action() {
+        return game.getItemFlyweight(id, () -> List.of(createUseAction(game)));
+    }
+
+    private Action createUseAction(@Nonnull Game game) {
+        Items cost = new Items(getId(), 1).freeze();
+        return new Action() {
             @Nonnull
             @Override
             public String getName() {
@@ -62,7 +66,7 @@ public final class StealCard implements OwnableCard {
             @Nonnull
             @Override
             public Items getCost() {
-                return new Items(getId(), 1);
+                return cost;
             }
 
             @Override
@@ -91,6 +95,6 @@ public final class StealCard implements OwnableCard {
                     .ifPresent(owner -> owner.getItems().set(tile.itemId(), 0));
                 game.getCurrentPlayer().getItems().set(tile.itemId(), 1);
             }
-        });
+        };
     }
 }
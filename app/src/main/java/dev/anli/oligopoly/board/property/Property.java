@@ -31,11 +31,7 @@ public interface Property extends Item {
     @Nonnull
     @Override
     default List<Action> getItemActions(@Nonnull String id, @Nonnull Game game) {
-        PropertyState state = game.getPropertyState(id);
-        return List.of(
-            state.mortgageAction(this, game),
-            state.unmortgageAction(this, game)
-        );
+        return game.getItemFlyweight(id, () -> PropertyActions.mortgageActions(id, this, game));
     }
 
     @Override
@@ -98,25 +94,55 @@ public interface Property extends Item {
      */
     @Nonnull Items getMortgagePrice();
 
+    /**
+     * Lists every rent the property can charge, so that {@link #getRent} can pick one without
+     * allocating. Boards call this once per property and freeze the result; see
+     * {@link dev.anli.oligopoly.board.Board#getRentTable(int)}.
+     * @return rent table of the property
+     */
+    @Nonnull
+    default List<Items> createRentTable() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Lists the levels the property can be developed to, in order of increasing investment, for
+     * investment analysis, which calls this once per board and property (see
+     * {@link dev.anli.oligopoly.analysis.PropertyAnalytics}).
+     * @param rentTable rent table the board created for the property
+     * @return rent levels of the property
+     */
+    @Nonnull
+    default List<RentLevel> createRentLevels(@Nonnull List<Items> rentTable) {
+        return Collections.emptyList();
+    }
+
     /**
      * Calculates and returns the rent to charge a player on the property.
+     * <p>
+     * Callers should usually go through {@link Game#getRent(String)}, which caches the result until
+     * ownership, buildings or dice rolls change.
+     *
+     * @param rentTable rent table the board created for the property
      * @param state state of the property
+     * @param owner owner of the property
      * @param game current game
      * @return rent to charge a player
      */
-    @Nonnull Items getRent(@Nonnull PropertyState state, @Nonnull Player owner, @Nonnull Game game);
+    @Nonnull Items getRent(
+        @Nonnull List<Items> rentTable,
+        @Nonnull PropertyState state,
+        @Nonnull Player owner,
+        @Nonnull Game game
+    );
 
     @Nonnull
     @Override
     default List<String> getDisplayStats(@Nonnull String id, @Nonnull Game game) {
         Optional<Player> player = game.findPlayerForItem(id);
         String categoryStat = String.format("Category: %s", getCategory().name());
-        return player.map(owner -> {
-            PropertyState state = game.getPropertyState(id);
-            return List.of(categoryStat, String.format(
-                "Current Rent: %s",
-                getRent(state, owner, game).format(game.getBoard())
-            ));
-        }).orElse(Collections.singletonList(categoryStat));
+        return player.map(owner -> List.of(categoryStat, String.format(
+            "Current Rent: %s", game.getRent(id).format(game.getBoard())
+        ))).orElse(Collections.singletonList(categoryStat));
     }
 }
@@ -0,0 +1,86 @@
+package dev.anli.oligopoly.board.property;
+
+import dev.anli.oligopoly.board.Action;
+import dev.anli.oligopoly.state.Game;
+import dev.anli.oligopoly.state.Items;
+import dev.anli.oligopoly.state.PropertyState;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+/**
+ * Creates the item actions of properties.
+ * <p>
+ * The actions are created once per game and property ID (see {@link Game#getItemFlyweight}), so
+ * their costs are computed up front and they look up the property's state whenever they're used.
+ */
+final class PropertyActions {
+    private PropertyActions() {
+        // This is purely a container for static methods.
+    }
+
+    /**
+     * Creates the mortgage and unmortgage actions for the property with the given ID.
+     */
+    @Nonnull
+    static List<Action> mortgageActions(
+        @Nonnull String id, @Nonnull Property property, @Nonnull Game game
+    ) {
+        Items mortgageCost = new Items(property.getMortgagePrice(), qty -> -qty).freeze();
+        Items unmortgageCost =
+            new Items(property.getMortgagePrice(), qty -> qty + qty / 10).freeze();
+
+        return List.of(
+            new Action() {
+                @Nonnull
+                @Override
+                public String getName() {
+                    return "Mortgage";
+                }
+
+                @Nonnull
+                @Override
+                public Items getCost() {
+                    return mortgageCost;
+                }
+
+                @Override
+                public boolean isAllowed() {
+                    PropertyState state = game.getPropertyState(id);
+                    return !state.isMortgaged() &&
+                        state.getItems().isEmpty() &&
+                        game.getCurrentPlayer().getItems().has(mortgageCost);
+                }
+
+                @Override
+                public void perform() {
+                    game.getPropertyState(id).setMortgaged(true);
+                }
+            },
+            new Action() {
+                @Nonnull
+                @Override
+                public String getName() {
+                    return "Unmortgage";
+                }
+
+                @Nonnull
+                @Override
+                public Items getCost() {
+                    return unmortgageCost;
+                }
+
+                @Override
+                public boolean isAllowed() {
+                    return game.getPropertyState(id).isMortgaged() &&
+                        game.getCurrentPlayer().getItems().has(unmortgageCost);
+                }
+
+                @Override
+                public void perform() {
+                    game.getPropertyState(id).setMortgaged(false);
+                }
+            }
+        );
+    }
+}
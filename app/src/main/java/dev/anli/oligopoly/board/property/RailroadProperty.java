@@ -53,15 +53,44 @@ public record RailroadProperty(
         return mortgagePrice;
     }
 
+    /**
+     * Creates the rent table of the railroad, which is its list of rents.
+     */
+    @Nonnull
+    @Override
+    public List<Items> createRentTable() {
+        return rent;
+    }
+
+    /**
+     * Creates the rent levels of the railroad, one for each number of railroads owned.
+     */
+    @Nonnull
+    @Override
+    public List<RentLevel> createRentLevels(@Nonnull List<Items> rentTable) {
+        List<RentLevel> levels = new ArrayList<>();
+        for (int i = 0; i < rentTable.size(); i++) {
+            levels.add(new RentLevel(
+                String.format("w/ %d owned", i + 1), rentTable.get(i), buyPrice
+            ));
+        }
+        return levels;
+    }
+
     @Nonnull
     @Override
-    public Items getRent(@Nonnull PropertyState state, @Nonnull Player owner, @Nonnull Game game) {
-        if (rent.isEmpty()) {
-            return new Items();
+    public Items getRent(
+        @Nonnull List<Items> rentTable,
+        @Nonnull PropertyState state,
+        @Nonnull Player owner,
+        @Nonnull Game game
+    ) {
+        if (rentTable.isEmpty()) {
+            return Items.EMPTY;
         }
 
         int count = owner.countProperties(CATEGORY, game.getBoard());
-        return rent.get(Math.max(0, Math.min(rent.size() - 1, count - 1)));
+        return rentTable.get(Math.max(0, Math.min(rentTable.size() - 1, count - 1)));
     }
 
     @Nonnull
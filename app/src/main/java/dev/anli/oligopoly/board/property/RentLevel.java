@@ -0,0 +1,21 @@
+package dev.anli.oligopoly.board.property;
+
+import dev.anli.oligopoly.state.Items;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A state a property can be developed to, for investment analysis.
+ * @param name display name of the level (e.g. "w/ 2 houses")
+ * @param rent rent expected each time a player lands on the property at this level
+ * @param investment total cost of the property and its buildings at this level
+ */
+public record RentLevel(@Nonnull String name, @Nonnull Items rent, @Nonnull Items investment) {
+    /**
+     * Constructs a rent level, freezing the rent and investment.
+     */
+    public RentLevel {
+        rent = rent.isFrozen() ? rent : new Items(rent).freeze();
+        investment = investment.isFrozen() ? investment : new Items(investment).freeze();
+    }
+}
@@ -60,9 +60,14 @@ public record StreetProperty(
     @Nonnull
     @Override
     public List<Action> getItemActions(@Nonnull String id, @Nonnull Game game) {
-        boolean hasMonopoly = game.getCurrentPlayer().hasMonopoly(category(), game.getBoard());
-        PropertyState state = game.getPropertyState(id);
-        List<Action> result = new ArrayList<>(Property.super.getItemActions(id, game));
+        return game.getItemFlyweight(id, () -> createItemActions(id, game));
+    }
+
+    private List<Action> createItemActions(@Nonnull String id, @Nonnull Game game) {
+        Items houseRefund = new Items(housePrice, qty -> -qty / 2).freeze();
+        Items hotelRefund = new Items(hotelPrice, qty -> -qty / 2).freeze();
+
+        List<Action> result = new ArrayList<>(PropertyActions.mortgageActions(id, this, game));
         result.addAll(List.of(
             new Action() {
                 @Nonnull
@@ -79,7 +84,8 @@ public record StreetProperty(
 
                 @Override
                 public boolean isAllowed() {
-                    return hasMonopoly
+                    PropertyState state = game.getPropertyState(id);
+                    return game.getCurrentPlayer().hasMonopoly(category(), game.getBoard())
                         && !state.isMortgaged()
                         && game.getCurrentPlayer().getItems().has(housePrice)
                         && state.getItems().get(House.ID) < houseRent().size()
@@ -88,7 +94,7 @@ public record StreetProperty(
 
                 @Override
                 public void perform() {
-                    state.getItems().add(House.ID, 1);
+                    game.getPropertyState(id).getItems().add(House.ID, 1);
                 }
             },
             new Action() {
@@ -101,17 +107,17 @@ public record StreetProperty(
                 @Nonnull
                 @Override
                 public Items getCost() {
-                    return new Items(housePrice, qty -> -qty / 2);
+                    return houseRefund;
                 }
 
                 @Override
                 public boolean isAllowed() {
-                    return state.getItems().has(House.ID);
+                    return game.getPropertyState(id).getItems().has(House.ID);
                 }
 
                 @Override
                 public void perform() {
-                    state.getItems().add(House.ID, -1);
+                    game.getPropertyState(id).getItems().add(House.ID, -1);
                 }
             },
             new Action() {
@@ -129,7 +135,8 @@ public record StreetProperty(
 
                 @Override
                 public boolean isAllowed() {
-                    return hasMonopoly
+                    PropertyState state = game.getPropertyState(id);
+                    return game.getCurrentPlayer().hasMonopoly(category(), game.getBoard())
                         && !state.isMortgaged()
                         && game.getCurrentPlayer().getItems().has(hotelPrice)
                         && state.getItems().get(House.ID) == houseRent().size()
@@ -138,8 +145,9 @@ public record StreetProperty(
 
                 @Override
                 public void perform() {
-                    state.getItems().set(House.ID, 0);
-                    state.getItems().add(Hotel.ID, 1);
+                    Items items = game.getPropertyState(id).getItems();
+                    items.set(House.ID, 0);
+                    items.add(Hotel.ID, 1);
                 }
             },
             new Action() {
@@ -152,21 +160,21 @@ public record StreetProperty(
                 @Nonnull
                 @Override
                 public Items getCost() {
-                    return new Items(hotelPrice, qty -> -qty / 2);
+                    return hotelRefund;
                 }
 
                 @Override
                 public boolean isAllowed() {
-                    return state.getItems().has(Hotel.ID);
+                    return game.getPropertyState(id).getItems().has(Hotel.ID);
                 }
 
                 @Override
                 public void perform() {
-                    state.getItems().set(Hotel.ID, 0);
+                    game.getPropertyState(id).getItems().set(Hotel.ID, 0);
                 }
             }
         ));
-        return result;
+        return List.copyOf(result);
     }
 
     @Nonnull
@@ -187,23 +195,65 @@ public record StreetProperty(
         return mortgagePrice;
     }
 
+    /**
+     * Creates the rent table of the street: the base rent, the base rent with a monopoly, the rent
+     * with each number of houses and finally the rent with a hotel.
+     */
+    @Nonnull
+    @Override
+    public List<Items> createRentTable() {
+        List<Items> table = new ArrayList<>();
+        table.add(baseRent);
+        table.add(new Items(baseRent, qty -> qty * 2));
+        table.addAll(houseRent);
+        table.add(hotelRent);
+        return table;
+    }
+
+    /**
+     * Creates the rent levels of the street: without and with its color group, then with each
+     * number of houses and finally with a hotel, which replaces the houses.
+     */
+    @Nonnull
+    @Override
+    public List<RentLevel> createRentLevels(@Nonnull List<Items> rentTable) {
+        List<RentLevel> levels = new ArrayList<>();
+        levels.add(new RentLevel("Base", rentTable.get(0), buyPrice));
+        levels.add(new RentLevel("w/ color group", rentTable.get(1), buyPrice));
+
+        Items investment = new Items(buyPrice);
+        for (int i = 0; i < houseRent.size(); i++) {
+            investment.add(housePrice);
+            levels.add(new RentLevel(
+                i == 0 ? "w/ 1 house" : String.format("w/ %d houses", i + 1),
+                rentTable.get(i + 2),
+                investment
+            ));
+        }
+
+        investment.add(hotelPrice);
+        levels.add(new RentLevel("w/ hotel", rentTable.get(rentTable.size() - 1), investment));
+        return levels;
+    }
+
     @Nonnull
     @Override
-    public Items getRent(@Nonnull PropertyState state, @Nonnull Player owner, @Nonnull Game game) {
+    public Items getRent(
+        @Nonnull List<Items> rentTable,
+        @Nonnull PropertyState state,
+        @Nonnull Player owner,
+        @Nonnull Game game
+    ) {
         if (state.getItems().has(Hotel.ID)) {
-            return hotelRent;
+            return rentTable.get(rentTable.size() - 1);
         }
 
         int houses = state.getItems().get(House.ID);
         if (houses > 0 && houses <= houseRent.size()) {
-            return houseRent.get(houses - 1);
+            return rentTable.get(houses + 1);
         }
 
-        if (owner.hasMonopoly(category(), game.getBoard())) {
-            return new Items(baseRent, qty -> qty * 2);
-        }
-
-        return baseRent;
+        return rentTable.get(owner.hasMonopoly(category(), game.getBoard()) ? 1 : 0);
     }
 
     @Nonnull
@@ -212,9 +262,9 @@ public record StreetProperty(
         List<String> stats = new ArrayList<>(Property.super.getDisplayStats(id, game));
 
         stats.add(String.format("Base Rent: %s", baseRent.format(game.getBoard())));
-        stats.add(String.format(
-            "w/ color group: %s", new Items(baseRent, qty -> qty * 2).format(game.getBoard()))
-        );
+        Items monopolyRent =
+            game.getBoard().getRentTable(game.getBoard().getPropertyNumber(id)).get(1);
+        stats.add(String.format("w/ color group: %s", monopolyRent.format(game.getBoard())));
 
         for (int i = 0; i < houseRent.size(); i++) {
             stats.add(String.format(
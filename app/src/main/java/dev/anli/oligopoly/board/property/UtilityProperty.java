@@ -32,6 +32,16 @@ public record UtilityProperty(
         "Utility", 999, 255, 255, 255
     );
 
+    /**
+     * Largest dice sum covered by the rent table.
+     */
+    private static final int MAX_MULTIPLIER = 12;
+
+    /**
+     * Expected sum of two six-sided dice.
+     */
+    private static final int EXPECTED_DICE_SUM = 7;
+
     @Nonnull
     @Override
     public String getName() {
@@ -60,17 +70,62 @@ public record UtilityProperty(
         return owner.hasMonopoly(CATEGORY, board) ? monopolyRent : baseRent;
     }
 
+    /**
+     * Creates the rent table of the utility: the base rent times each dice sum from 1 to 12,
+     * followed by the monopoly rent times each of them.
+     */
     @Nonnull
     @Override
-    public Items getRent(@Nonnull PropertyState state, @Nonnull Player owner, @Nonnull Game game) {
+    public List<Items> createRentTable() {
+        List<Items> table = new ArrayList<>();
+        for (Items rent : List.of(baseRent, monopolyRent)) {
+            for (int multiplier = 1; multiplier <= MAX_MULTIPLIER; multiplier++) {
+                int factor = multiplier;
+                table.add(new Items(rent, qty -> qty * factor));
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Creates the rent levels of the utility, without and with all utilities, each charging its
+     * rent times the expected dice sum.
+     */
+    @Nonnull
+    @Override
+    public List<RentLevel> createRentLevels(@Nonnull List<Items> rentTable) {
+        return List.of(
+            new RentLevel("Base", rentTable.get(EXPECTED_DICE_SUM - 1), buyPrice),
+            new RentLevel(
+                "w/ all utilities",
+                rentTable.get(MAX_MULTIPLIER + EXPECTED_DICE_SUM - 1),
+                buyPrice
+            )
+        );
+    }
+
+    @Nonnull
+    @Override
+    public Items getRent(
+        @Nonnull List<Items> rentTable,
+        @Nonnull PropertyState state,
+        @Nonnull Player owner,
+        @Nonnull Game game
+    ) {
         List<List<Integer>> rolls = game.getDiceRolls();
         if (rolls.isEmpty()) {
-            return new Items();
-        } else {
-            Items unmultipliedRent = getUnmultipliedRent(owner, game.getBoard());
-            int multiplier = Game.getDiceSum(rolls.get(rolls.size() - 1));
-            return new Items(unmultipliedRent, qty -> qty * multiplier);
+            return Items.EMPTY;
         }
+
+        boolean monopoly = owner.hasMonopoly(CATEGORY, game.getBoard());
+        int multiplier = Game.getDiceSum(rolls.get(rolls.size() - 1));
+        if (multiplier >= 1 && multiplier <= MAX_MULTIPLIER) {
+            return rentTable.get((monopoly ? MAX_MULTIPLIER : 0) + multiplier - 1);
+        }
+
+        // Out of the table's range; only possible with unusual dice.
+        Items unmultipliedRent = monopoly ? monopolyRent : baseRent;
+        return new Items(unmultipliedRent, qty -> qty * multiplier).freeze();
     }
 
     @Nonnull
@@ -7,7 +7,6 @@ import dev.anli.oligopoly.state.Game;
 
 import javax.annotation.Nonnull;
 import java.awt.*;
-import java.util.Collections;
 import java.util.List;
 
 /**
@@ -16,19 +15,26 @@ import java.util.List;
  * @param cards list of cards to randomly draw from
  */
 public record CardTile(String name, List<Card> cards) implements Tile {
+    /**
+     * Constructs a card tile, taking an unmodifiable copy of the cards.
+     */
+    public CardTile {
+        cards = List.copyOf(cards);
+    }
+
     @Nonnull
     @Override
     public List<Action> getTileActions(@Nonnull Game game) {
         if (game.isPostMove() && !cards.isEmpty()) {
-            return Collections.singletonList(Action.make("Draw Card", () -> {
+            return game.getFlyweight(this, () -> List.of(Action.make("Draw Card", () -> {
                 if (cards.isEmpty()) {
                     game.endTurn();
                     return;
                 }
 
-                Card card = cards.get((int) (Math.random() * cards.size()));
+                Card card = cards.get(game.nextRandomInt(cards.size()));
                 game.setCurrentCard(card);
-            }));
+            })));
         } else {
             return Tile.super.getTileActions(game);
         }
@@ -10,8 +10,6 @@ import dev.anli.oligopoly.state.Player;
 
 import javax.annotation.Nonnull;
 import java.awt.*;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 /**
@@ -24,15 +22,21 @@ public record JailTile(Items fine, Items getOutOfJailFree) implements Tile {
      * Creates a jail tile with defaults from the Monopoly game.
      */
     public JailTile() {
-        this(new Items(Money.ID, 50), new Items(GetOutOfJailFreeCard.ID, 1));
+        this(Money.of(50), new Items(GetOutOfJailFreeCard.ID, 1).freeze());
     }
 
     private List<Action> getJailedActions(boolean didRoll, @Nonnull Game game) {
-        List<Action> actions = new ArrayList<>();
-
         boolean canSkip = game.getCurrentPlayer().getTurnsInJail() < 3;
+        List<List<Action>> variants = game.getFlyweight(this, () -> createJailedActions(game));
+        return variants.get((didRoll ? 2 : 0) + (canSkip ? 1 : 0));
+    }
 
-        actions.add(new Action() {
+    /**
+     * Creates the lists of actions for a jailed player, indexed by (didRoll ? 2 : 0) +
+     * (canSkip ? 1 : 0).
+     */
+    private List<List<Action>> createJailedActions(@Nonnull Game game) {
+        Action useCard = new Action() {
             @Nonnull
             @Override
             public String getName() {
@@ -54,23 +58,21 @@ public record JailTile(Items fine, Items getOutOfJailFree) implements Tile {
             public void perform() {
                 game.getCurrentPlayer().releaseFromJail();
                 game.clearDiceRolls(); // Prevent failed doubles from affecting moves
-                game.setCurrentActions(Collections.singletonList(game.moveAction()));
+                game.setCurrentActions(game.getMoveActions());
             }
-        });
+        };
 
-        if (!didRoll) {
-            actions.add(Action.make("Attempt Roll", () -> {
-                List<Integer> roll = game.rollDice();
-                if (Game.isDouble(roll)) {
-                    game.getCurrentPlayer().releaseFromJail();
-                    game.move(Game.getDiceSum(roll));
-                } else {
-                    game.setCurrentActions(getJailedActions(true, game));
-                }
-            }));
-        }
+        Action attemptRoll = Action.make("Attempt Roll", () -> {
+            List<Integer> roll = game.rollDice();
+            if (Game.isDouble(roll)) {
+                game.getCurrentPlayer().releaseFromJail();
+                game.move(Game.getDiceSum(roll));
+            } else {
+                game.setCurrentActions(getJailedActions(true, game));
+            }
+        });
 
-        actions.add(new Action() {
+        Action payFine = new Action() {
             @Nonnull
             @Override
             public String getName() {
@@ -85,6 +87,7 @@ public record JailTile(Items fine, Items getOutOfJailFree) implements Tile {
 
             @Override
             public boolean isAllowed() {
+                boolean canSkip = game.getCurrentPlayer().getTurnsInJail() < 3;
                 return !canSkip || game.getCurrentPlayer().getItems().has(fine);
             }
 
@@ -93,15 +96,19 @@ public record JailTile(Items fine, Items getOutOfJailFree) implements Tile {
                 game.getCurrentPlayer().setLastCreditor(-1);
                 game.getCurrentPlayer().releaseFromJail();
                 game.clearDiceRolls();
-                game.setCurrentActions(Collections.singletonList(game.moveAction()));
+                game.setCurrentActions(game.getMoveActions());
             }
-        });
+        };
 
-        if (canSkip) {
-            actions.add(game.endTurnAction());
-        }
+        // The player is in jail, so this is always the plain end turn action.
+        Action endTurn = game.endTurnAction();
 
-        return actions;
+        return List.of(
+            List.of(useCard, attemptRoll, payFine),
+            List.of(useCard, attemptRoll, payFine, endTurn),
+            List.of(useCard, payFine),
+            List.of(useCard, payFine, endTurn)
+        );
     }
 
     public static final int INNER_SIZE = 60;
@@ -43,36 +43,82 @@ public record PropertyTile(String itemId) implements Tile {
         return game.getPropertyState(itemId);
     }
 
-    private static Action rentAction(Player owner, Items rent, Game game) {
-        return new Action() {
-            @Nonnull
-            @Override
-            public String getName() {
-                return "Pay Rent";
-            }
+    /**
+     * Action to pay rent to the owner of the property. Reused for every landing on the tile, so
+     * the owner and rent are looked up whenever they're needed (see {@link Game#getRent}).
+     */
+    private static final class RentAction implements Action {
+        private final Game game;
+        private final String itemId;
+
+        private RentAction(Game game, String itemId) {
+            this.game = game;
+            this.itemId = itemId;
+        }
 
-            @Nonnull
-            @Override
-            public Items getCost() {
-                return rent;
-            }
+        @Nonnull
+        @Override
+        public String getName() {
+            return "Pay Rent";
+        }
 
-            @Override
-            public boolean isAllowed() {
-                return true;
-            }
+        @Nonnull
+        @Override
+        public Items getCost() {
+            return game.getRent(itemId);
+        }
 
-            @Override
-            public void perform() {
+        @Override
+        public boolean isAllowed() {
+            return true;
+        }
+
+        @Override
+        public void perform() {
+            game.findPlayerForItem(itemId).ifPresent(owner -> {
                 game.getCurrentPlayer().setLastCreditor(owner.getNumber());
-                owner.getItems().add(rent);
-                game.setCurrentActions(Collections.singletonList(game.endTurnAction()));
+                owner.getItems().add(game.getRent(itemId));
+            });
+            game.setCurrentActions(game.getEndTurnActions());
+        }
+    }
+
+    /**
+     * Actions offered by the tile in a single game.
+     */
+    private static final class TileActions {
+        private final List<Action> rentActions;
+        private final Action buy;
+        private List<Action> buyOrEndTurn = null;
+        private List<Action> buyOrMove = null;
+
+        private TileActions(Action rent, Action buy) {
+            this.rentActions = List.of(rent);
+            this.buy = buy;
+        }
+
+        /**
+         * Gets the buy action followed by the given end turn action (which may be the move action
+         * after a double.)
+         */
+        private List<Action> buyActions(Action endTurn, Game game) {
+            if (endTurn == game.moveAction()) {
+                if (buyOrMove == null) {
+                    buyOrMove = List.of(buy, endTurn);
+                }
+                return buyOrMove;
             }
-        };
+
+            if (buyOrEndTurn == null) {
+                buyOrEndTurn = List.of(buy, endTurn);
+            }
+            return buyOrEndTurn;
+        }
     }
 
-    private Action buyAction(Items price, Game game) {
-        return new Action() {
+    private TileActions createTileActions(Property property, Game game) {
+        Items price = property.getBuyPrice();
+        Action buy = new Action() {
             @Nonnull
             @Override
             public String getName() {
@@ -93,9 +139,11 @@ public record PropertyTile(String itemId) implements Tile {
             @Override
             public void perform() {
                 game.getCurrentPlayer().getItems().set(itemId, 1);
-                game.setCurrentActions(Collections.singletonList(game.endTurnAction()));
+                game.setCurrentActions(game.getEndTurnActions());
             }
         };
+
+        return new TileActions(new RentAction(game, itemId), buy);
     }
 
     @Nonnull
@@ -111,27 +159,25 @@ public record PropertyTile(String itemId) implements Tile {
 
         if (game.isPostMove()) {
             if (game.getCurrentPlayer().getItems().has(itemId)) {
-                return Collections.singletonList(game.endTurnAction());
+                return game.getEndTurnActions();
             } else {
                 Optional<Player> playerOptional = game.findPlayerForItem(itemId);
                 if (playerOptional.isPresent()) {
                     if (state.isMortgaged()) {
-                        return Collections.singletonList(game.endTurnAction());
+                        return game.getEndTurnActions();
                     } else {
-                        Items rent = property.getRent(state, playerOptional.get(), game);
-                        return Collections.singletonList(
-                            rentAction(playerOptional.get(), rent, game)
-                        );
+                        TileActions actions =
+                            game.getFlyweight(this, () -> createTileActions(property, game));
+                        return actions.rentActions;
                     }
                 } else {
-                    return List.of(
-                        buyAction(property.getBuyPrice(), game),
-                        game.endTurnAction()
-                    );
+                    TileActions actions =
+                        game.getFlyweight(this, () -> createTileActions(property, game));
+                    return actions.buyActions(game.endTurnAction(), game);
                 }
             }
         } else {
-            return Collections.singletonList(game.moveAction());
+            return game.getMoveActions();
         }
     }
 
@@ -7,7 +7,6 @@ import dev.anli.oligopoly.state.Items;
 
 import javax.annotation.Nonnull;
 import java.awt.*;
-import java.util.Collections;
 import java.util.List;
 
 /**
@@ -20,7 +19,7 @@ public record TaxTile(String name, Items tax) implements Tile {
     @Override
     public List<Action> getTileActions(@Nonnull Game game) {
         if (game.isPostMove()) {
-            return Collections.singletonList(new Action() {
+            return game.getFlyweight(this, () -> List.of(new Action() {
                 @Nonnull
                 @Override
                 public String getName() {
@@ -41,11 +40,11 @@ public record TaxTile(String name, Items tax) implements Tile {
                 @Override
                 public void perform() {
                     game.getCurrentPlayer().setLastCreditor(-1);
-                    game.setCurrentActions(Collections.singletonList(game.endTurnAction()));
+                    game.setCurrentActions(game.getEndTurnActions());
                 }
-            });
+            }));
         } else {
-            return Collections.singletonList(game.moveAction());
+            return game.getMoveActions();
         }
     }
 
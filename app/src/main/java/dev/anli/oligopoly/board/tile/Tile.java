@@ -6,7 +6,6 @@ import dev.anli.oligopoly.state.Player;
 
 import javax.annotation.Nonnull;
 import java.awt.*;
-import java.util.Collections;
 import java.util.List;
 
 /**
@@ -22,9 +21,9 @@ public interface Tile {
     @Nonnull
     default List<Action> getTileActions(@Nonnull Game game) {
         if (game.isPostMove()) {
-            return Collections.singletonList(game.endTurnAction());
+            return game.getEndTurnActions();
         } else {
-            return Collections.singletonList(game.moveAction());
+            return game.getMoveActions();
         }
     }
 
@@ -0,0 +1,29 @@
+package dev.anli.oligopoly.bot;
+
+import dev.anli.oligopoly.board.Action;
+import dev.anli.oligopoly.board.Money;
+import dev.anli.oligopoly.state.Game;
+import dev.anli.oligopoly.state.Player;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Policy that holds on to its money: it always takes the cheapest current action (so it never
+ * buys anything), and when it is in debt it sells buildings and mortgages properties until it no
+ * longer is.
+ */
+public class CashHoarderPolicy implements PlayerPolicy {
+    @Nullable
+    @Override
+    public Action chooseAction(@Nonnull Game game, @Nonnull Player player) {
+        if (player.getItems().get(Money.ID) < 0) {
+            Action liquidate = Policies.findPropertyAction(game, player, -1);
+            if (liquidate != null) {
+                return liquidate;
+            }
+        }
+
+        return Policies.extremeMoneyCost(game.getCurrentActions(), true);
+    }
+}
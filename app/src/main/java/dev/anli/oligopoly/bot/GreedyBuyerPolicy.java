@@ -0,0 +1,26 @@
+package dev.anli.oligopoly.bot;
+
+import dev.anli.oligopoly.board.Action;
+import dev.anli.oligopoly.state.Game;
+import dev.anli.oligopoly.state.Player;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Policy that spends money whenever it can: it builds on and unmortgages its properties as soon
+ * as that is allowed, then takes the most expensive current action (so it buys every property it
+ * lands on.)
+ */
+public class GreedyBuyerPolicy implements PlayerPolicy {
+    @Nullable
+    @Override
+    public Action chooseAction(@Nonnull Game game, @Nonnull Player player) {
+        Action build = Policies.findPropertyAction(game, player, 1);
+        if (build != null) {
+            return build;
+        }
+
+        return Policies.extremeMoneyCost(game.getCurrentActions(), false);
+    }
+}
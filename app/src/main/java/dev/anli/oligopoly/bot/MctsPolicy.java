@@ -0,0 +1,435 @@
+package dev.anli.oligopoly.bot;
+
+import dev.anli.oligopoly.board.Action;
+import dev.anli.oligopoly.board.Board;
+import dev.anli.oligopoly.board.Money;
+import dev.anli.oligopoly.board.property.Property;
+import dev.anli.oligopoly.state.Game;
+import dev.anli.oligopoly.state.GameSnapshot;
+import dev.anli.oligopoly.state.Player;
+import dev.anli.oligopoly.state.TurnPhase;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+
+/**
+ * Policy that picks among the current actions with Monte Carlo tree search.
+ * <p>
+ * For each decision with more than one allowed action, the policy copies the game (see
+ * {@link Game#copy()}) and repeatedly plays it out: it descends a tree of the current actions
+ * chosen at later decisions, balancing wins against exploration, and then lets a rollout policy
+ * play every seat up to a depth in turns. Each playout reseeds the copy so that the dice and
+ * cards are sampled afresh rather than peeked at. Games that are still running at the depth are
+ * scored by each player's share of the total net worth.
+ * <p>
+ * Playouts can run on several threads of a {@link ForkJoinPool}, each with its own copy of the
+ * game, sharing one tree whose statistics are updated without locks. A worker counts a visit as
+ * soon as it passes through a node (a virtual loss) and adds the reward when its playout ends,
+ * which steers concurrent workers apart.
+ * <p>
+ * Unlike the reference policies, this policy allocates while choosing. Games must record their
+ * turns to be copied (see {@link Game#recordTurns()}), which {@link #step} turns on. If asked to
+ * choose in a turn that wasn't recorded, the policy turns recording on and plays like a
+ * {@link GreedyBuyerPolicy} until the next turn.
+ */
+public class MctsPolicy implements PlayerPolicy {
+    /**
+     * Default number of playouts per decision.
+     */
+    public static final int DEFAULT_PLAYOUTS = 200;
+
+    /**
+     * Default number of turns each playout looks ahead.
+     */
+    public static final int DEFAULT_DEPTH = 20;
+
+    /**
+     * Maximum number of current actions distinguished in the tree.
+     */
+    private static final int MAX_CHILDREN = 16;
+
+    /**
+     * Number of decisions allowed per turn in a playout before it is considered stuck.
+     */
+    private static final int MAX_DECISIONS_PER_TURN = 100;
+
+    /**
+     * Exploration constant of the UCB1 formula, for rewards between 0 and 1.
+     */
+    private static final double EXPLORATION = Math.sqrt(2);
+
+    /**
+     * Rewards are summed as fixed-point numbers with this many fractional bits.
+     */
+    private static final int REWARD_BITS = 20;
+
+    private final SplittableRandom random;
+    private final int maxPlayouts;
+    private final long timeBudgetNanos;
+    private final int depth;
+    private final ForkJoinPool pool;
+    private final int workers;
+    private final Function<RandomGenerator, PlayerPolicy> rolloutPolicy;
+    private final PlayerPolicy fallback = new GreedyBuyerPolicy();
+
+    private final AtomicLong totalPlayouts = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private volatile long lastPlayouts = 0;
+    private volatile long lastNanos = 0;
+
+    /**
+     * A node of the search tree, reached by choosing an action at a decision.
+     */
+    private static final class Node {
+        /**
+         * Number of the player who chose the action leading to this node.
+         */
+        private final int player;
+        private final AtomicInteger visits = new AtomicInteger();
+        private final AtomicLong reward = new AtomicLong();
+        private final AtomicReferenceArray<Node> children =
+            new AtomicReferenceArray<>(MAX_CHILDREN);
+
+        private Node(int player) {
+            this.player = player;
+        }
+
+        private Node child(int index, int player) {
+            Node child = children.get(index);
+            if (child == null) {
+                children.compareAndSet(index, null, new Node(player));
+                child = children.get(index);
+            }
+            return child;
+        }
+
+        private double value() {
+            int n = visits.get();
+            return n == 0 ? 0 : reward.get() / (double) (1L << REWARD_BITS) / n;
+        }
+    }
+
+    /**
+     * Constructs a search policy.
+     * @param random random number generator used to seed the playouts
+     * @param maxPlayouts number of playouts per decision
+     * @param timeBudgetNanos time allowed per decision in nanoseconds, or {@link Long#MAX_VALUE}
+     *                        to stop only after maxPlayouts
+     * @param depth number of turns each playout looks ahead
+     * @param pool pool to run playouts on, or null to run them on the calling thread
+     * @param rolloutPolicy creates the policy that plays every seat once a playout leaves the
+     *                      tree, given the worker's random number generator
+     */
+    public MctsPolicy(
+        @Nonnull SplittableRandom random,
+        int maxPlayouts,
+        long timeBudgetNanos,
+        int depth,
+        @Nullable ForkJoinPool pool,
+        @Nonnull Function<RandomGenerator, PlayerPolicy> rolloutPolicy
+    ) {
+        if (maxPlayouts <= 0 || depth <= 0) {
+            throw new IllegalArgumentException("maxPlayouts and depth must be positive");
+        }
+
+        this.random = random;
+        this.maxPlayouts = maxPlayouts;
+        this.timeBudgetNanos = timeBudgetNanos;
+        this.depth = depth;
+        this.pool = pool;
+        this.workers = pool == null ? 1 : pool.getParallelism();
+        this.rolloutPolicy = rolloutPolicy;
+    }
+
+    /**
+     * Constructs a single-threaded search policy with the default budget, whose playouts are
+     * played out by greedy buyers.
+     * @param random random number generator used to seed the playouts
+     */
+    public MctsPolicy(@Nonnull RandomGenerator random) {
+        this(
+            new SplittableRandom(random.nextLong()),
+            DEFAULT_PLAYOUTS,
+            Long.MAX_VALUE,
+            DEFAULT_DEPTH,
+            null,
+            r -> new GreedyBuyerPolicy()
+        );
+    }
+
+    @Override
+    public boolean step(@Nonnull Game game) {
+        game.recordTurns();
+        return PlayerPolicy.super.step(game);
+    }
+
+    @Nullable
+    @Override
+    public Action chooseAction(@Nonnull Game game, @Nonnull Player player) {
+        List<Action> actions = game.getCurrentActions();
+        int allowed = Policies.countAllowed(actions);
+        if (allowed <= 1) {
+            return Policies.nthAllowed(actions, 0);
+        }
+
+        if (!game.canCopy()) {
+            game.recordTurns();
+            return fallback.chooseAction(game, player);
+        }
+
+        int best = search(game);
+        if (best < 0 || best >= actions.size() || !actions.get(best).isAllowed()) {
+            return fallback.chooseAction(game, player);
+        }
+        return actions.get(best);
+    }
+
+    /**
+     * Searches from the current state of the given game.
+     * @return position of the best current action, or -1 if no playout chose one
+     */
+    private int search(Game game) {
+        long start = System.nanoTime();
+        long deadline = timeBudgetNanos == Long.MAX_VALUE ?
+            Long.MAX_VALUE : start + timeBudgetNanos;
+        Node root = new Node(-1);
+        AtomicInteger started = new AtomicInteger();
+        AtomicInteger finished = new AtomicInteger();
+
+        List<Game> copies = new ArrayList<>();
+        List<SplittableRandom> randoms = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            copies.add(game.copy());
+            randoms.add(random.split());
+        }
+
+        if (pool == null) {
+            runPlayouts(copies.get(0), randoms.get(0), root, started, finished, deadline);
+        } else {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>();
+            for (int i = 0; i < workers; i++) {
+                Game copy = copies.get(i);
+                SplittableRandom workerRandom = randoms.get(i);
+                tasks.add(pool.submit(
+                    () -> runPlayouts(copy, workerRandom, root, started, finished, deadline)
+                ));
+            }
+            tasks.forEach(ForkJoinTask::join);
+        }
+
+        long elapsed = System.nanoTime() - start;
+        lastPlayouts = finished.get();
+        lastNanos = elapsed;
+        totalPlayouts.addAndGet(lastPlayouts);
+        totalNanos.addAndGet(elapsed);
+
+        int best = -1;
+        int bestVisits = 0;
+        for (int i = 0; i < MAX_CHILDREN; i++) {
+            Node child = root.children.get(i);
+            if (child != null && child.visits.get() > bestVisits) {
+                best = i;
+                bestVisits = child.visits.get();
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Plays out copies of the root state until the budget runs out.
+     */
+    private void runPlayouts(
+        Game game,
+        SplittableRandom random,
+        Node root,
+        AtomicInteger started,
+        AtomicInteger finished,
+        long deadline
+    ) {
+        PlayerPolicy rollout = rolloutPolicy.apply(random);
+        List<Node> path = new ArrayList<>();
+        double[] rewards = new double[game.getPlayers().size()];
+
+        // Reseed before taking the root snapshot, so that restoring it doesn't have to replay
+        // the draws the game made before the search.
+        game.reseed(random.nextLong());
+        GameSnapshot rootState = game.snapshot();
+
+        while (System.nanoTime() < deadline && started.getAndIncrement() < maxPlayouts) {
+            game.restore(rootState);
+            game.reseed(random.nextLong());
+            path.clear();
+            playOut(game, rollout, root, path);
+            score(game, rewards);
+
+            for (int i = 0; i < path.size(); i++) {
+                Node node = path.get(i);
+                long reward = Math.round(rewards[node.player] * (1L << REWARD_BITS));
+                node.reward.addAndGet(reward);
+            }
+            finished.incrementAndGet();
+        }
+    }
+
+    /**
+     * Plays the game out from the root, descending and growing the tree and then following the
+     * rollout policy, and adds the nodes passed through to the path.
+     */
+    private void playOut(Game game, PlayerPolicy rollout, Node root, List<Node> path) {
+        int maxTurns = game.getTurns() + depth;
+        Node node = root;
+        int decisions = 0;
+        int turn = game.getTurns();
+        root.visits.incrementAndGet();
+
+        while (game.getTurnPhase() != TurnPhase.WINNER && game.getTurns() <= maxTurns) {
+            if (game.getTurns() != turn) {
+                turn = game.getTurns();
+                decisions = 0;
+            }
+            if (decisions++ > MAX_DECISIONS_PER_TURN) {
+                return;
+            }
+
+            if (node == null || game.getTurnPhase() == TurnPhase.START) {
+                if (!rollout.step(game)) {
+                    return;
+                }
+                continue;
+            }
+
+            List<Action> actions = game.getCurrentActions();
+            if (Policies.countAllowed(actions) <= 1) {
+                if (!rollout.step(game)) {
+                    return;
+                }
+                continue;
+            }
+
+            int index = select(node, actions);
+            if (index < 0) {
+                node = null;
+                continue;
+            }
+
+            boolean expanded = node.children.get(index) == null;
+            node = node.child(index, game.getCurrentPlayerNumber());
+            node.visits.incrementAndGet();
+            path.add(node);
+            game.debitAndPerform(actions.get(index));
+            if (expanded) {
+                // Grow the tree by one node per playout.
+                node = null;
+            }
+        }
+    }
+
+    /**
+     * Selects the position of a current action to descend to with UCB1, preferring actions that
+     * haven't been tried yet.
+     * @return position of the action, or -1 if no allowed action is in the tree's range
+     */
+    private static int select(Node node, List<Action> actions) {
+        double logVisits = Math.log(Math.max(1, node.visits.get()));
+        int best = -1;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < Math.min(actions.size(), MAX_CHILDREN); i++) {
+            if (!actions.get(i).isAllowed()) {
+                continue;
+            }
+
+            Node child = node.children.get(i);
+            if (child == null || child.visits.get() == 0) {
+                return i;
+            }
+
+            double score = child.value() +
+                EXPLORATION * Math.sqrt(logVisits / child.visits.get());
+            if (score > bestScore) {
+                best = i;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Scores the game for every player: 1 for the winner, otherwise each player's share of the
+     * net worth of the players still alive.
+     */
+    private static void score(Game game, double[] rewards) {
+        List<Player> players = game.getPlayers();
+        if (game.getTurnPhase() == TurnPhase.WINNER) {
+            for (int i = 0; i < rewards.length; i++) {
+                rewards[i] = i == game.getCurrentPlayerNumber() ? 1 : 0;
+            }
+            return;
+        }
+
+        double total = 0;
+        for (int i = 0; i < rewards.length; i++) {
+            Player player = players.get(i);
+            rewards[i] = player.isAlive() ? Math.max(0, netWorth(game.getBoard(), player)) : 0;
+            total += rewards[i];
+        }
+
+        for (int i = 0; i < rewards.length; i++) {
+            rewards[i] = total > 0 ? rewards[i] / total : 1.0 / rewards.length;
+        }
+    }
+
+    /**
+     * Estimates a player's net worth as their money plus the buy prices of their properties.
+     */
+    private static double netWorth(Board board, Player player) {
+        double worth = player.getItems().get(Money.ID);
+        List<String> properties = board.getPropertyIds();
+        for (int i = 0; i < properties.size(); i++) {
+            String id = properties.get(i);
+            if (player.getItems().has(id)) {
+                worth += ((Property) board.getItem(id)).getBuyPrice().get(Money.ID);
+            }
+        }
+        return worth;
+    }
+
+    /**
+     * Gets the number of playouts in the last search.
+     */
+    public long getLastPlayouts() {
+        return lastPlayouts;
+    }
+
+    /**
+     * Gets the number of playouts per second in the last search.
+     */
+    public double getLastPlayoutsPerSecond() {
+        return lastNanos == 0 ? 0 : lastPlayouts * 1e9 / lastNanos;
+    }
+
+    /**
+     * Gets the number of playouts per second over every search so far, for sizing the time
+     * budget.
+     */
+    public double getPlayoutsPerSecond() {
+        long nanos = totalNanos.get();
+        return nanos == 0 ? 0 : totalPlayouts.get() * 1e9 / nanos;
+    }
+
+    /**
+     * Gets the total number of playouts over every search so far.
+     */
+    public long getTotalPlayouts() {
+        return totalPlayouts.get();
+    }
+}
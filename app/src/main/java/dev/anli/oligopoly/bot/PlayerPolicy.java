@@ -0,0 +1,70 @@
+package dev.anli.oligopoly.bot;
+
+import dev.anli.oligopoly.board.Action;
+import dev.anli.oligopoly.state.Game;
+import dev.anli.oligopoly.state.Player;
+import dev.anli.oligopoly.state.TurnPhase;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.random.RandomGenerator;
+
+/**
+ * Strategy for a computer-controlled player.
+ * <p>
+ * A policy picks one of the game's current actions or one of the actions offered by an item the
+ * player holds. Implementations should not allocate while choosing, so that games between bots
+ * are bounded by the rules rather than by garbage collection.
+ */
+public interface PlayerPolicy {
+    /**
+     * Chooses an allowed action for the given player.
+     * @param game current game
+     * @param player player to choose for (normally the current player)
+     * @return an allowed action, or null if no action is allowed
+     */
+    @Nullable Action chooseAction(@Nonnull Game game, @Nonnull Player player);
+
+    /**
+     * Makes a single decision for the current player: starts the turn if needed, or chooses an
+     * action and debits and performs it.
+     * @param game current game
+     * @return whether a decision was made (false if the game is over or no action is allowed)
+     */
+    default boolean step(@Nonnull Game game) {
+        if (game.getTurnPhase() == TurnPhase.WINNER) {
+            return false;
+        }
+
+        if (game.getTurnPhase() == TurnPhase.START) {
+            game.transitionToPremove();
+            return true;
+        }
+
+        Action action = chooseAction(game, game.getCurrentPlayer());
+        if (action == null) {
+            return false;
+        }
+
+        game.debitAndPerform(action);
+        return true;
+    }
+
+    /**
+     * Creates one of the reference policies by name: "random", "greedy" or "hoarder", or a
+     * single-threaded {@link MctsPolicy} with the default budget by the name "mcts".
+     * @param name name of the policy
+     * @param random random number generator for policies that need one
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    @Nonnull
+    static PlayerPolicy byName(@Nonnull String name, @Nonnull RandomGenerator random) {
+        return switch (name) {
+            case "random" -> new RandomPolicy(random);
+            case "greedy" -> new GreedyBuyerPolicy();
+            case "hoarder" -> new CashHoarderPolicy();
+            case "mcts" -> new MctsPolicy(random);
+            default -> throw new IllegalArgumentException("Unknown policy: " + name);
+        };
+    }
+}
@@ -0,0 +1,103 @@
+package dev.anli.oligopoly.bot;
+
+import dev.anli.oligopoly.board.Action;
+import dev.anli.oligopoly.board.ItemIndex;
+import dev.anli.oligopoly.board.Money;
+import dev.anli.oligopoly.board.property.Property;
+import dev.anli.oligopoly.state.Game;
+import dev.anli.oligopoly.state.Player;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * Allocation-free helpers shared by the reference policies.
+ */
+final class Policies {
+    private Policies() {
+        // This is purely a container for static methods.
+    }
+
+    /**
+     * Counts the allowed actions in the list.
+     */
+    static int countAllowed(@Nonnull List<Action> actions) {
+        int allowed = 0;
+        for (int i = 0; i < actions.size(); i++) {
+            if (actions.get(i).isAllowed()) {
+                allowed++;
+            }
+        }
+        return allowed;
+    }
+
+    /**
+     * Gets the allowed action at the given position among the allowed actions in the list, or
+     * null if there are not enough allowed actions.
+     */
+    @Nullable
+    static Action nthAllowed(@Nonnull List<Action> actions, int n) {
+        for (int i = 0; i < actions.size(); i++) {
+            Action action = actions.get(i);
+            if (action.isAllowed() && n-- == 0) {
+                return action;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the amount of money an action costs (negative if the action pays out money.)
+     */
+    static int moneyCost(@Nonnull Action action) {
+        return action.getCost().get(Money.ID);
+    }
+
+    /**
+     * Finds the allowed action with the highest money cost, or the lowest if {@code cheapest} is
+     * set. Ties go to the earliest action.
+     */
+    @Nullable
+    static Action extremeMoneyCost(@Nonnull List<Action> actions, boolean cheapest) {
+        Action best = null;
+        int bestCost = 0;
+        for (int i = 0; i < actions.size(); i++) {
+            Action action = actions.get(i);
+            if (!action.isAllowed()) {
+                continue;
+            }
+
+            int cost = moneyCost(action);
+            if (best == null || (cheapest ? cost < bestCost : cost > bestCost)) {
+                best = action;
+                bestCost = cost;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Finds the first allowed action on a property held by the player whose money cost has the
+     * given sign (positive to spend money, negative to raise it.)
+     */
+    @Nullable
+    static Action findPropertyAction(@Nonnull Game game, @Nonnull Player player, int sign) {
+        ItemIndex index = game.getBoard().itemIndex();
+        for (int ordinal = 0; ordinal < index.size(); ordinal++) {
+            String id = index.idAt(ordinal);
+            if (!(index.itemAt(ordinal) instanceof Property property) || !player.getItems().has(id)) {
+                continue;
+            }
+
+            List<Action> actions = property.getItemActions(id, game);
+            for (int i = 0; i < actions.size(); i++) {
+                Action action = actions.get(i);
+                if (Integer.signum(moneyCost(action)) == sign && action.isAllowed()) {
+                    return action;
+                }
+            }
+        }
+        return null;
+    }
+}
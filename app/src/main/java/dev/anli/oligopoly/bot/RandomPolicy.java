@@ -0,0 +1,40 @@
+package dev.anli.oligopoly.bot;
+
+import dev.anli.oligopoly.board.Action;
+import dev.anli.oligopoly.state.Game;
+import dev.anli.oligopoly.state.Player;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Policy that picks uniformly at random among the allowed current actions.
+ * <p>
+ * The policy draws from its own generator rather than the game's, so that the game's dice and
+ * cards do not depend on how the players decide.
+ */
+public class RandomPolicy implements PlayerPolicy {
+    private final RandomGenerator random;
+
+    /**
+     * Constructs a random policy.
+     * @param random random number generator used to pick actions
+     */
+    public RandomPolicy(@Nonnull RandomGenerator random) {
+        this.random = random;
+    }
+
+    @Nullable
+    @Override
+    public Action chooseAction(@Nonnull Game game, @Nonnull Player player) {
+        List<Action> actions = game.getCurrentActions();
+        int allowed = Policies.countAllowed(actions);
+        if (allowed == 0) {
+            return null;
+        }
+
+        return Policies.nthAllowed(actions, random.nextInt(allowed));
+    }
+}
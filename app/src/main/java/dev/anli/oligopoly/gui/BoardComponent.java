@@ -4,6 +4,7 @@ import dev.anli.oligopoly.board.card.Card;
 import dev.anli.oligopoly.board.tile.Tile;
 import dev.anli.oligopoly.state.Game;
 import dev.anli.oligopoly.state.Player;
+import dev.anli.oligopoly.state.PropertyState;
 import dev.anli.oligopoly.state.TurnPhase;
 
 import javax.annotation.Nonnull;
@@ -13,16 +14,33 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
 import java.util.*;
 import java.util.List;
 import java.util.function.Consumer;
 
 /**
  * A view that draws the board on screen.
+ * <p>
+ * The parts of the board that rarely change (the background, borders, title and tiles) are drawn
+ * once into an image, which is redrawn only when a property's state or ownership changes, since
+ * that is all tiles depend on. Each paint draws the image, then the players, dice and card on top.
  */
 public class BoardComponent extends JComponent {
     private final Game game;
 
+    private BufferedImage staticLayer = null;
+    private double staticLayerScale = 0;
+    private boolean staticLayerHasTitle = false;
+    /**
+     * Ownership version and property states, with their items' versions and whether they were
+     * mortgaged, that the static layer was drawn with.
+     */
+    private int drawnOwnershipVersion = 0;
+    private final PropertyState[] drawnStates;
+    private final int[] drawnItemVersions;
+    private final boolean[] drawnMortgages;
+
     /**
      * The border width applied to tiles and the board.
      */
@@ -50,6 +68,11 @@ public class BoardComponent extends JComponent {
     public BoardComponent(@Nonnull Game game, @Nonnull Consumer<Tile> tileClickHandler) {
         this.game = game;
 
+        int properties = game.getBoard().getPropertyIds().size();
+        drawnStates = new PropertyState[properties];
+        drawnItemVersions = new int[properties];
+        drawnMortgages = new boolean[properties];
+
         Dimension size = calculateSize();
         setMinimumSize(size);
         setPreferredSize(size);
@@ -117,14 +140,86 @@ public class BoardComponent extends JComponent {
         return Optional.empty();
     }
 
-    @SuppressWarnings("SuspiciousNameCombination")
-    @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
+    /**
+     * Finds the origin of a tile on the bottom side of the board, which the other sides are
+     * rotated to.
+     * @param sideIndex index of the tile on its side, 0 being the corner
+     */
+    private static Point getTileOrigin(int sideIndex, Dimension size) {
+        int originY = size.height - Tile.SIDE_TILE_SIZE.height - BORDER_WIDTH;
+        if (sideIndex == 0) {
+            return new Point(size.width - Tile.SIDE_TILE_SIZE.height - BORDER_WIDTH, originY);
+        }
 
-        Graphics2D graphics = (Graphics2D) g;
-        Dimension size = calculateSize();
+        int originX = (TILES_PER_SIDE - sideIndex) * (Tile.SIDE_TILE_SIZE.width + BORDER_WIDTH)
+            + Tile.SIDE_TILE_SIZE.height + BORDER_WIDTH * 2;
+        return new Point(originX, originY);
+    }
 
+    /**
+     * Returns whether any property's state or ownership changed since the static layer was drawn.
+     */
+    private boolean hasTileAppearanceChanged() {
+        if (game.getOwnershipVersion() != drawnOwnershipVersion) {
+            return true;
+        }
+
+        for (int i = 0; i < drawnStates.length; i++) {
+            PropertyState state = game.getPropertyState(i);
+            if (state != drawnStates[i] ||
+                state.getItems().getVersion() != drawnItemVersions[i] ||
+                state.isMortgaged() != drawnMortgages[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void rememberTileAppearance() {
+        drawnOwnershipVersion = game.getOwnershipVersion();
+        for (int i = 0; i < drawnStates.length; i++) {
+            PropertyState state = game.getPropertyState(i);
+            drawnStates[i] = state;
+            drawnItemVersions[i] = state.getItems().getVersion();
+            drawnMortgages[i] = state.isMortgaged();
+        }
+    }
+
+    /**
+     * Draws the static layer, redrawing it first if it is out of date.
+     */
+    private void paintStaticLayer(Graphics2D graphics, Dimension size) {
+        // Draw at the screen's resolution, so that the layer stays sharp when the UI is scaled.
+        double scale = graphics.getTransform().getScaleX();
+        boolean hasTitle = game.getTurnPhase() != TurnPhase.WINNER;
+        if (staticLayer == null || scale != staticLayerScale) {
+            staticLayer = graphics.getDeviceConfiguration().createCompatibleImage(
+                (int) Math.ceil(size.width * scale),
+                (int) Math.ceil(size.height * scale)
+            );
+            staticLayerScale = scale;
+        } else if (hasTitle == staticLayerHasTitle && !hasTileAppearanceChanged()) {
+            graphics.drawImage(staticLayer, 0, 0, size.width, size.height, null);
+            return;
+        }
+
+        Graphics2D layerGraphics = staticLayer.createGraphics();
+        try {
+            layerGraphics.setRenderingHints(graphics.getRenderingHints());
+            layerGraphics.setFont(graphics.getFont());
+            layerGraphics.scale(scale, scale);
+            drawStaticLayer(layerGraphics, size, hasTitle);
+        } finally {
+            layerGraphics.dispose();
+        }
+        staticLayerHasTitle = hasTitle;
+        rememberTileAppearance();
+
+        graphics.drawImage(staticLayer, 0, 0, size.width, size.height, null);
+    }
+
+    @SuppressWarnings("SuspiciousNameCombination")
+    private void drawStaticLayer(Graphics2D graphics, Dimension size, boolean hasTitle) {
         // Draw the background.
 
         graphics.setColor(Color.WHITE);
@@ -180,20 +275,9 @@ public class BoardComponent extends JComponent {
             );
         }
 
-        // Draw the Oligopoly title or player win text.
-        Font font = graphics.getFont();
-        if (game.getTurnPhase() == TurnPhase.WINNER) {
-            graphics.setFont(font.deriveFont(Font.BOLD, 64));
-            graphics.setColor(game.getCurrentPlayer().getColor(game.getPlayers().size()));
-            Utils.drawStringWrapped(
-                String.format("Player %d\nwins!", game.getCurrentPlayer().getNumber() + 1),
-                graphics,
-                0,
-                size.height / 2 - 40,
-                size.width
-            );
-            graphics.setFont(font);
-        } else {
+        // Draw the Oligopoly title, unless there's a winner to announce instead.
+        if (hasTitle) {
+            Font font = graphics.getFont();
             AffineTransform old = graphics.getTransform();
             graphics.rotate(
                 -Math.PI / 4,
@@ -212,9 +296,68 @@ public class BoardComponent extends JComponent {
             );
 
             graphics.setTransform(old);
+            graphics.setFont(font);
         }
 
-        graphics.setFont(font);
+        // Draw each tile.
+        List<Tile> tiles = game.getBoard().tiles();
+        for (int i = 0; i < Math.min(4 * TILES_PER_SIDE + 4, tiles.size()); i++) {
+            // Create a child graphics context and rotate if needed.
+            // Then ask the tile to draw itself.
+
+            Tile tile = tiles.get(i);
+            int side = i / (TILES_PER_SIDE + 1);
+            int sideIndex = i % (TILES_PER_SIDE + 1);
+
+            AffineTransform old = graphics.getTransform();
+            graphics.rotate((side + 1) * (Math.PI / 2), size.width / 2.0, size.height / 2.0);
+
+            Point origin = getTileOrigin(sideIndex, size);
+            int width = sideIndex == 0 ? Tile.SIDE_TILE_SIZE.height : Tile.SIDE_TILE_SIZE.width;
+            Graphics2D tileGraphics = (Graphics2D) graphics.create(
+                origin.x,
+                origin.y,
+                width,
+                Tile.SIDE_TILE_SIZE.height
+            );
+            try {
+                if (sideIndex == 0) {
+                    tile.drawCornerTile(tileGraphics, game);
+                } else {
+                    tile.drawSideTile(tileGraphics, game);
+                }
+            } finally {
+                tileGraphics.dispose();
+            }
+
+            graphics.setTransform(old);
+        }
+    }
+
+    @SuppressWarnings("SuspiciousNameCombination")
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+
+        Graphics2D graphics = (Graphics2D) g;
+        Dimension size = calculateSize();
+
+        paintStaticLayer(graphics, size);
+
+        // Draw the player win text.
+        Font font = graphics.getFont();
+        if (game.getTurnPhase() == TurnPhase.WINNER) {
+            graphics.setFont(font.deriveFont(Font.BOLD, 64));
+            graphics.setColor(game.getCurrentPlayer().getColor(game.getPlayers().size()));
+            Utils.drawStringWrapped(
+                String.format("Player %d\nwins!", game.getCurrentPlayer().getNumber() + 1),
+                graphics,
+                0,
+                size.height / 2 - 40,
+                size.width
+            );
+            graphics.setFont(font);
+        }
 
         // Find the players on each tile.
         Map<Integer, List<Player>> locationsToPlayers = new HashMap<>();
@@ -228,46 +371,16 @@ public class BoardComponent extends JComponent {
         });
         int totalPlayers = game.getPlayers().size();
 
-        // Draw each tile.
         List<Tile> tiles = game.getBoard().tiles();
         for (int i = 0; i < Math.min(4 * TILES_PER_SIDE + 4, tiles.size()); i++) {
-            // Create a child graphics context and rotate if needed.
-            // Then ask the tile to draw itself.
-
             Tile tile = tiles.get(i);
             int side = i / (TILES_PER_SIDE + 1);
             int sideIndex = i % (TILES_PER_SIDE + 1);
 
             double rotation = (side + 1) * (Math.PI / 2);
-            AffineTransform old = graphics.getTransform();
-            graphics.rotate(rotation, size.width / 2.0, size.height / 2.0);
-
-            int originX, originY;
-
-            if (sideIndex == 0) {
-                originX = size.width - Tile.SIDE_TILE_SIZE.height - BORDER_WIDTH;
-                originY = size.height - Tile.SIDE_TILE_SIZE.height - BORDER_WIDTH;
-                Graphics2D tileGraphics = (Graphics2D) graphics.create(
-                    originX,
-                    originY,
-                    Tile.SIDE_TILE_SIZE.height,
-                    Tile.SIDE_TILE_SIZE.height
-                );
-                tile.drawCornerTile(tileGraphics, game);
-            } else {
-                originX = (TILES_PER_SIDE - sideIndex) * (Tile.SIDE_TILE_SIZE.width + BORDER_WIDTH)
-                    + Tile.SIDE_TILE_SIZE.height + BORDER_WIDTH * 2;
-                originY = size.height - Tile.SIDE_TILE_SIZE.height - BORDER_WIDTH;
-                Graphics2D tileGraphics = (Graphics2D) graphics.create(
-                    originX,
-                    originY,
-                    Tile.SIDE_TILE_SIZE.width,
-                    Tile.SIDE_TILE_SIZE.height
-                );
-                tile.drawSideTile(tileGraphics, game);
-            }
-
-            graphics.setTransform(old);
+            Point origin = getTileOrigin(sideIndex, size);
+            int originX = origin.x;
+            int originY = origin.y;
 
             // Draw the players by finding their location on the tile, then compositing them.
             List<Player> players = locationsToPlayers.getOrDefault(i, Collections.emptyList());
@@ -4,18 +4,27 @@ import dev.anli.oligopoly.board.Board;
 import dev.anli.oligopoly.board.debug.DebugItem;
 import dev.anli.oligopoly.state.Game;
 import dev.anli.oligopoly.state.Items;
+import dev.anli.oligopoly.state.SaveHeader;
+import dev.anli.oligopoly.state.SaveSlots;
 
 import javax.annotation.Nonnull;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
 import java.util.List;
 import java.util.function.Consumer;
 
 /**
- * The board selection and game configuration menu.
+ * The board selection and game configuration menu, which also lists saved games to resume.
  */
 public class BoardSelect extends JPanel {
+    private static final DateTimeFormatter SAVE_TIME_FORMATTER =
+        DateTimeFormatter.ofLocalizedDateTime(FormatStyle.SHORT).withZone(ZoneId.systemDefault());
+
     private Board board;
     private final JLabel boardLabel;
     private final JButton startButton;
@@ -24,12 +33,16 @@ public class BoardSelect extends JPanel {
     /**
      * Constructs a board selection menu.
      * @param boards boards to choose from
+     * @param saves saved games to choose from, in the order to list them
      * @param onSelect callback when a game is started
+     * @param onResume callback when a saved game is resumed
      * @param showInstructions callback to show instructions
      */
     public BoardSelect(
         @Nonnull List<Board> boards,
+        @Nonnull List<SaveSlots.Slot> saves,
         @Nonnull Consumer<Game> onSelect,
+        @Nonnull Consumer<SaveSlots.Slot> onResume,
         @Nonnull Runnable showInstructions
     ) {
         board = boards.get(0);
@@ -59,6 +72,10 @@ public class BoardSelect extends JPanel {
         grid.setBorder(new EmptyBorder(50, 0, 50, 0));
         add(grid, BorderLayout.CENTER);
 
+        if (!saves.isEmpty()) {
+            add(createResumePanel(saves, onResume), BorderLayout.LINE_END);
+        }
+
         JPanel bottom = new JPanel();
         bottom.setAlignmentX(CENTER_ALIGNMENT);
         bottom.setLayout(new BoxLayout(bottom, BoxLayout.X_AXIS));
@@ -99,6 +116,49 @@ public class BoardSelect extends JPanel {
         updatePanel();
     }
 
+    private static JPanel createResumePanel(
+        List<SaveSlots.Slot> saves,
+        Consumer<SaveSlots.Slot> onResume
+    ) {
+        JPanel panel = new JPanel(new BorderLayout(0, 8));
+        panel.setBorder(new EmptyBorder(0, 16, 0, 0));
+        panel.add(new JLabel("Resume Game"), BorderLayout.PAGE_START);
+
+        JList<SaveSlots.Slot> list = new JList<>(saves.toArray(new SaveSlots.Slot[0]));
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        list.setCellRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(
+                JList<?> list, Object value, int index, boolean isSelected, boolean cellHasFocus
+            ) {
+                SaveHeader header = ((SaveSlots.Slot) value).header();
+                String text = String.format(
+                    "%s, turn %d, %d/%d players%s, %s",
+                    header.boardName(),
+                    header.turns(),
+                    header.playersAlive(),
+                    header.players(),
+                    header.isComplete() ? " (over)" : "",
+                    SAVE_TIME_FORMATTER.format(Instant.ofEpochMilli(header.lastModified()))
+                );
+                return super.getListCellRendererComponent(
+                    list, text, index, isSelected, cellHasFocus
+                );
+            }
+        });
+        JScrollPane scrollPane = new JScrollPane(list);
+        scrollPane.setPreferredSize(new Dimension(320, 200));
+        panel.add(scrollPane, BorderLayout.CENTER);
+
+        JButton resumeButton = new JButton("Resume");
+        resumeButton.setEnabled(false);
+        list.addListSelectionListener(e -> resumeButton.setEnabled(!list.isSelectionEmpty()));
+        resumeButton.addActionListener(e -> onResume.accept(list.getSelectedValue()));
+        panel.add(resumeButton, BorderLayout.PAGE_END);
+
+        return panel;
+    }
+
     private void updatePanel() {
         if (board == null) {
             boardLabel.setText("No board selected");
@@ -6,18 +6,26 @@ import dev.anli.oligopoly.board.Money;
 import dev.anli.oligopoly.board.UnknownItem;
 import dev.anli.oligopoly.board.tile.PropertyTile;
 import dev.anli.oligopoly.state.Game;
+import dev.anli.oligopoly.state.GameSnapshot;
 import dev.anli.oligopoly.state.TurnPhase;
 
 import javax.annotation.Nonnull;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Map;
 
 /**
  * Controller that displays a game.
  */
 public class GamePanel extends JPanel {
+    /**
+     * Maximum number of actions that can be undone.
+     */
+    private static final int MAX_UNDO = 100;
+
     private final Game game;
     private final JLabel statusLabel;
     private final JList<Map.Entry<String, Integer>> inventoryList;
@@ -26,6 +34,11 @@ public class GamePanel extends JPanel {
     private ItemDetailPanel detailPanel = null;
     private final JPanel actionPanel;
 
+    /**
+     * Snapshots of the game after each action, most recent (i.e. the current state) first.
+     */
+    private final Deque<GameSnapshot> history = new ArrayDeque<>();
+
     /**
      * Constructs a GamePanel.
      * @param game game to manage and display
@@ -107,9 +120,33 @@ public class GamePanel extends JPanel {
         actionPanel = new JPanel();
         add(actionPanel, BorderLayout.PAGE_END);
 
+        history.push(game.snapshot());
+        updatePanel();
+    }
+
+    /**
+     * Records the state of the game after an action, so that the action can be undone, and
+     * updates the panel.
+     */
+    private void afterAction() {
+        history.push(game.snapshot());
+        if (history.size() > MAX_UNDO + 1) {
+            history.removeLast();
+        }
         updatePanel();
     }
 
+    /**
+     * Restores the game to the state before the last action.
+     */
+    private void undo() {
+        if (history.size() > 1) {
+            history.pop();
+            game.restore(history.peek());
+            updatePanel();
+        }
+    }
+
     public void updatePanel() {
         String statusItemId = Money.ID;
         Item statusItem = game.getBoard().getItem(statusItemId);
@@ -133,16 +170,21 @@ public class GamePanel extends JPanel {
             JButton startTurn = new JButton("Start Turn");
             startTurn.addActionListener(e -> {
                 game.transitionToPremove();
-                updatePanel();
+                afterAction();
             });
             actionPanel.add(startTurn);
             selectedItemId = null;
         } else if (game.getTurnPhase() != TurnPhase.WINNER) {
             game.getCurrentActions().forEach(action -> actionPanel.add(
-                Action.makeButton(action, game, this::updatePanel)
+                Action.makeButton(action, game, this::afterAction)
             ));
         }
 
+        JButton undoButton = new JButton("Undo");
+        undoButton.setEnabled(history.size() > 1);
+        undoButton.addActionListener(e -> undo());
+        actionPanel.add(undoButton);
+
         if (game.getTurnPhase() == TurnPhase.START) {
             @SuppressWarnings("unchecked") Map.Entry<String, Integer>[] array = new Map.Entry[] {};
             inventoryList.setListData(array);
@@ -160,7 +202,7 @@ public class GamePanel extends JPanel {
             detailPanel == null || !selectedItemId.equals(detailPanel.getItemId())
         ) {
             detailContainer.removeAll();
-            detailPanel = new ItemDetailPanel(selectedItemId, game, this::updatePanel);
+            detailPanel = new ItemDetailPanel(selectedItemId, game, this::afterAction);
             detailContainer.add(detailPanel);
         } else if (detailPanel != null) {
             detailPanel.updatePanel();
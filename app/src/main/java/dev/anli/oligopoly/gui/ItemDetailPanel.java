@@ -1,8 +1,11 @@
 package dev.anli.oligopoly.gui;
 
+import dev.anli.oligopoly.analysis.PropertyAnalytics;
 import dev.anli.oligopoly.board.Action;
 import dev.anli.oligopoly.board.Item;
+import dev.anli.oligopoly.board.property.RentLevel;
 import dev.anli.oligopoly.state.Game;
+import dev.anli.oligopoly.state.Player;
 import dev.anli.oligopoly.state.TurnPhase;
 
 import javax.annotation.Nonnull;
@@ -125,9 +128,39 @@ public class ItemDetailPanel extends JPanel {
         item.getDisplayStats(itemId, game).forEach(stat -> {
             statsPanel.add(new JLabel(stat));
         });
+        addAnalyticsStats();
 
         actionsPanel.revalidate();
         statsPanel.revalidate();
         repaint();
     }
+
+    /**
+     * Adds the expected rent and payback of each rent level, if the item is a property.
+     */
+    private void addAnalyticsStats() {
+        int propertyNumber = game.getBoard().getPropertyNumber(itemId);
+        if (propertyNumber == -1) {
+            return;
+        }
+
+        int alivePlayers = (int) game.getPlayers().stream().filter(Player::isAlive).count();
+        PropertyAnalytics analytics = PropertyAnalytics.of(game.getBoard(), alivePlayers);
+        List<RentLevel> levels = analytics.getLevels(propertyNumber);
+        if (levels.isEmpty() || alivePlayers < 2) {
+            return;
+        }
+
+        statsPanel.add(Box.createVerticalStrut(5));
+        statsPanel.add(new JLabel("Expected rent per round (payback):"));
+        for (int i = 0; i < levels.size(); i++) {
+            double payback = analytics.getPaybackRounds(propertyNumber, i);
+            statsPanel.add(new JLabel(String.format(
+                "%s: $%.2f (%s)",
+                levels.get(i).name(),
+                analytics.getRentPerRound(propertyNumber, i),
+                Double.isInfinite(payback) ? "never" : String.format("%.0f rounds", payback)
+            )));
+        }
+    }
 }
@@ -0,0 +1,145 @@
+package dev.anli.oligopoly.io;
+
+import dev.anli.oligopoly.board.ItemIndex;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Class that handles deserialization of objects serialized by {@link BinarySerializer}.
+ */
+public class BinaryDeserializer extends Deserializer {
+    private final ByteBuffer buffer;
+
+    /**
+     * Constructs a binary deserializer reading the given buffer, starting with the header.
+     * @throws IOException if the buffer doesn't start with the header of a supported version
+     */
+    public BinaryDeserializer(ByteBuffer buffer) throws IOException {
+        this(buffer, true);
+    }
+
+    /**
+     * Constructs a binary deserializer reading the given buffer.
+     * @param header whether the buffer starts with the header
+     * @throws IOException if the buffer doesn't start with the header of a supported version
+     */
+    public BinaryDeserializer(ByteBuffer buffer, boolean header) throws IOException {
+        this.buffer = buffer;
+        if (header) {
+            if (!hasHeader(buffer)) {
+                throw new IOException("Not a binary serialization");
+            }
+            buffer.position(buffer.position() + BinarySerializer.MAGIC.length);
+            long version = readUnsigned();
+            if (version > BinarySerializer.VERSION) {
+                throw new IOException("Unsupported binary serialization version");
+            }
+        }
+    }
+
+    /**
+     * Returns whether the buffer's remaining bytes start with the header of a binary
+     * serialization, without consuming them.
+     */
+    public static boolean hasHeader(ByteBuffer buffer) {
+        if (buffer.remaining() < BinarySerializer.MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < BinarySerializer.MAGIC.length; i++) {
+            if (buffer.get(buffer.position() + i) != BinarySerializer.MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private byte readByte() throws IOException {
+        try {
+            return buffer.get();
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Reached end of file");
+        }
+    }
+
+    private long readUnsigned() throws IOException {
+        long x = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = readByte();
+            x |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return x;
+            }
+        }
+        throw new IOException("Invalid number format");
+    }
+
+    @Override
+    public String readLine() throws IOException {
+        long length = readUnsigned();
+        if (length > buffer.remaining()) {
+            throw new IOException("Reached end of file");
+        }
+
+        String string;
+        if (buffer.hasArray()) {
+            int offset = buffer.arrayOffset() + buffer.position();
+            string = new String(buffer.array(), offset, (int) length, StandardCharsets.UTF_8);
+        } else {
+            byte[] encoded = new byte[(int) length];
+            buffer.get(buffer.position(), encoded);
+            string = new String(encoded, StandardCharsets.UTF_8);
+        }
+        buffer.position(buffer.position() + (int) length);
+        return string;
+    }
+
+    @Override
+    public String readItemId(ItemIndex index) throws IOException {
+        long tag = readUnsigned();
+        if (tag == 0) {
+            return readLine();
+        }
+        if (tag > index.size()) {
+            throw new IOException("Invalid item ordinal");
+        }
+        return index.idAt((int) tag - 1);
+    }
+
+    @Override
+    public boolean isAtEnd() {
+        return !buffer.hasRemaining();
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        long x = readLong();
+        if (x != (int) x) {
+            throw new IOException("Invalid number format");
+        }
+        return (int) x;
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        long x = readUnsigned();
+        return (x >>> 1) ^ -(x & 1);
+    }
+
+    @Override
+    public boolean readBoolean() throws IOException {
+        byte b = readByte();
+        if (b != 0 && b != 1) {
+            throw new IOException("Invalid boolean");
+        }
+        return b == 1;
+    }
+
+    /**
+     * Does nothing, as there is nothing to close.
+     */
+    @Override
+    public void close() {}
+}
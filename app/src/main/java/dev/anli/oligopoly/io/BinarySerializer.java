@@ -0,0 +1,113 @@
+package dev.anli.oligopoly.io;
+
+import dev.anli.oligopoly.board.ItemIndex;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Serializer that serializes objects to a compact binary form, read by
+ * {@link BinaryDeserializer}.
+ * <p>
+ * Integers are written as zig-zag varints, booleans as a byte, strings as their UTF-8 length and
+ * bytes, and item IDs (see {@link #acceptItemId(String, ItemIndex)}) as their ordinal in the index.
+ * Serializations start with a header of {@link #MAGIC} and the format version, unless they are
+ * meant to be appended to another one.
+ */
+public class BinarySerializer extends Serializer {
+    /**
+     * Bytes every binary serialization starts with, which can't start a text serialization.
+     */
+    static final byte[] MAGIC = {0, 'O', 'L', 'G'};
+
+    /**
+     * Version of the format, written after {@link #MAGIC}.
+     */
+    public static final int VERSION = 1;
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    /**
+     * Constructs a binary serializer, starting with the header.
+     */
+    public BinarySerializer() {
+        this(true);
+    }
+
+    /**
+     * Constructs a binary serializer.
+     * @param header whether to start with the header, which is left out of serializations that
+     *               are appended to another
+     */
+    public BinarySerializer(boolean header) {
+        if (header) {
+            bytes.writeBytes(MAGIC);
+            writeUnsigned(VERSION);
+        }
+    }
+
+    private void writeUnsigned(long x) {
+        while ((x & ~0x7FL) != 0) {
+            bytes.write((int) (x & 0x7F) | 0x80);
+            x >>>= 7;
+        }
+        bytes.write((int) x);
+    }
+
+    @Override
+    public void accept(String string) {
+        byte[] encoded = string.getBytes(StandardCharsets.UTF_8);
+        writeUnsigned(encoded.length);
+        bytes.writeBytes(encoded);
+    }
+
+    @Override
+    public void acceptAll(List<String> strings) {
+        strings.forEach(this::accept);
+    }
+
+    /**
+     * Adds an item ID to the serialization as one more than its ordinal, or as 0 and the ID if it
+     * isn't in the index.
+     */
+    @Override
+    public void acceptItemId(String itemId, ItemIndex index) {
+        int ordinal = index.ordinalOf(itemId);
+        writeUnsigned(ordinal + 1);
+        if (ordinal < 0) {
+            accept(itemId);
+        }
+    }
+
+    @Override
+    public void accept(int x) {
+        accept((long) x);
+    }
+
+    @Override
+    public void accept(long x) {
+        writeUnsigned((x << 1) ^ (x >> 63));
+    }
+
+    @Override
+    public void accept(boolean x) {
+        bytes.write(x ? 1 : 0);
+    }
+
+    /**
+     * Exports the serialization as bytes.
+     */
+    public byte[] toByteArray() {
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Binary serializations can't be exported as a string; use {@link #toByteArray()}.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public String dump() {
+        throw new UnsupportedOperationException("Binary serializations can't be dumped as text");
+    }
+}
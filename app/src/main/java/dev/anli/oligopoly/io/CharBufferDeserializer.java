@@ -0,0 +1,175 @@
+package dev.anli.oligopoly.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * Deserializer that reads a serialization (see {@link Serializer#dump()}) from a buffer of
+ * characters, without a reader.
+ * <p>
+ * Lines are found by scanning the buffer. Strings are only unescaped when they contain a
+ * backslash, and numbers and booleans are parsed in place, so reading them doesn't create any
+ * strings. Reading therefore takes time proportional to the size of the serialization.
+ */
+public class CharBufferDeserializer extends Deserializer {
+    private final CharBuffer buffer;
+
+    /**
+     * Constructs a deserializer that reads the remaining characters of the given buffer.
+     */
+    public CharBufferDeserializer(CharBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Constructs a deserializer that reads the remaining bytes of the given buffer, which may be
+     * memory-mapped, decoded with the given charset.
+     */
+    public CharBufferDeserializer(ByteBuffer bytes, Charset charset) {
+        this(charset.decode(bytes));
+    }
+
+    /**
+     * Finds the end of the current line, which is the limit of the buffer if it is the last.
+     * @throws IOException if the end of the buffer was reached
+     */
+    private int lineEnd() throws IOException {
+        int start = buffer.position();
+        int limit = buffer.limit();
+        if (start == limit) {
+            throw new IOException("Reached end of file");
+        }
+
+        for (int i = start; i < limit; i++) {
+            char c = buffer.get(i);
+            if (c == '\n' || c == '\r') {
+                return i;
+            }
+        }
+        return limit;
+    }
+
+    /**
+     * Moves past the line ending at the given index and its terminator, which may be "\r\n" like
+     * for a {@link java.io.BufferedReader}.
+     */
+    private void skipLine(int end) {
+        int next = end;
+        if (next < buffer.limit()) {
+            char terminator = buffer.get(next++);
+            if (terminator == '\r' && next < buffer.limit() && buffer.get(next) == '\n') {
+                next++;
+            }
+        }
+        buffer.position(next);
+    }
+
+    @Override
+    public String readLine() throws IOException {
+        int start = buffer.position();
+        int end = lineEnd();
+
+        int backslash = -1;
+        for (int i = start; i < end; i++) {
+            if (buffer.get(i) == '\\') {
+                backslash = i;
+                break;
+            }
+        }
+
+        String line;
+        if (backslash < 0) {
+            line = buffer.subSequence(0, end - start).toString();
+        } else {
+            StringBuilder builder = new StringBuilder(end - start);
+            builder.append(buffer, 0, backslash - start);
+            for (int i = backslash; i < end; i++) {
+                char c = buffer.get(i);
+                if (c == '\\' && i + 1 < end && buffer.get(i + 1) == 'n') {
+                    builder.append('\n');
+                    i++;
+                } else if (c == '\\' && i + 1 < end && buffer.get(i + 1) == 's') {
+                    builder.append('\\');
+                    i++;
+                } else {
+                    builder.append(c);
+                }
+            }
+            line = builder.toString();
+        }
+
+        skipLine(end);
+        return line;
+    }
+
+    @Override
+    public boolean isAtEnd() {
+        return !buffer.hasRemaining();
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        long x = readLong();
+        if (x != (int) x) {
+            throw new IOException("Invalid number format");
+        }
+        return (int) x;
+    }
+
+    /**
+     * Reads and deserializes a long integer, accepting what {@link Long#parseLong(String)} does.
+     * @throws IOException if there was an error or the integer could not be decoded
+     */
+    @Override
+    public long readLong() throws IOException {
+        int start = buffer.position();
+        int end = lineEnd();
+
+        int i = start;
+        boolean isNegative = false;
+        if (i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+            isNegative = buffer.get(i) == '-';
+            i++;
+        }
+        if (i == end) {
+            throw new IOException("Invalid number format");
+        }
+
+        // Accumulate negatively, since Long.MIN_VALUE has no positive counterpart.
+        long x = 0;
+        for (; i < end; i++) {
+            int digit = Character.digit(buffer.get(i), 10);
+            if (digit < 0 || x < (Long.MIN_VALUE + digit) / 10) {
+                throw new IOException("Invalid number format");
+            }
+            x = x * 10 - digit;
+        }
+        if (!isNegative && x == Long.MIN_VALUE) {
+            throw new IOException("Invalid number format");
+        }
+
+        skipLine(end);
+        return isNegative ? x : -x;
+    }
+
+    @Override
+    public boolean readBoolean() throws IOException {
+        int start = buffer.position();
+        int end = lineEnd();
+        boolean x = end - start == 4 &&
+            buffer.get(start) == 't' &&
+            buffer.get(start + 1) == 'r' &&
+            buffer.get(start + 2) == 'u' &&
+            buffer.get(start + 3) == 'e';
+        skipLine(end);
+        return x;
+    }
+
+    /**
+     * Does nothing, as there is nothing to close.
+     */
+    @Override
+    public void close() {}
+}
@@ -1,5 +1,7 @@
 package dev.anli.oligopoly.io;
 
+import dev.anli.oligopoly.board.ItemIndex;
+
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
@@ -21,6 +23,14 @@ public class Deserializer {
         this.reader = new BufferedReader(reader);
     }
 
+    /**
+     * Constructs a deserializer for a subclass that reads another format, overriding every
+     * method that reads.
+     */
+    protected Deserializer() {
+        this.reader = null;
+    }
+
     /**
      * Reads a line from the reader.
      * @throws IOException if the reader threw one or if the end of the file was reached
@@ -33,6 +43,16 @@ public class Deserializer {
         return line.replace("\\n", "\n").replace("\\s", "\\");
     }
 
+    /**
+     * Returns whether the reader has no more data to read.
+     */
+    public boolean isAtEnd() throws IOException {
+        reader.mark(1);
+        int next = reader.read();
+        reader.reset();
+        return next == -1;
+    }
+
     /**
      * Reads and deserializes an integer.
      * @throws IOException if there was an error or the integer could not be decoded
@@ -64,6 +84,15 @@ public class Deserializer {
         return readLine().equals("true");
     }
 
+    /**
+     * Reads an item ID written by {@link Serializer#acceptItemId(String, ItemIndex)}.
+     * @param index index the ID was written with
+     * @throws IOException if there was an error or the ID could not be decoded
+     */
+    public String readItemId(ItemIndex index) throws IOException {
+        return readLine();
+    }
+
     /**
      * A function that deserializes an object.
      */
@@ -1,5 +1,15 @@
 package dev.anli.oligopoly.io;
 
+import dev.anli.oligopoly.board.ItemIndex;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -7,22 +17,140 @@ import java.util.stream.Collectors;
 
 /**
  * Serializer that serializes objects to a string.
+ * <p>
+ * A serializer either keeps the serialization to be exported with {@link #dump()}, or streams it
+ * to a writer as it goes, escaping each string into a fixed-size buffer, so that serializing
+ * takes memory for the buffer however large the serialization is. Either way, the output is the
+ * same.
  */
-public class Serializer {
-    private final List<String> strings = new ArrayList<>();
+public class Serializer implements Flushable {
+    /**
+     * Default size in characters of the buffer of streaming serializers.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final List<String> strings;
+    private final Writer writer;
+    private final char[] buffer;
+    private int position = 0;
+    private boolean isEmpty = true;
+    private IOException failure = null;
+
+    /**
+     * Constructs a serializer that keeps the serialization for {@link #dump()}.
+     */
+    public Serializer() {
+        this.strings = new ArrayList<>();
+        this.writer = null;
+        this.buffer = null;
+    }
+
+    /**
+     * Constructs a serializer that streams the serialization to a writer.
+     */
+    public Serializer(Writer writer) {
+        this(writer, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructs a serializer that streams the serialization to a writer.
+     * @param bufferSize size in characters of the buffer strings are escaped into
+     */
+    public Serializer(Writer writer, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive");
+        }
+
+        this.strings = null;
+        this.writer = writer;
+        this.buffer = new char[bufferSize];
+    }
+
+    /**
+     * Constructs a serializer that streams the serialization to an output stream, encoded with
+     * the given charset.
+     */
+    public Serializer(OutputStream output, Charset charset) {
+        this(new OutputStreamWriter(output, charset));
+    }
+
+    /**
+     * Constructs a serializer that streams the serialization to a channel, encoded with the given
+     * charset.
+     */
+    public Serializer(WritableByteChannel channel, Charset charset) {
+        this(Channels.newWriter(channel, charset.newEncoder(), DEFAULT_BUFFER_SIZE));
+    }
 
     /**
      * Adds a string to the serialization.
      */
     public void accept(String string) {
-        strings.add(string);
+        if (strings != null) {
+            strings.add(string);
+            return;
+        }
+
+        if (!isEmpty) {
+            put('\n');
+        }
+        isEmpty = false;
+        for (int i = 0; i < string.length(); i++) {
+            // Same escapes as dump().
+            char c = string.charAt(i);
+            if (c == '\\') {
+                put('\\');
+                put('s');
+            } else if (c == '\n') {
+                put('\\');
+                put('n');
+            } else {
+                put(c);
+            }
+        }
+    }
+
+    private void put(char c) {
+        if (position == buffer.length) {
+            drain();
+        }
+        buffer[position++] = c;
+    }
+
+    /**
+     * Writes the buffer to the writer, keeping any failure for {@link #flush()}.
+     */
+    private void drain() {
+        if (failure == null) {
+            try {
+                writer.write(buffer, 0, position);
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        position = 0;
     }
 
     /**
      * Adds each of the strings in the list to the serialization, without saving the list's size.
      */
     public void acceptAll(List<String> strings) {
-        this.strings.addAll(strings);
+        if (this.strings != null) {
+            this.strings.addAll(strings);
+        } else {
+            strings.forEach(this::accept);
+        }
+    }
+
+    /**
+     * Adds an item ID to the serialization. Formats may write it as its ordinal in the given
+     * index, so it has to be read back (see {@link Deserializer#readItemId(ItemIndex)}) with the
+     * same index.
+     * @param itemId item ID, which doesn't have to be in the index
+     * @param index index of the items the ID belongs to
+     */
+    public void acceptItemId(String itemId, ItemIndex index) {
+        accept(itemId);
     }
 
     /**
@@ -73,10 +201,42 @@ public class Serializer {
         });
     }
 
+    /**
+     * Writes what has been streamed so far to the writer, without flushing the writer itself.
+     * Does nothing if the serializer isn't streaming.
+     * @throws IOException if writing failed, now or earlier
+     */
+    public void finish() throws IOException {
+        if (writer != null) {
+            drain();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Writes what has been streamed so far to the writer and flushes it. Does nothing if the
+     * serializer isn't streaming.
+     * @throws IOException if writing failed, now or earlier
+     */
+    @Override
+    public void flush() throws IOException {
+        finish();
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
     /**
      * Exports the serialization as a string.
+     * @throws IllegalStateException if the serializer is streaming
      */
     public String dump() {
+        if (strings == null) {
+            throw new IllegalStateException("Streamed serializations can't be dumped");
+        }
+
         return strings.stream()
             .map(str -> str.replace("\\", "\\s"))
             .map(str -> str.replace("\n", "\\n"))
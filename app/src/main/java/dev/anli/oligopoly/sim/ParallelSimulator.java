@@ -0,0 +1,111 @@
+package dev.anli.oligopoly.sim;
+
+import dev.anli.oligopoly.board.Board;
+import dev.anli.oligopoly.bot.PlayerPolicy;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+
+/**
+ * Plays independent games in parallel on a {@link ForkJoinPool}.
+ * <p>
+ * Each game is created, played and recorded by a single worker thread, and each leaf task
+ * accumulates into its own {@link SimulationStats}, which are merged as the tasks are joined.
+ * Each leaf task also creates its own policies. The only state shared between workers is the
+ * {@link Board}, which is immutable.
+ */
+public class ParallelSimulator {
+    /**
+     * Number of games a single task plays before it stops splitting.
+     */
+    private static final int GAMES_PER_TASK = 64;
+
+    private final Board board;
+    private final Function<SplittableRandom, List<PlayerPolicy>> seats;
+    private final int maxTurns;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a parallel simulator with policies created by the given factory.
+     * @param board board to play on
+     * @param seats creates the policy for each player, indexed by player number; called once per
+     *              task with the task's random number generator
+     * @param maxTurns number of turns after which a game is abandoned
+     * @param pool pool to run the games on
+     */
+    public ParallelSimulator(
+        @Nonnull Board board,
+        @Nonnull Function<SplittableRandom, List<PlayerPolicy>> seats,
+        int maxTurns,
+        @Nonnull ForkJoinPool pool
+    ) {
+        this.board = board;
+        this.seats = seats;
+        this.maxTurns = maxTurns;
+        this.pool = pool;
+    }
+
+    /**
+     * Constructs a parallel simulator where every player picks random allowed actions.
+     * @param board board to play on
+     * @param numPlayers number of players in each game
+     * @param maxTurns number of turns after which a game is abandoned
+     * @param pool pool to run the games on
+     */
+    public ParallelSimulator(
+        @Nonnull Board board,
+        int numPlayers,
+        int maxTurns,
+        @Nonnull ForkJoinPool pool
+    ) {
+        this(board, random -> Simulator.randomPolicies(numPlayers, random), maxTurns, pool);
+    }
+
+    /**
+     * Plays the given number of games and returns their merged statistics.
+     * @param games number of games to play
+     * @param random random number generator that is split between the workers
+     */
+    @Nonnull
+    public SimulationStats run(int games, @Nonnull SplittableRandom random) {
+        long start = System.nanoTime();
+        SimulationStats stats = pool.invoke(new SimulationTask(games, random));
+        stats.addElapsedNanos(System.nanoTime() - start);
+        return stats;
+    }
+
+    private class SimulationTask extends RecursiveTask<SimulationStats> {
+        private static final long serialVersionUID = 1L;
+
+        private final int games;
+        private final SplittableRandom random;
+
+        private SimulationTask(int games, SplittableRandom random) {
+            this.games = games;
+            this.random = random;
+        }
+
+        @Override
+        protected SimulationStats compute() {
+            if (games <= GAMES_PER_TASK) {
+                List<PlayerPolicy> policies = seats.apply(random);
+                SimulationStats stats = new SimulationStats(policies.size());
+                new Simulator(board, policies, maxTurns, random).playInto(games, stats);
+                return stats;
+            }
+
+            int half = games / 2;
+            SimulationTask left = new SimulationTask(half, random.split());
+            SimulationTask right = new SimulationTask(games - half, random);
+            left.fork();
+
+            SimulationStats stats = right.compute();
+            stats.merge(left.join());
+            return stats;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package dev.anli.oligopoly.sim;
+
+import dev.anli.oligopoly.state.Game;
+import dev.anli.oligopoly.state.TurnPhase;
+
+import javax.annotation.Nonnull;
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * Statistics accumulated over a batch of simulated games.
+ * <p>
+ * Instances are not thread-safe. Parallel simulations give each worker its own instance and
+ * {@link #merge(SimulationStats) merge} them once the workers are done.
+ */
+public class SimulationStats {
+    private long games = 0;
+    private long finishedGames = 0;
+    private long totalTurns = 0;
+    private int minTurns = Integer.MAX_VALUE;
+    private int maxTurns = 0;
+    private long[] wins;
+    private long elapsedNanos = 0;
+
+    /**
+     * Constructs empty statistics for games with the given number of players.
+     * @param numPlayers number of players in each game
+     */
+    public SimulationStats(int numPlayers) {
+        wins = new long[numPlayers];
+    }
+
+    /**
+     * Records the outcome of a game that has stopped being simulated.
+     * @param game the game, either won or abandoned
+     */
+    public void record(@Nonnull Game game) {
+        games++;
+        if (game.getTurnPhase() == TurnPhase.WINNER) {
+            finishedGames++;
+
+            int winner = game.getCurrentPlayerNumber();
+            if (winner >= wins.length) {
+                wins = Arrays.copyOf(wins, winner + 1);
+            }
+            wins[winner]++;
+        }
+
+        int turns = game.getTurns();
+        totalTurns += turns;
+        minTurns = Math.min(minTurns, turns);
+        maxTurns = Math.max(maxTurns, turns);
+    }
+
+    /**
+     * Adds the games recorded in other statistics to these statistics. Elapsed time is not
+     * merged, since workers run concurrently.
+     */
+    public void merge(@Nonnull SimulationStats other) {
+        games += other.games;
+        finishedGames += other.finishedGames;
+        totalTurns += other.totalTurns;
+        minTurns = Math.min(minTurns, other.minTurns);
+        maxTurns = Math.max(maxTurns, other.maxTurns);
+
+        if (other.wins.length > wins.length) {
+            wins = Arrays.copyOf(wins, other.wins.length);
+        }
+        for (int i = 0; i < other.wins.length; i++) {
+            wins[i] += other.wins[i];
+        }
+    }
+
+    /**
+     * Adds wall-clock time spent simulating.
+     */
+    public void addElapsedNanos(long nanos) {
+        elapsedNanos += nanos;
+    }
+
+    /**
+     * Gets the number of games simulated.
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Gets the number of games that ended with a winner.
+     */
+    public long getFinishedGames() {
+        return finishedGames;
+    }
+
+    /**
+     * Gets the total number of turns over all games.
+     */
+    public long getTotalTurns() {
+        return totalTurns;
+    }
+
+    /**
+     * Gets the number of wins for the given player number.
+     */
+    public long getWins(int playerNumber) {
+        return playerNumber < wins.length ? wins[playerNumber] : 0;
+    }
+
+    /**
+     * Gets the wall-clock time spent simulating, in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Gets the number of games simulated per second of wall-clock time.
+     */
+    public double getGamesPerSecond() {
+        if (elapsedNanos == 0) {
+            return 0;
+        }
+
+        return games / (elapsedNanos / 1e9);
+    }
+
+    /**
+     * Prints a human-readable summary of the statistics.
+     */
+    public void report(@Nonnull PrintStream out) {
+        out.printf("Games: %d (%d finished, %d abandoned)\n",
+            games, finishedGames, games - finishedGames);
+        out.printf("Throughput: %.1f games/s over %.2f s\n",
+            getGamesPerSecond(), elapsedNanos / 1e9);
+
+        if (games > 0) {
+            out.printf("Turns: avg %.1f, min %d, max %d\n",
+                totalTurns / (double) games, minTurns, maxTurns);
+        }
+
+        for (int i = 0; i < wins.length; i++) {
+            double share = finishedGames == 0 ? 0 : 100.0 * wins[i] / finishedGames;
+            out.printf("Player %d wins: %d (%.1f%%)\n", i + 1, wins[i], share);
+        }
+    }
+}
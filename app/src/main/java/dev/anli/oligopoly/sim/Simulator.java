@@ -0,0 +1,137 @@
+package dev.anli.oligopoly.sim;
+
+import dev.anli.oligopoly.board.Board;
+import dev.anli.oligopoly.bot.PlayerPolicy;
+import dev.anli.oligopoly.bot.RandomPolicy;
+import dev.anli.oligopoly.state.Game;
+import dev.anli.oligopoly.state.TurnPhase;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Plays games headlessly with a {@link PlayerPolicy} in each seat, without any Swing components.
+ * <p>
+ * A simulator and the games it creates are confined to the thread that calls it. Use
+ * {@link ParallelSimulator} to spread games over several threads.
+ */
+public class Simulator {
+    /**
+     * Default number of turns after which a game is abandoned.
+     */
+    public static final int DEFAULT_MAX_TURNS = 1000;
+
+    /**
+     * Number of decisions allowed per turn before a game is considered stuck.
+     */
+    private static final int MAX_DECISIONS_PER_TURN = 100;
+
+    private final Board board;
+    private final List<PlayerPolicy> policies;
+    private final int numPlayers;
+    private final int maxTurns;
+    private final SplittableRandom random;
+
+    /**
+     * Constructs a simulator with the given policies, one per seat.
+     * @param board board to play on
+     * @param policies policy for each player, indexed by player number
+     * @param maxTurns number of turns after which a game is abandoned
+     * @param random random number generator used to seed games
+     */
+    public Simulator(
+        @Nonnull Board board,
+        @Nonnull List<PlayerPolicy> policies,
+        int maxTurns,
+        @Nonnull SplittableRandom random
+    ) {
+        this.board = board;
+        this.policies = List.copyOf(policies);
+        this.numPlayers = policies.size();
+        this.maxTurns = maxTurns;
+        this.random = random;
+    }
+
+    /**
+     * Constructs a simulator where every player picks random allowed actions.
+     * @param board board to play on
+     * @param numPlayers number of players in each game
+     * @param maxTurns number of turns after which a game is abandoned
+     * @param random random number generator used to seed games and pick actions
+     */
+    public Simulator(
+        @Nonnull Board board,
+        int numPlayers,
+        int maxTurns,
+        @Nonnull SplittableRandom random
+    ) {
+        this(board, randomPolicies(numPlayers, random), maxTurns, random);
+    }
+
+    /**
+     * Creates a list of random policies drawing from the given generator.
+     */
+    @Nonnull
+    public static List<PlayerPolicy> randomPolicies(
+        int numPlayers,
+        @Nonnull SplittableRandom random
+    ) {
+        List<PlayerPolicy> policies = new ArrayList<>();
+        for (int i = 0; i < numPlayers; i++) {
+            policies.add(new RandomPolicy(random));
+        }
+        return policies;
+    }
+
+    /**
+     * Plays the given number of games and returns their statistics.
+     */
+    @Nonnull
+    public SimulationStats run(int games) {
+        SimulationStats stats = new SimulationStats(numPlayers);
+        long start = System.nanoTime();
+        playInto(games, stats);
+        stats.addElapsedNanos(System.nanoTime() - start);
+        return stats;
+    }
+
+    /**
+     * Plays the given number of games, recording them into the given statistics.
+     */
+    void playInto(int games, @Nonnull SimulationStats stats) {
+        for (int i = 0; i < games; i++) {
+            Game game = new Game(board, numPlayers, board.startItems(), random.nextLong());
+            play(game);
+            stats.record(game);
+        }
+    }
+
+    /**
+     * Plays the given game until somebody wins, the turn limit is reached or no action is
+     * allowed.
+     * @return whether the game ended with a winner
+     */
+    public boolean play(@Nonnull Game game) {
+        int decisions = 0;
+        int turn = game.getTurns();
+        while (game.getTurnPhase() != TurnPhase.WINNER) {
+            if (game.getTurns() != turn) {
+                turn = game.getTurns();
+                decisions = 0;
+            }
+
+            if (turn > maxTurns || decisions++ > MAX_DECISIONS_PER_TURN) {
+                return false;
+            }
+
+            PlayerPolicy policy = policies.get(game.getCurrentPlayerNumber());
+            if (!policy.step(game)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
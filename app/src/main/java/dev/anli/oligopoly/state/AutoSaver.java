@@ -0,0 +1,174 @@
+package dev.anli.oligopoly.state;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Saves games to a {@link SaveFile} on a background thread, so that saving doesn't hold up the
+ * thread playing the game.
+ * <p>
+ * {@link #save(Game)} only serializes the game (see {@link SaveFile#prepare(Game)}); the writer
+ * thread writes it. Saves requested while the thread is still writing are coalesced into one
+ * write, which skips any deltas a later full save replaces. {@link #flush()} waits until every
+ * save requested so far is on the disk.
+ */
+public final class AutoSaver implements Flushable, Closeable {
+    /**
+     * Outcome of one write of the save file.
+     * @param turn number of the last turn written
+     * @param isFull whether a full save was written
+     * @param saves number of saves written at once
+     * @param latencyNanos time between the last save being requested and being on the disk
+     * @param failure why writing failed, or null if it succeeded
+     */
+    public record Report(
+        int turn, boolean isFull, int saves, long latencyNanos, @Nullable IOException failure
+    ) {}
+
+    private final SaveFile saveFile;
+    private final Consumer<Report> listener;
+    private final Thread thread;
+
+    // Guarded by this object.
+    private final List<SaveFile.Entry> pending = new ArrayList<>();
+    private long requested = 0;
+    private long written = 0;
+    private IOException failure = null;
+    private boolean isClosed = false;
+
+    /**
+     * Constructs an auto saver and starts its writer thread.
+     * @param saveFile file to save to
+     * @param listener called on the writer thread after each write, before {@link #flush()} returns
+     */
+    public AutoSaver(@Nonnull SaveFile saveFile, @Nonnull Consumer<Report> listener) {
+        this.saveFile = saveFile;
+        this.listener = listener;
+        this.thread = new Thread(this::run, "Autosave");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Gets the file saved to.
+     */
+    @Nonnull
+    public SaveFile getSaveFile() {
+        return saveFile;
+    }
+
+    /**
+     * Serializes a game at the start of a turn and queues it to be written.
+     * @param game game to save, which must only be changed on the calling thread
+     * @throws IllegalStateException if the auto saver is closed
+     */
+    public synchronized void save(@Nonnull Game game) {
+        if (isClosed) {
+            throw new IllegalStateException("Auto saver is closed");
+        }
+
+        pending.add(saveFile.prepare(game));
+        requested++;
+        notifyAll();
+    }
+
+    private void run() {
+        try {
+            writeUntilClosed();
+        } finally {
+            // Wake up anyone flushing, even if the thread died.
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+    }
+
+    private void writeUntilClosed() {
+        while (true) {
+            List<SaveFile.Entry> entries;
+            long count;
+            synchronized (this) {
+                while (pending.isEmpty() && !isClosed) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (pending.isEmpty()) {
+                    return;
+                }
+                entries = new ArrayList<>(pending);
+                pending.clear();
+                count = requested;
+            }
+
+            IOException error = null;
+            try {
+                saveFile.write(entries);
+            } catch (IOException e) {
+                error = e;
+            }
+
+            SaveFile.Entry last = entries.get(entries.size() - 1);
+            boolean isFull = entries.stream().anyMatch(SaveFile.Entry::isFull);
+            long latency = System.nanoTime() - last.preparedAt();
+            // Report before waking anyone flushing, so that flushing waits for the report too.
+            int turn = last.header().turns();
+            listener.accept(new Report(turn, isFull, entries.size(), latency, error));
+            synchronized (this) {
+                written = count;
+                failure = error;
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Waits until every save requested so far has been written.
+     * @throws IOException if the last write failed
+     */
+    @Override
+    public synchronized void flush() throws IOException {
+        long target = requested;
+        boolean interrupted = false;
+        while (written < target && thread.isAlive()) {
+            try {
+                // Time out in case the thread dies between notifying and stopping.
+                wait(100);
+            } catch (InterruptedException e) {
+                // Losing the save would be worse than finishing the wait.
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (written < target) {
+            throw new IOException("Autosave thread stopped before saving");
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Writes any pending saves and stops the writer thread.
+     * @throws IOException if the last write failed
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            isClosed = true;
+            notifyAll();
+        }
+        flush();
+    }
+}
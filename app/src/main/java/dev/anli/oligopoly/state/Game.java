@@ -2,8 +2,8 @@ package dev.anli.oligopoly.state;
 
 import dev.anli.oligopoly.board.*;
 import dev.anli.oligopoly.board.card.Card;
-import dev.anli.oligopoly.board.Action;
 import dev.anli.oligopoly.board.property.Property;
+import dev.anli.oligopoly.board.Action;
 import dev.anli.oligopoly.board.tile.Tile;
 import dev.anli.oligopoly.io.Deserializer;
 import dev.anli.oligopoly.io.Serializable;
@@ -13,12 +13,32 @@ import javax.annotation.Nonnull;
 import java.io.IOException;
 import java.sql.Array;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
 
 /**
  * An Oligopoly game and its state.
+ * <p>
+ * Games are not thread-safe: a game, its players and their items must only be used by one
+ * thread at a time. Independent games can share the same {@link Board} across threads.
  */
 public class Game implements Serializable {
+    /**
+     * Name of the algorithm used for the random number generator of each game. Its generators can
+     * be copied, so that snapshots and copies of a game keep the generator's state as it is.
+     */
+    public static final String RANDOM_ALGORITHM = "Xoshiro256PlusPlus";
+
+    private static final RandomGeneratorFactory<RandomGenerator.LeapableGenerator> RANDOM_FACTORY =
+        RandomGeneratorFactory.of(RANDOM_ALGORITHM);
+
+    private static final int CURRENT_ACTIONS = -1;
+    private static final int TRANSITION_TO_PREMOVE = -2;
+
     private final Board board;
     private final List<Player> players;
     private int currentPlayerNumber;
@@ -27,58 +47,143 @@ public class Game implements Serializable {
     private List<Action> currentActions = Collections.emptyList();
     private int turns;
     private TurnPhase turnPhase = TurnPhase.START;
-    private final Map<String, PropertyState> propertyStates;
+    /**
+     * State of each property on the board, by property number.
+     */
+    private final PropertyState[] propertyStates;
     private Consumer<Game> gameSaver = null;
+    /**
+     * Listeners told about every event, in the order they were added. Copied on write, so that
+     * listeners added or removed during an event don't change who is told about it.
+     */
+    private final List<Consumer<GameEvent>> eventListeners = new CopyOnWriteArrayList<>();
+    /**
+     * Number of decisions made in the game (see {@link GameEvent#isDecision()}.)
+     */
+    private long decisionsMade = 0;
+    private long seed;
+    private RandomGenerator.LeapableGenerator random;
+    private long randomDraws = 0;
+    private final Ownership ownership;
+    private GameSnapshot lastSnapshot = null;
+    /**
+     * Whether the start of each turn and the decisions made since are recorded for copy().
+     */
+    private boolean recordingTurns = false;
+    /**
+     * Snapshot taken at the start of the current turn, or null if the turn can't be replayed.
+     */
+    private GameSnapshot turnStart = null;
+    /**
+     * Decisions made since the start of the current turn, as pairs of a source and an index.
+     * The source is {@link #CURRENT_ACTIONS}, {@link #TRANSITION_TO_PREMOVE} or the ordinal of
+     * the item whose actions the index refers to.
+     */
+    private int[] decisions = new int[16];
+    private int decisionCount = 0;
+    /**
+     * Counter bumped whenever a dice roll or a replaced property state may change rents.
+     */
+    private int rentVersion = 0;
+    /**
+     * Cached rent of each property by property number, along with the ownership and rent versions
+     * (combined into one stamp) and the version of the property state's items it was computed at.
+     */
+    private final Items[] rents;
+    private final long[] rentStamps;
+    private final int[] rentStateVersions;
+    private final Map<Object, Object> flyweights = new IdentityHashMap<>();
+    private final Action moveAction = Action.make("Move", this::rollDiceAndMove);
+    private final Action endTurnAction = Action.make("End Turn", this::endTurn);
+    private final List<Action> moveActions = List.of(moveAction);
+    private final List<Action> endTurnActions = List.of(endTurnAction);
 
     private Game(
         @Nonnull Board board,
         @Nonnull List<Player> players,
         int currentPlayerNumber,
         int turns,
-        Map<String, PropertyState> propertyStates,
-        boolean isComplete
+        PropertyState[] propertyStates,
+        boolean isComplete,
+        long seed,
+        @Nonnull RandomGenerator.LeapableGenerator random,
+        long randomDraws
     ) {
         this.board = board;
         this.players = players;
+        this.ownership = new Ownership(board, players);
         this.currentPlayerNumber = currentPlayerNumber;
         this.turns = turns;
         this.propertyStates = propertyStates;
+        this.rents = new Items[propertyStates.length];
+        this.rentStamps = new long[propertyStates.length];
+        Arrays.fill(rentStamps, -1);
+        this.rentStateVersions = new int[propertyStates.length];
+        this.seed = seed;
+        this.random = random;
+        this.randomDraws = randomDraws;
 
         if (isComplete) {
             turnPhase = TurnPhase.WINNER;
-        } else {
-            startTurn();
         }
     }
 
-    private static List<Player> createPlayers(int numPlayers, Items startingItems) {
+    private static List<Player> createPlayers(Board board, int numPlayers, Items startingItems) {
         if (numPlayers <= 0) {
             throw new IllegalArgumentException("numPlayers must be positive");
         }
 
         List<Player> players = new ArrayList<>();
         for (int i = 0; i < numPlayers; i++) {
-            players.add(new Player(i, new Items(startingItems)));
+            players.add(new Player(i, new Items(startingItems, board.itemIndex())));
         }
         return players;
     }
 
+    private static PropertyState[] createPropertyStates(Board board) {
+        PropertyState[] states = new PropertyState[board.getPropertyIds().size()];
+        for (int i = 0; i < states.length; i++) {
+            states[i] = new PropertyState(false, board.newItems());
+        }
+        return states;
+    }
+
     /**
-     * Constructs a Game from the given board with the given number of players and starting items.
+     * Constructs a Game from the given board with the given number of players and starting items,
+     * seeding its dice and card draws with the given seed.
+     * <p>
+     * Two games constructed with the same arguments play out identically given the same actions.
+     *
      * @param board board to play
      * @param numPlayers number of players
      * @param startingItems items players should start with
+     * @param seed seed for the game's random number generator
      * @throws IllegalArgumentException if numPlayers <= 0
      */
-    public Game(@Nonnull Board board, int numPlayers, @Nonnull Items startingItems) {
+    public Game(@Nonnull Board board, int numPlayers, @Nonnull Items startingItems, long seed) {
         this(
             board,
-            createPlayers(numPlayers, startingItems),
+            createPlayers(board, numPlayers, startingItems),
             0,
             0,
-            new HashMap<>(),
-            false
+            createPropertyStates(board),
+            false,
+            seed,
+            RANDOM_FACTORY.create(seed),
+            0
         );
+        startTurn();
+    }
+
+    /**
+     * Constructs a Game from the given board with the given number of players and starting items.
+     * @param board board to play
+     * @param numPlayers number of players
+     * @param startingItems items players should start with
+     * @throws IllegalArgumentException if numPlayers <= 0
+     */
+    public Game(@Nonnull Board board, int numPlayers, @Nonnull Items startingItems) {
+        this(board, numPlayers, startingItems, ThreadLocalRandom.current().nextLong());
     }
 
     /**
@@ -141,16 +246,96 @@ public class Game implements Serializable {
         return diceRolls;
     }
 
+    /**
+     * Gets the seed of the game's random number generator.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the number of values drawn from the game's random number generator so far.
+     */
+    public long getRandomDraws() {
+        return randomDraws;
+    }
+
+    /**
+     * Creates a random number generator in the state it has after the given number of draws from
+     * the given seed. This takes time proportional to the number of draws, so it is only used to
+     * load games, which store the seed and the number of draws.
+     */
+    private static RandomGenerator.LeapableGenerator createRandom(long seed, long draws) {
+        RandomGenerator.LeapableGenerator random = RANDOM_FACTORY.create(seed);
+        for (long i = 0; i < draws; i++) {
+            random.nextLong();
+        }
+        return random;
+    }
+
+    /**
+     * Moves the random number generator to the state it had after the given number of draws,
+     * restarting it from the seed if it has to go back.
+     */
+    private void seekRandom(long draws) {
+        if (draws < randomDraws) {
+            random = RANDOM_FACTORY.create(seed);
+            randomDraws = 0;
+        }
+
+        while (randomDraws < draws) {
+            nextRandomLong();
+        }
+    }
+
+    /**
+     * Restarts the game's random number generator with the given seed, so that the dice and
+     * cards from here on differ from the ones the game would otherwise have drawn. Searches use
+     * this to sample different outcomes from copies of a game.
+     * @param seed new seed for the game's random number generator
+     */
+    public void reseed(long seed) {
+        this.seed = seed;
+        random = RANDOM_FACTORY.create(seed);
+        randomDraws = 0;
+        turnStart = null;
+    }
+
+    private long nextRandomLong() {
+        randomDraws++;
+        return random.nextLong();
+    }
+
+    /**
+     * Draws a random integer from the game's random number generator.
+     * <p>
+     * Each call consumes exactly one value from the generator, so a restored game can
+     * fast-forward the generator by counting draws.
+     *
+     * @param bound upper bound (exclusive); must be positive
+     * @return random integer between 0 (inclusive) and bound (exclusive)
+     */
+    public int nextRandomInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+
+        // Scale the top 32 bits into the range; the bias is negligible for the bounds used here.
+        return (int) (((nextRandomLong() >>> 32) * bound) >>> 32);
+    }
+
     /**
      * Rolls the dice.
      * @return result of the dice roll
      */
     @Nonnull
     public List<Integer> rollDice() {
-        List<Integer> result = List.of(
-            (int) (Math.random() * 6 + 1), (int) (Math.random() * 6 + 1)
-        );
+        List<Integer> result = List.of(nextRandomInt(6) + 1, nextRandomInt(6) + 1);
         diceRolls.add(result);
+        rentVersion++;
+        if (!eventListeners.isEmpty()) {
+            emit(new GameEvent.DiceRolled(result.get(0), result.get(1)));
+        }
         return result;
     }
 
@@ -159,6 +344,7 @@ public class Game implements Serializable {
      */
     public void clearDiceRolls() {
         diceRolls.clear();
+        rentVersion++;
     }
 
     /**
@@ -182,6 +368,13 @@ public class Game implements Serializable {
         turnPhase = TurnPhase.START;
         turns++;
         getCurrentPlayer().startTurn();
+        if (recordingTurns) {
+            turnStart = snapshot();
+            decisionCount = 0;
+        }
+        if (!eventListeners.isEmpty()) {
+            emit(new GameEvent.TurnStarted(turns, currentPlayerNumber));
+        }
         if (gameSaver != null) {
             gameSaver.accept(this);
         }
@@ -191,6 +384,11 @@ public class Game implements Serializable {
      * Transitions the turn to the pre-move phase.
      */
     public void transitionToPremove() {
+        decisionsMade++;
+        recordDecision(TRANSITION_TO_PREMOVE, 0);
+        if (!eventListeners.isEmpty()) {
+            emit(new GameEvent.PremoveStarted());
+        }
         Player player = getCurrentPlayer();
         Tile tile = board.tiles().get(player.getLocation());
 
@@ -202,6 +400,10 @@ public class Game implements Serializable {
      * Debits an action's cost and performs it.
      */
     public void debitAndPerform(@Nonnull Action action) {
+        decisionsMade++;
+        if (turnStart != null || !eventListeners.isEmpty()) {
+            recordAction(action);
+        }
         getCurrentPlayer().getItems().subtract(action.getCost());
         action.perform();
     }
@@ -216,6 +418,9 @@ public class Game implements Serializable {
         int start = getCurrentPlayer().getLocation();
         int end = (start + tiles) % board.tiles().size();
         getCurrentPlayer().setLocation(end);
+        if (!eventListeners.isEmpty()) {
+            emit(new GameEvent.PlayerMoved(currentPlayerNumber, start, end));
+        }
 
         for (int i = 1; i < tiles - 1; i++) {
             int location = (start + i) % board.tiles().size();
@@ -235,7 +440,7 @@ public class Game implements Serializable {
         List<Integer> roll = rollDice();
         if (isDouble(roll) && getDiceRolls().size() >= 3) {
             // Go to jail. Go directly to jail. Do not pass go. Do not collect $200.
-            if (getCurrentPlayer().sendToJail(getBoard())) {
+            if (sendToJail()) {
                 turnPhase = TurnPhase.POSTMOVE;
                 Tile tile = board.tiles().get(getCurrentPlayer().getLocation());
                 tile.onLand(this);
@@ -249,12 +454,38 @@ public class Game implements Serializable {
         move(getDiceSum(roll));
     }
 
+    /**
+     * Sends the current player to jail, if possible. Fails if there is no jail tile.
+     * @return whether the player was sent to jail
+     */
+    public boolean sendToJail() {
+        int start = getCurrentPlayer().getLocation();
+        if (!getCurrentPlayer().sendToJail(board)) {
+            return false;
+        }
+
+        if (!eventListeners.isEmpty()) {
+            emit(new GameEvent.PlayerMoved(
+                currentPlayerNumber, start, getCurrentPlayer().getLocation()
+            ));
+        }
+        return true;
+    }
+
     /**
      * Returns an action allowing the player to move.
      */
     @Nonnull
     public Action moveAction() {
-        return Action.make("Move", this::rollDiceAndMove);
+        return moveAction;
+    }
+
+    /**
+     * Returns an unmodifiable list containing just {@link #moveAction()}.
+     */
+    @Nonnull
+    public List<Action> getMoveActions() {
+        return moveActions;
     }
 
     /**
@@ -297,7 +528,9 @@ public class Game implements Serializable {
      */
     public void declareWinner() {
         turnPhase = TurnPhase.WINNER;
-        gameSaver.accept(this);
+        if (gameSaver != null) {
+            gameSaver.accept(this);
+        }
     }
 
     /**
@@ -310,17 +543,312 @@ public class Game implements Serializable {
             isDouble(diceRolls.get(diceRolls.size() - 1)) &&
             !getCurrentPlayer().isJailed()
         ) {
-            return moveAction();
+            return moveAction;
+        }
+
+        return endTurnAction;
+    }
+
+    /**
+     * Returns an unmodifiable list containing just {@link #endTurnAction()}.
+     */
+    @Nonnull
+    public List<Action> getEndTurnActions() {
+        return endTurnAction() == moveAction ? moveActions : endTurnActions;
+    }
+
+    /**
+     * Takes an immutable snapshot of the game's state, which can later be passed to
+     * {@link #restore(GameSnapshot)}.
+     * <p>
+     * Players and property states that haven't changed since the previous snapshot (or restore)
+     * share that snapshot's entries, so frequent snapshots only pay for what changed.
+     */
+    @Nonnull
+    public GameSnapshot snapshot() {
+        GameSnapshot previous = lastSnapshot;
+        GameSnapshot.PlayerSnapshot[] playerSnapshots =
+            new GameSnapshot.PlayerSnapshot[players.size()];
+        for (int i = 0; i < playerSnapshots.length; i++) {
+            playerSnapshots[i] = players.get(i).snapshot(
+                previous == null ? null : previous.players[i]
+            );
+        }
+
+        GameSnapshot.PropertySnapshot[] propertySnapshots =
+            new GameSnapshot.PropertySnapshot[propertyStates.length];
+        for (int i = 0; i < propertySnapshots.length; i++) {
+            propertySnapshots[i] = propertyStates[i].snapshot(
+                previous == null ? null : previous.properties[i]
+            );
+        }
+
+        lastSnapshot = new GameSnapshot(
+            this,
+            playerSnapshots,
+            propertySnapshots,
+            currentPlayerNumber,
+            turns,
+            turnPhase,
+            List.copyOf(diceRolls),
+            currentCard,
+            currentActions,
+            seed,
+            random.copy(),
+            randomDraws,
+            decisionsMade
+        );
+        return lastSnapshot;
+    }
+
+    /**
+     * Restores the game to the state of the given snapshot, including its random number
+     * generator, so that the game plays out the same way again given the same actions.
+     * <p>
+     * Only players and property states that changed since the snapshot are written back.
+     * <p>
+     * The game is saved last at the start of a turn or when it is won (see
+     * {@link #setGameSaver}). If restoring moves the game to another turn, or makes it won or no
+     * longer won, the game saver is called again, so that the save doesn't describe a turn that
+     * was undone. A save only holds the state at the start of a turn, though, so only a
+     * {@link GameLog} has the exact state within the restored turn.
+     *
+     * @param snapshot snapshot to restore
+     * @throws IllegalArgumentException if the snapshot was taken of a different game
+     */
+    public void restore(@Nonnull GameSnapshot snapshot) {
+        if (snapshot.game != this) {
+            throw new IllegalArgumentException("Snapshot was taken of a different game");
+        }
+        boolean isSaveStale = snapshot.turns != turns ||
+            (snapshot.turnPhase == TurnPhase.WINNER) != (turnPhase == TurnPhase.WINNER);
+
+        for (int i = 0; i < snapshot.players.length; i++) {
+            players.get(i).restore(snapshot.players[i]);
+        }
+        for (int i = 0; i < snapshot.properties.length; i++) {
+            propertyStates[i].restore(snapshot.properties[i]);
+        }
+
+        currentPlayerNumber = snapshot.currentPlayerNumber;
+        turns = snapshot.turns;
+        turnPhase = snapshot.turnPhase;
+        diceRolls.clear();
+        diceRolls.addAll(snapshot.diceRolls);
+        currentCard = snapshot.currentCard;
+        currentActions = snapshot.currentActions;
+        // The snapshot may be restored again, so draw from a copy of its generator.
+        seed = snapshot.seed;
+        random = snapshot.random.copy();
+        randomDraws = snapshot.randomDraws;
+        rentVersion++;
+        lastSnapshot = snapshot;
+        decisionsMade = snapshot.decisionsMade;
+
+        // The decisions recorded this turn no longer lead to the current state.
+        turnStart = null;
+        if (!eventListeners.isEmpty()) {
+            emit(new GameEvent.Restored(decisionsMade));
+        }
+        if (isSaveStale && gameSaver != null) {
+            gameSaver.accept(this);
+        }
+    }
+
+    /**
+     * Starts recording the start of each turn and the decisions made in it, so that the game can
+     * be copied with {@link #copy()}. Recording starts right away if the current turn hasn't
+     * started yet, and otherwise at the start of the next turn.
+     */
+    public void recordTurns() {
+        if (!recordingTurns) {
+            recordingTurns = true;
+            if (turnPhase == TurnPhase.START) {
+                turnStart = snapshot();
+                decisionCount = 0;
+            }
         }
+    }
 
-        return Action.make("End Turn", this::endTurn);
+    /**
+     * Returns whether the game can currently be copied with {@link #copy()}.
+     */
+    public boolean canCopy() {
+        return turnStart != null;
+    }
+
+    /**
+     * Creates an independent copy of the game, with its own players, property states and actions,
+     * that plays out the same way as this game given the same decisions.
+     * <p>
+     * The copy is rebuilt from the state at the start of the current turn by replaying the
+     * decisions made since through {@link #transitionToPremove()} and
+     * {@link #debitAndPerform(Action)}, so the game must be recording turns (see
+     * {@link #recordTurns()}). The copy doesn't record turns or save itself.
+     *
+     * @throws IllegalStateException if the game can't be copied right now
+     */
+    @Nonnull
+    public Game copy() {
+        if (turnStart == null) {
+            throw new IllegalStateException("Game is not recording the current turn");
+        }
+
+        Game copy = new Game(
+            board,
+            createPlayers(board, players.size(), Items.EMPTY),
+            turnStart.currentPlayerNumber,
+            turnStart.turns,
+            createPropertyStates(board),
+            false,
+            turnStart.seed,
+            turnStart.random.copy(),
+            turnStart.randomDraws
+        );
+        copy.load(turnStart);
+
+        for (int i = 0; i < decisionCount; i += 2) {
+            int source = decisions[i];
+            int index = decisions[i + 1];
+            if (source == TRANSITION_TO_PREMOVE) {
+                copy.transitionToPremove();
+            } else if (source == CURRENT_ACTIONS) {
+                copy.debitAndPerform(copy.getCurrentActions().get(index));
+            } else {
+                String itemId = board.itemIndex().idAt(source);
+                Item item = board.itemIndex().itemAt(source);
+                copy.debitAndPerform(item.getItemActions(itemId, copy).get(index));
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Loads the state at the start of a turn from a snapshot of another game on the same board.
+     */
+    private void load(GameSnapshot snapshot) {
+        for (int i = 0; i < snapshot.players.length; i++) {
+            players.get(i).restore(snapshot.players[i]);
+        }
+        for (int i = 0; i < snapshot.properties.length; i++) {
+            propertyStates[i].restore(snapshot.properties[i]);
+        }
+
+        currentPlayerNumber = snapshot.currentPlayerNumber;
+        turns = snapshot.turns;
+        turnPhase = snapshot.turnPhase;
+        diceRolls.clear();
+        diceRolls.addAll(snapshot.diceRolls);
+        currentCard = snapshot.currentCard;
+        currentActions = Collections.emptyList();
+        decisionsMade = snapshot.decisionsMade;
+        rentVersion++;
+    }
+
+    private void recordDecision(int source, int index) {
+        if (turnStart == null) {
+            return;
+        }
+
+        if (decisionCount + 2 > decisions.length) {
+            decisions = Arrays.copyOf(decisions, decisions.length * 2);
+        }
+        decisions[decisionCount++] = source;
+        decisions[decisionCount++] = index;
+    }
+
+    private void recordAction(Action action) {
+        int index = currentActions.indexOf(action);
+        if (index >= 0) {
+            recordDecision(CURRENT_ACTIONS, index);
+            if (!eventListeners.isEmpty()) {
+                emit(new GameEvent.ActionPerformed(
+                    null, index, action.getName(), action.getCost()
+                ));
+            }
+            return;
+        }
+
+        // Otherwise it should be an action of one of the current player's items.
+        Items items = getCurrentPlayer().getItems();
+        ItemIndex itemIndex = board.itemIndex();
+        for (int ordinal = 0; ordinal < itemIndex.size(); ordinal++) {
+            if (items.getAt(ordinal) != 0) {
+                List<Action> actions =
+                    itemIndex.itemAt(ordinal).getItemActions(itemIndex.idAt(ordinal), this);
+                int position = actions.indexOf(action);
+                if (position >= 0) {
+                    recordDecision(ordinal, position);
+                    if (!eventListeners.isEmpty()) {
+                        emit(new GameEvent.ActionPerformed(
+                            itemIndex.idAt(ordinal), position, action.getName(), action.getCost()
+                        ));
+                    }
+                    return;
+                }
+            }
+        }
+
+        // The action can't be replayed, so neither can the rest of the turn.
+        turnStart = null;
+        if (!eventListeners.isEmpty()) {
+            emit(new GameEvent.ActionPerformed(null, -1, action.getName(), action.getCost()));
+        }
+    }
+
+    /**
+     * Gets the object this game keeps under the given key, creating it on first use.
+     * <p>
+     * This lets stateless tiles, cards and items reuse the actions they offer in a game instead
+     * of creating new ones on every call. Keys are compared by identity, so they should be objects
+     * that belong to the board, such as its tiles or cards.
+     *
+     * @param key key of the object
+     * @param factory creates the object if this game doesn't have one yet
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public <T> T getFlyweight(@Nonnull Object key, @Nonnull Supplier<T> factory) {
+        Object flyweight = flyweights.get(key);
+        if (flyweight == null) {
+            flyweight = factory.get();
+            flyweights.put(key, flyweight);
+        }
+        return (T) flyweight;
+    }
+
+    /**
+     * Gets the object this game keeps for the given item ID, creating it on first use.
+     * <p>
+     * IDs that aren't in the board's item index aren't cached; a new object is created each time.
+     *
+     * @param itemId ID of the item
+     * @param factory creates the object if this game doesn't have one yet
+     * @see #getFlyweight(Object, Supplier)
+     */
+    @Nonnull
+    public <T> T getItemFlyweight(@Nonnull String itemId, @Nonnull Supplier<T> factory) {
+        int ordinal = board.itemIndex().ordinalOf(itemId);
+        if (ordinal < 0) {
+            return factory.get();
+        }
+
+        // Use the index's copy of the ID so that equal IDs share a key.
+        return getFlyweight(board.itemIndex().idAt(ordinal), factory);
     }
 
     /**
      * Finds a player who owns the given item, if one exists.
      */
     @Nonnull public Optional<Player> findPlayerForItem(@Nonnull String itemId) {
-        return players.stream().filter(player -> player.getItems().has(itemId)).findFirst();
+        int ordinal = board.itemIndex().ordinalOf(itemId);
+        if (ordinal < 0) {
+            // Items that aren't on the board aren't tracked.
+            return players.stream().filter(player -> player.getItems().has(itemId)).findFirst();
+        }
+
+        int owner = ownership.getOwner(ordinal);
+        return owner >= 0 ? Optional.of(players.get(owner)) : Optional.empty();
     }
 
     /**
@@ -336,6 +864,9 @@ public class Game implements Serializable {
     public void setCurrentCard(Card card) {
         currentCard = card;
         if (card != null) {
+            if (!eventListeners.isEmpty()) {
+                emit(new GameEvent.CardDrawn(card.getTitle()));
+            }
             setCurrentActions(card.getCardActions(this));
         }
     }
@@ -362,23 +893,31 @@ public class Game implements Serializable {
         return turns;
     }
 
+    /**
+     * Gets a counter that changes whenever a player starts or stops holding an item, such as when
+     * a property is bought or changes hands.
+     */
+    public int getOwnershipVersion() {
+        return ownership.getVersion();
+    }
+
     /**
      * Gets the property state for the given property ID.
      * @throws IllegalArgumentException if the ID is not an ID of a property
      */
     @Nonnull
     public PropertyState getPropertyState(@Nonnull String id) {
-        if (getBoard().getItem(id) instanceof Property) {
-            if (propertyStates.containsKey(id)) {
-                return propertyStates.get(id);
-            } else {
-                PropertyState state = new PropertyState();
-                propertyStates.put(id, state);
-                return state;
-            }
-        } else {
-            throw new IllegalArgumentException("ID is not a property");
-        }
+        return propertyStates[getPropertyNumber(id)];
+    }
+
+    /**
+     * Gets the property state for the property with the given number.
+     * @throws IndexOutOfBoundsException if there is no property with the number
+     * @see Board#getPropertyIds()
+     */
+    @Nonnull
+    public PropertyState getPropertyState(int propertyNumber) {
+        return propertyStates[propertyNumber];
     }
 
     /**
@@ -386,11 +925,63 @@ public class Game implements Serializable {
      * @throws IllegalArgumentException if the ID is not an ID of a property
      */
     public void setPropertyState(@Nonnull String id, @Nonnull PropertyState state) {
-        if (getBoard().getItem(id) instanceof Property) {
-            propertyStates.put(id, state);
-        } else {
+        propertyStates[getPropertyNumber(id)] = state;
+        rentVersion++;
+    }
+
+    /**
+     * Gets the rent the owner of the given property currently charges, or nothing if the property
+     * is unowned.
+     * <p>
+     * The rent is cached until ownership, the property's items or the dice rolls change, so this
+     * is cheap enough to call whenever the board is drawn.
+     *
+     * @throws IllegalArgumentException if the ID is not an ID of a property
+     */
+    @Nonnull
+    public Items getRent(@Nonnull String id) {
+        return getRent(getPropertyNumber(id));
+    }
+
+    /**
+     * Gets the rent the owner of the property with the given number currently charges.
+     * @throws IndexOutOfBoundsException if there is no property with the number
+     * @see #getRent(String)
+     */
+    @Nonnull
+    public Items getRent(int propertyNumber) {
+        PropertyState state = propertyStates[propertyNumber];
+        long stamp = ((long) ownership.getVersion() << 32) | (rentVersion & 0xFFFFFFFFL);
+        int stateVersion = state.getItems().getVersion();
+        if (rentStamps[propertyNumber] != stamp ||
+            rentStateVersions[propertyNumber] != stateVersion) {
+            rents[propertyNumber] = computeRent(propertyNumber, state);
+            rentStamps[propertyNumber] = stamp;
+            rentStateVersions[propertyNumber] = stateVersion;
+        }
+        return rents[propertyNumber];
+    }
+
+    private Items computeRent(int propertyNumber, PropertyState state) {
+        ItemIndex index = board.itemIndex();
+        int ordinal = index.ordinalOf(board.getPropertyIds().get(propertyNumber));
+        int owner = ownership.getOwner(ordinal);
+        if (owner < 0) {
+            return Items.EMPTY;
+        }
+
+        Property property = (Property) index.itemAt(ordinal);
+        return property.getRent(
+            board.getRentTable(propertyNumber), state, players.get(owner), this
+        );
+    }
+
+    private int getPropertyNumber(String id) {
+        int number = board.getPropertyNumber(id);
+        if (number < 0) {
             throw new IllegalArgumentException("ID is not a property");
         }
+        return number;
     }
 
     @Override
@@ -399,18 +990,92 @@ public class Game implements Serializable {
         serializer.accept(players);
         serializer.accept(currentPlayerNumber);
         serializer.accept(turns);
-        serializer.accept(propertyStates);
+        // Same format as a map of property IDs to states.
+        serializer.accept(propertyStates.length);
+        for (int i = 0; i < propertyStates.length; i++) {
+            serializer.acceptItemId(board.getPropertyIds().get(i), board.itemIndex());
+            serializer.accept(propertyStates[i]);
+        }
         serializer.accept(getTurnPhase() == TurnPhase.WINNER);
+        serializer.accept(seed);
+        serializer.accept(randomDraws);
     }
 
     /**
-     * Sets a callback that saves the game at the start of each turn.
+     * Sets a callback that saves the game at the start of each turn, when it is won and when a
+     * snapshot of another turn is restored (see {@link #restore(GameSnapshot)}).
      * @param saver runnable that saves the game
      */
     public void setGameSaver(Consumer<Game> saver) {
         gameSaver = saver;
     }
 
+    /**
+     * Adds a callback that is told about every state transition of the game as it happens, after
+     * the listeners added before it.
+     * @param listener listener for events
+     */
+    public void addEventListener(@Nonnull Consumer<GameEvent> listener) {
+        eventListeners.add(Objects.requireNonNull(listener));
+    }
+
+    /**
+     * Removes a listener added with {@link #addEventListener}, leaving any others in place.
+     * @param listener listener to remove
+     * @return whether the listener had been added
+     */
+    public boolean removeEventListener(@Nonnull Consumer<GameEvent> listener) {
+        return eventListeners.remove(listener);
+    }
+
+    /**
+     * Tells the event listeners about an event.
+     */
+    void emit(@Nonnull GameEvent event) {
+        // Iterates over the listeners as they were when the event started.
+        for (Consumer<GameEvent> listener : eventListeners) {
+            listener.accept(event);
+        }
+    }
+
+    /**
+     * Gets the number of decisions made in the game: each time a turn moved on to the pre-move
+     * phase or an action was performed. Restoring a snapshot restores the count too.
+     * <p>
+     * Games loaded with {@link #deserialize} count from 0 again.
+     */
+    public long getDecisions() {
+        return decisionsMade;
+    }
+
+    /**
+     * Loads the progress of the game saved by a {@link SaveFile} delta: whose turn it is at the
+     * start of which turn, whether the game is over and the random number generator's state.
+     */
+    void loadProgress(
+        int currentPlayerNumber, int turns, boolean isComplete, long seed, long randomDraws
+    ) {
+        this.currentPlayerNumber = currentPlayerNumber;
+        this.turns = turns;
+        turnPhase = isComplete ? TurnPhase.WINNER : TurnPhase.START;
+        diceRolls.clear();
+        currentCard = null;
+        currentActions = Collections.emptyList();
+        if (seed != this.seed) {
+            reseed(seed);
+        }
+        seekRandom(randomDraws);
+        rentVersion++;
+        turnStart = null;
+    }
+
+    /**
+     * Sets the number of decisions made in the game, for a game rebuilt from a log.
+     */
+    void setDecisions(long decisions) {
+        this.decisionsMade = decisions;
+    }
+
     /**
      * Deserializes a game object and checks for integrity.
      * @throws IOException if there was an error or if the game object is invalid
@@ -423,7 +1088,7 @@ public class Game implements Serializable {
             .findFirst()
             .orElseThrow(() -> new IOException("Failed to find board with name"));
 
-        List<Player> players = deserializer.readList(Player::deserialize);
+        List<Player> players = deserializer.readList(d -> Player.deserialize(d, board));
         for (int i = 0; i < players.size(); i++) {
             Player player = players.get(i);
 
@@ -447,11 +1112,43 @@ public class Game implements Serializable {
 
         int turns = deserializer.readInt();
 
-        Map<String, PropertyState> propertyStates =
-            deserializer.readMap(PropertyState::deserialize);
+        // Older saves only contain the states of properties that had been looked at.
+        PropertyState[] propertyStates = createPropertyStates(board);
+        int savedStates = deserializer.readInt();
+        for (int i = 0; i < savedStates; i++) {
+            int number = board.getPropertyNumber(deserializer.readItemId(board.itemIndex()));
+            if (number < 0) {
+                throw new IOException("Invalid property ID for property state");
+            }
+            propertyStates[number] = PropertyState.deserialize(deserializer, board);
+        }
 
         boolean isComplete = deserializer.readBoolean();
 
-        return new Game(board, players, currentPlayerNumber, turns, propertyStates, isComplete);
+        // Saves from before games were seeded end here; give them a fresh seed.
+        long seed;
+        long randomDraws;
+        if (deserializer.isAtEnd()) {
+            seed = ThreadLocalRandom.current().nextLong();
+            randomDraws = 0;
+        } else {
+            seed = deserializer.readLong();
+            randomDraws = deserializer.readLong();
+            if (randomDraws < 0) {
+                throw new IOException("Invalid number of random draws");
+            }
+        }
+
+        return new Game(
+            board,
+            players,
+            currentPlayerNumber,
+            turns,
+            propertyStates,
+            isComplete,
+            seed,
+            createRandom(seed, randomDraws),
+            randomDraws
+        );
     }
 }
@@ -0,0 +1,166 @@
+package dev.anli.oligopoly.state;
+
+import dev.anli.oligopoly.board.Board;
+import dev.anli.oligopoly.io.Deserializer;
+import dev.anli.oligopoly.io.Serializable;
+import dev.anli.oligopoly.io.Serializer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+
+/**
+ * A state transition of a game, reported to the game's event listeners (see
+ * {@link Game#addEventListener}).
+ * <p>
+ * {@link PremoveStarted} and {@link ActionPerformed} events are decisions: replaying them in order
+ * on a game in the same state plays it out the same way, since its random number generator is
+ * restored too. The other events follow from the decisions and are reported for auditing.
+ */
+public sealed interface GameEvent extends Serializable {
+    /**
+     * A turn started.
+     * @param turn number of the turn (see {@link Game#getTurns()})
+     * @param playerNumber number of the player whose turn it is
+     */
+    record TurnStarted(int turn, int playerNumber) implements GameEvent {
+        @Override
+        public void serialize(Serializer serializer) {
+            serializer.accept("turn");
+            serializer.accept(turn);
+            serializer.accept(playerNumber);
+        }
+    }
+
+    /**
+     * The current player moved on to the pre-move phase (see {@link Game#transitionToPremove()}.)
+     */
+    record PremoveStarted() implements GameEvent {
+        @Override
+        public void serialize(Serializer serializer) {
+            serializer.accept("premove");
+        }
+    }
+
+    /**
+     * The current player performed an action.
+     * @param itemId ID of the item whose action was performed, or null for one of the current
+     *               actions
+     * @param index index of the action in the current actions or the item's actions, or -1 if it
+     *              was neither (in which case the event can't be replayed)
+     * @param name name of the action
+     * @param cost cost of the action
+     */
+    record ActionPerformed(
+        @Nullable String itemId, int index, @Nonnull String name, @Nonnull Items cost
+    ) implements GameEvent {
+        @Override
+        public void serialize(Serializer serializer) {
+            serializer.accept("action");
+            serializer.accept(itemId != null);
+            if (itemId != null) {
+                serializer.accept(itemId);
+            }
+            serializer.accept(index);
+            serializer.accept(name);
+            serializer.accept(cost);
+        }
+    }
+
+    /**
+     * The dice were rolled.
+     */
+    record DiceRolled(int first, int second) implements GameEvent {
+        @Override
+        public void serialize(Serializer serializer) {
+            serializer.accept("dice");
+            serializer.accept(first);
+            serializer.accept(second);
+        }
+    }
+
+    /**
+     * A card was drawn.
+     * @param title title of the card
+     */
+    record CardDrawn(@Nonnull String title) implements GameEvent {
+        @Override
+        public void serialize(Serializer serializer) {
+            serializer.accept("card");
+            serializer.accept(title);
+        }
+    }
+
+    /**
+     * A player moved to another location.
+     */
+    record PlayerMoved(int playerNumber, int from, int to) implements GameEvent {
+        @Override
+        public void serialize(Serializer serializer) {
+            serializer.accept("move");
+            serializer.accept(playerNumber);
+            serializer.accept(from);
+            serializer.accept(to);
+        }
+    }
+
+    /**
+     * A player went bankrupt.
+     */
+    record PlayerBankrupt(int playerNumber) implements GameEvent {
+        @Override
+        public void serialize(Serializer serializer) {
+            serializer.accept("bankrupt");
+            serializer.accept(playerNumber);
+        }
+    }
+
+    /**
+     * The game was restored to a snapshot (see {@link Game#restore(GameSnapshot)}), undoing the
+     * decisions made since.
+     * @param decisions number of decisions that had been made when the snapshot was taken (see
+     *                  {@link Game#getDecisions()})
+     */
+    record Restored(long decisions) implements GameEvent {
+        @Override
+        public void serialize(Serializer serializer) {
+            serializer.accept("restore");
+            serializer.accept(decisions);
+        }
+    }
+
+    /**
+     * Returns whether the event is a decision, which has to be replayed to rebuild the game.
+     */
+    default boolean isDecision() {
+        return this instanceof PremoveStarted || this instanceof ActionPerformed;
+    }
+
+    /**
+     * Deserializes an event of a game on the given board.
+     * @throws IOException if there was an error or if the data was invalid
+     */
+    @Nonnull
+    static GameEvent deserialize(Deserializer deserializer, Board board) throws IOException {
+        String type = deserializer.readLine();
+        return switch (type) {
+            case "turn" -> new TurnStarted(deserializer.readInt(), deserializer.readInt());
+            case "premove" -> new PremoveStarted();
+            case "action" -> {
+                String itemId = deserializer.readBoolean() ? deserializer.readLine() : null;
+                int index = deserializer.readInt();
+                String name = deserializer.readLine();
+                Items cost = Items.deserialize(deserializer, board.itemIndex()).freeze();
+                yield new ActionPerformed(itemId, index, name, cost);
+            }
+            case "dice" -> new DiceRolled(deserializer.readInt(), deserializer.readInt());
+            case "card" -> new CardDrawn(deserializer.readLine());
+            case "move" -> new PlayerMoved(
+                deserializer.readInt(), deserializer.readInt(), deserializer.readInt()
+            );
+            case "bankrupt" -> new PlayerBankrupt(deserializer.readInt());
+            case "restore" -> new Restored(deserializer.readLong());
+            default -> throw new IOException("Unknown event type");
+        };
+    }
+}
@@ -0,0 +1,274 @@
+package dev.anli.oligopoly.state;
+
+import dev.anli.oligopoly.board.Action;
+import dev.anli.oligopoly.board.Board;
+import dev.anli.oligopoly.io.Deserializer;
+import dev.anli.oligopoly.io.Serializer;
+
+import javax.annotation.Nonnull;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Append-only log of every event of a game, with periodic snapshots, from which the game can be
+ * rebuilt as it was at the start of any turn or as it was last (see {@link #rebuild}).
+ * <p>
+ * Entries are written one after another in the {@link Serializer} format. A snapshot entry holds
+ * the number of decisions made so far and the serialized game, and is taken at the start of every
+ * few turns, which is the only point the game's serialization captures. An event entry holds a
+ * serialized {@link GameEvent}. Rebuilding loads the nearest snapshot and replays the decisions
+ * after it; the other events are there for auditing.
+ * <p>
+ * The log is flushed after every decision, so a crash loses at most the events that follow from
+ * the last decision, which replaying recreates anyway.
+ */
+public final class GameLog implements Consumer<GameEvent>, Flushable, Closeable {
+    /**
+     * Default number of turns between snapshots.
+     */
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 10;
+
+    private static final String SNAPSHOT = "snapshot";
+    private static final String EVENT = "event";
+
+    private final Game game;
+    private final Writer writer;
+    /**
+     * Serializer streaming every entry to the writer, which separates each entry from the last.
+     */
+    private final Serializer serializer;
+    private final int snapshotInterval;
+    /**
+     * Whether the log continues one written earlier, whose last entry has to be separated from
+     * the first one written now.
+     */
+    private boolean isResumed = false;
+    private IOException failure = null;
+
+    private GameLog(@Nonnull Game game, @Nonnull Writer writer, int snapshotInterval) {
+        if (snapshotInterval <= 0) {
+            throw new IllegalArgumentException("snapshotInterval must be positive");
+        }
+
+        this.game = game;
+        this.writer = writer;
+        this.serializer = new Serializer(writer);
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    /**
+     * Starts a new log of a game, beginning with a snapshot, and listens to the game's events.
+     * @param game game to log, which must be at the start of a turn
+     * @param writer writer for the log, ideally buffered
+     * @param snapshotInterval number of turns between snapshots
+     * @throws IllegalStateException if the game isn't at the start of a turn
+     * @throws IOException if the snapshot couldn't be written
+     */
+    @Nonnull
+    public static GameLog start(@Nonnull Game game, @Nonnull Writer writer, int snapshotInterval)
+        throws IOException {
+        if (game.getTurnPhase() == TurnPhase.PREMOVE || game.getTurnPhase() == TurnPhase.POSTMOVE) {
+            throw new IllegalStateException("Logs must start at the start of a turn");
+        }
+
+        GameLog log = new GameLog(game, writer, snapshotInterval);
+        log.writeSnapshot();
+        log.flush();
+        game.addEventListener(log);
+        return log;
+    }
+
+    /**
+     * Continues the log a game was rebuilt from, and listens to the game's events.
+     * @param game game rebuilt from the log (see {@link #rebuild}) as it was last
+     * @param writer writer appending to the log, ideally buffered
+     * @param snapshotInterval number of turns between snapshots
+     */
+    @Nonnull
+    public static GameLog resume(@Nonnull Game game, @Nonnull Writer writer, int snapshotInterval) {
+        GameLog log = new GameLog(game, writer, snapshotInterval);
+        log.isResumed = true;
+        game.addEventListener(log);
+        return log;
+    }
+
+    /**
+     * Appends an event to the log. Called by the game for each of its events.
+     */
+    @Override
+    public void accept(@Nonnull GameEvent event) {
+        if (failure != null) {
+            return;
+        }
+
+        try {
+            write(EVENT, event::serialize);
+            if (event instanceof GameEvent.TurnStarted started &&
+                started.turn() % snapshotInterval == 0) {
+                writeSnapshot();
+                writer.flush();
+            } else if (event.isDecision()) {
+                writer.flush();
+            }
+        } catch (IOException e) {
+            // Don't let the log interrupt the game; report the failure on the next flush instead.
+            failure = e;
+        }
+    }
+
+    private void writeSnapshot() throws IOException {
+        write(SNAPSHOT, serializer -> {
+            serializer.accept(game.getDecisions());
+            serializer.accept(game);
+        });
+    }
+
+    private void write(String type, Consumer<Serializer> body) throws IOException {
+        if (isResumed) {
+            // Each entry is separated from the one before it, so the log ended without one.
+            writer.write('\n');
+            isResumed = false;
+        }
+        serializer.accept(type);
+        body.accept(serializer);
+        serializer.finish();
+    }
+
+    /**
+     * Flushes the log.
+     * @throws IOException if writing the log failed, now or since the last flush
+     */
+    @Override
+    public void flush() throws IOException {
+        if (failure != null) {
+            throw failure;
+        }
+        writer.flush();
+    }
+
+    /**
+     * Stops listening to the game and closes the log.
+     * @throws IOException if writing the log failed, now or since the last flush
+     */
+    @Override
+    public void close() throws IOException {
+        game.removeEventListener(this);
+        try {
+            flush();
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Rebuilds a game from its log, as it was at the start of the given turn: the nearest
+     * snapshot at or before the turn is loaded, and the decisions after it are replayed up to
+     * the turn. Decisions undone by restoring a snapshot are skipped.
+     * @param reader reader for the log
+     * @param boards available boards
+     * @param turn number of the turn (see {@link Game#getTurns()}), or {@link Integer#MAX_VALUE}
+     *             to rebuild the game as it was last
+     * @throws IOException if there was an error or the log is invalid
+     */
+    @Nonnull
+    public static Game rebuild(@Nonnull Reader reader, @Nonnull List<Board> boards, int turn)
+        throws IOException {
+        return rebuild(new Deserializer(reader), boards, turn);
+    }
+
+    /**
+     * Rebuilds a game from its log, read with the given deserializer, as it was at the start of
+     * the given turn (see {@link #rebuild(Reader, List, int)}).
+     * @throws IOException if there was an error or the log is invalid
+     */
+    @Nonnull
+    public static Game rebuild(
+        @Nonnull Deserializer deserializer, @Nonnull List<Board> boards, int turn
+    ) throws IOException {
+
+        // Snapshots and decisions that are still part of the game's history, oldest first. The
+        // decisions are numbered from the number made when the log started.
+        List<Game> snapshots = new ArrayList<>();
+        List<GameEvent> decisions = new ArrayList<>();
+        long firstDecision = 0;
+        while (!deserializer.isAtEnd()) {
+            String type = deserializer.readLine();
+            if (type.isEmpty()) {
+                // Logs used to end every entry with a line break, which resuming one now adds too.
+                continue;
+            } else if (type.equals(SNAPSHOT)) {
+                long count = deserializer.readLong();
+                Game snapshot = Game.deserialize(deserializer, boards);
+                snapshot.setDecisions(count);
+                if (snapshots.isEmpty()) {
+                    firstDecision = count;
+                } else if (count != firstDecision + decisions.size()) {
+                    throw new IOException("Snapshot doesn't follow the logged decisions");
+                }
+                snapshots.add(snapshot);
+            } else if (type.equals(EVENT)) {
+                if (snapshots.isEmpty()) {
+                    throw new IOException("Log doesn't start with a snapshot");
+                }
+
+                GameEvent event = GameEvent.deserialize(deserializer, snapshots.get(0).getBoard());
+                if (event.isDecision()) {
+                    decisions.add(event);
+                } else if (event instanceof GameEvent.Restored restored) {
+                    long count = restored.decisions();
+                    if (count < firstDecision || count > firstDecision + decisions.size()) {
+                        throw new IOException("Game was restored to a state before the log");
+                    }
+                    decisions.subList((int) (count - firstDecision), decisions.size()).clear();
+                    snapshots.removeIf(snapshot -> snapshot.getDecisions() > count);
+                }
+            } else {
+                throw new IOException("Unknown log entry type");
+            }
+        }
+
+        if (snapshots.isEmpty()) {
+            throw new IOException("Log doesn't start with a snapshot");
+        }
+
+        Game game = snapshots.get(0);
+        for (Game snapshot : snapshots) {
+            if (snapshot.getTurns() <= turn) {
+                game = snapshot;
+            }
+        }
+
+        int next = (int) (game.getDecisions() - firstDecision);
+        while (next < decisions.size() &&
+            !(game.getTurns() >= turn && game.getTurnPhase() == TurnPhase.START)) {
+            replay(game, decisions.get(next++));
+        }
+        return game;
+    }
+
+    /**
+     * Replays a decision on a game.
+     * @throws IOException if the decision can't be made in the game's state
+     */
+    private static void replay(Game game, GameEvent decision) throws IOException {
+        if (decision instanceof GameEvent.PremoveStarted) {
+            game.transitionToPremove();
+            return;
+        }
+
+        GameEvent.ActionPerformed performed = (GameEvent.ActionPerformed) decision;
+        List<Action> actions = performed.itemId() == null
+            ? game.getCurrentActions()
+            : game.getBoard().getItem(performed.itemId()).getItemActions(performed.itemId(), game);
+        if (performed.index() < 0 || performed.index() >= actions.size()) {
+            throw new IOException(String.format("Can't replay action %s", performed.name()));
+        }
+        game.debitAndPerform(actions.get(performed.index()));
+    }
+}
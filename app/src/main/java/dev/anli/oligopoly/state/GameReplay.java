@@ -0,0 +1,345 @@
+package dev.anli.oligopoly.state;
+
+import dev.anli.oligopoly.board.Action;
+import dev.anli.oligopoly.board.Board;
+import dev.anli.oligopoly.board.ItemIndex;
+import dev.anli.oligopoly.io.BinaryDeserializer;
+import dev.anli.oligopoly.io.BinarySerializer;
+import dev.anli.oligopoly.io.Deserializer;
+import dev.anli.oligopoly.io.Serializable;
+import dev.anli.oligopoly.io.Serializer;
+
+import javax.annotation.Nonnull;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A whole game as the few things it is made of: the board, the players and their starting items,
+ * the seed of the random number generator and the decisions made (see
+ * {@link GameEvent#isDecision()}), each as the index of the chosen action. Playing the decisions
+ * back on a new game with the same seed plays it out the same way (see {@link #play(int)}).
+ * <p>
+ * Each decision is serialized as one small integer, plus the ID of the item for an item's action,
+ * so with a {@link BinarySerializer} most decisions take a byte. Replay files (see
+ * {@link #toByteArray()}) are also deflated, since turns tend to repeat the same few decisions;
+ * a 300-turn game takes a few hundred bytes.
+ */
+public final class GameReplay implements Serializable {
+    private static final int PREMOVE = -2;
+    private static final int CURRENT_ACTIONS = -1;
+
+    private final Board board;
+    private final int players;
+    private final Items startingItems;
+    private final long seed;
+    /**
+     * Decisions as pairs of a source and an index, like those recorded by {@link Game}: the
+     * source is {@link #CURRENT_ACTIONS}, {@link #PREMOVE} or the ordinal of the item whose
+     * actions the index refers to.
+     */
+    private final int[] decisions;
+
+    private GameReplay(
+        @Nonnull Board board, int players, @Nonnull Items startingItems, long seed, int[] decisions
+    ) {
+        this.board = board;
+        this.players = players;
+        this.startingItems = startingItems;
+        this.seed = seed;
+        this.decisions = decisions;
+    }
+
+    /**
+     * Records the decisions made in a game from now on, adding a listener for the game's events
+     * alongside any others, such as a {@link GameLog}.
+     * @param game game to record, which must not have had any decisions made or random numbers
+     *             drawn yet
+     * @throws IllegalStateException if the game has already started
+     */
+    @Nonnull
+    public static Recorder record(@Nonnull Game game) {
+        if (game.getTurns() != 1 || game.getDecisions() != 0 || game.getRandomDraws() != 0 ||
+            game.getTurnPhase() != TurnPhase.START) {
+            throw new IllegalStateException("Replays must be recorded from the start of a game");
+        }
+
+        Recorder recorder = new Recorder(game);
+        game.addEventListener(recorder);
+        return recorder;
+    }
+
+    /**
+     * Records the decisions made in a game, as one of the game's event listeners (see
+     * {@link GameReplay#record(Game)}).
+     */
+    public static final class Recorder implements Consumer<GameEvent> {
+        private final Game game;
+        private final Items startingItems;
+        private final long seed;
+        private int[] decisions = new int[64];
+        private int size = 0;
+        /**
+         * Whether the decisions made so far can all be replayed; an action that wasn't one of the
+         * current actions or an item's stops the recording until it is undone.
+         */
+        private boolean isReplayable = true;
+
+        private Recorder(@Nonnull Game game) {
+            this.game = game;
+            this.startingItems = new Items(game.getPlayers().get(0).getItems()).freeze();
+            this.seed = game.getSeed();
+        }
+
+        /**
+         * Records a decision. Called by the game for each of its events.
+         */
+        @Override
+        public void accept(@Nonnull GameEvent event) {
+            if (event instanceof GameEvent.Restored restored) {
+                // The decisions after the snapshot were undone, including any unreplayable one.
+                if (restored.decisions() * 2 <= size) {
+                    size = (int) restored.decisions() * 2;
+                    isReplayable = true;
+                }
+                return;
+            }
+            if (!isReplayable) {
+                return;
+            }
+
+            if (event instanceof GameEvent.PremoveStarted) {
+                add(PREMOVE, 0);
+            } else if (event instanceof GameEvent.ActionPerformed performed) {
+                if (performed.index() < 0) {
+                    isReplayable = false;
+                } else if (performed.itemId() == null) {
+                    add(CURRENT_ACTIONS, performed.index());
+                } else {
+                    // Items with actions are always in the board's index.
+                    int ordinal = game.getBoard().itemIndex().ordinalOf(performed.itemId());
+                    add(ordinal, performed.index());
+                }
+            }
+        }
+
+        private void add(int source, int index) {
+            if (size + 2 > decisions.length) {
+                decisions = Arrays.copyOf(decisions, decisions.length * 2);
+            }
+            decisions[size++] = source;
+            decisions[size++] = index;
+        }
+
+        /**
+         * Returns whether every decision made so far was recorded. Decisions aren't recorded after
+         * an action that wasn't one of the current actions or an item's, until it is undone.
+         */
+        public boolean isReplayable() {
+            return isReplayable;
+        }
+
+        /**
+         * Gets a replay of the decisions recorded so far.
+         */
+        @Nonnull
+        public GameReplay getReplay() {
+            return new GameReplay(
+                game.getBoard(),
+                game.getPlayers().size(),
+                startingItems,
+                seed,
+                Arrays.copyOf(decisions, size)
+            );
+        }
+
+        /**
+         * Stops listening to the game. The game's other listeners keep listening.
+         */
+        public void stop() {
+            game.removeEventListener(this);
+        }
+    }
+
+    /**
+     * Gets the board the game was played on.
+     */
+    @Nonnull
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Gets the number of decisions in the replay.
+     */
+    public int size() {
+        return decisions.length / 2;
+    }
+
+    /**
+     * Plays the game back as it was at the start of the given turn, or as it was last if the
+     * decisions run out first. The game isn't saved or logged while it is played back.
+     * @param turn number of the turn (see {@link Game#getTurns()}), or {@link Integer#MAX_VALUE}
+     *             to play back every decision
+     * @throws IllegalStateException if a decision can't be made in the game's state, which means
+     *                               the replay is of a different version of the board
+     */
+    @Nonnull
+    public Game play(int turn) {
+        Game game = new Game(board, players, startingItems, seed);
+        ItemIndex index = board.itemIndex();
+        for (int i = 0; i < decisions.length; i += 2) {
+            if (game.getTurns() >= turn && game.getTurnPhase() == TurnPhase.START) {
+                break;
+            }
+
+            int source = decisions[i];
+            if (source == PREMOVE) {
+                game.transitionToPremove();
+                continue;
+            }
+
+            List<Action> actions = source == CURRENT_ACTIONS
+                ? game.getCurrentActions()
+                : index.itemAt(source).getItemActions(index.idAt(source), game);
+            int position = decisions[i + 1];
+            if (position >= actions.size()) {
+                throw new IllegalStateException(
+                    String.format("Can't replay decision %d", i / 2)
+                );
+            }
+            game.debitAndPerform(actions.get(position));
+        }
+        return game;
+    }
+
+    /**
+     * Serializes the replay. Each decision is written as 0 to move on to the pre-move phase,
+     * twice its index plus 1 for a current action, or twice its index plus 2 followed by the item
+     * ID for an item's action.
+     */
+    @Override
+    public void serialize(Serializer serializer) {
+        serializer.accept(board.name());
+        serializer.accept(players);
+        serializer.accept(startingItems);
+        serializer.accept(seed);
+        serializer.accept(size());
+        ItemIndex index = board.itemIndex();
+        for (int i = 0; i < decisions.length; i += 2) {
+            int source = decisions[i];
+            if (source == PREMOVE) {
+                serializer.accept(0);
+            } else if (source == CURRENT_ACTIONS) {
+                serializer.accept(decisions[i + 1] * 2 + 1);
+            } else {
+                serializer.accept(decisions[i + 1] * 2 + 2);
+                serializer.acceptItemId(index.idAt(source), index);
+            }
+        }
+    }
+
+    /**
+     * Deserializes a replay.
+     * @param boards available boards
+     * @throws IOException if there was an error or if the data was invalid
+     */
+    @Nonnull
+    public static GameReplay deserialize(Deserializer deserializer, List<Board> boards)
+        throws IOException {
+        String boardName = deserializer.readLine();
+        Board board = boards.stream()
+            .filter(b -> b.name().equals(boardName))
+            .findFirst()
+            .orElseThrow(() -> new IOException("Failed to find board with name"));
+        ItemIndex index = board.itemIndex();
+
+        int players = deserializer.readInt();
+        if (players <= 0) {
+            throw new IOException("Invalid number of players");
+        }
+        Items startingItems = Items.deserialize(deserializer, index).freeze();
+        long seed = deserializer.readLong();
+
+        int size = deserializer.readInt();
+        if (size < 0 || size > Integer.MAX_VALUE / 2) {
+            throw new IOException("Invalid number of decisions");
+        }
+        // Don't trust the size with the allocation; a corrupt one runs out of data instead.
+        int[] decisions = new int[Math.min(size, 1 << 16) * 2];
+        for (int i = 0; i < size * 2; i += 2) {
+            if (i + 2 > decisions.length) {
+                decisions = Arrays.copyOf(decisions, Math.min(decisions.length * 2, size * 2));
+            }
+
+            int code = deserializer.readInt();
+            if (code < 0) {
+                throw new IOException("Invalid decision");
+            } else if (code == 0) {
+                decisions[i] = PREMOVE;
+            } else if (code % 2 == 1) {
+                decisions[i] = CURRENT_ACTIONS;
+                decisions[i + 1] = code / 2;
+            } else {
+                int ordinal = index.ordinalOf(deserializer.readItemId(index));
+                if (ordinal < 0) {
+                    throw new IOException("Invalid item ID");
+                }
+                decisions[i] = ordinal;
+                decisions[i + 1] = code / 2 - 1;
+            }
+        }
+
+        return new GameReplay(board, players, startingItems, seed, decisions);
+    }
+
+    /**
+     * Exports the replay as the contents of a replay file: its binary serialization, deflated.
+     */
+    @Nonnull
+    public byte[] toByteArray() {
+        BinarySerializer serializer = new BinarySerializer();
+        serializer.accept(this);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DeflaterOutputStream output = new DeflaterOutputStream(bytes, deflater)) {
+            output.write(serializer.toByteArray());
+        } catch (IOException e) {
+            // Byte array streams don't throw.
+            throw new AssertionError(e);
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads a replay from the contents of a replay file (see {@link #toByteArray()}).
+     * @param boards available boards
+     * @throws IOException if the contents aren't a valid replay
+     */
+    @Nonnull
+    public static GameReplay fromByteArray(@Nonnull byte[] bytes, @Nonnull List<Board> boards)
+        throws IOException {
+        byte[] serialized;
+        try (InputStream input = new InflaterInputStream(new ByteArrayInputStream(bytes))) {
+            serialized = input.readAllBytes();
+        }
+
+        BinaryDeserializer deserializer = new BinaryDeserializer(ByteBuffer.wrap(serialized));
+        GameReplay replay = deserialize(deserializer, boards);
+        if (!deserializer.isAtEnd()) {
+            throw new IOException("Unexpected data after replay");
+        }
+        return replay;
+    }
+}
@@ -0,0 +1,111 @@
+package dev.anli.oligopoly.state;
+
+import dev.anli.oligopoly.board.Action;
+import dev.anli.oligopoly.board.card.Card;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Immutable snapshot of the state of a game, taken with {@link Game#snapshot()} and restored with
+ * {@link Game#restore(GameSnapshot)}.
+ * <p>
+ * Snapshots share structure: players and properties that haven't changed since the previous
+ * snapshot of the same game reuse that snapshot's entries, and items share frozen copies (see
+ * {@link Items#snapshot()}). Taking a snapshot therefore copies only what changed.
+ */
+public final class GameSnapshot {
+    /**
+     * Snapshot of a player.
+     */
+    record PlayerSnapshot(
+        @Nonnull Items items,
+        int location,
+        int turnsInJail,
+        boolean isAlive,
+        int lastCreditor
+    ) {}
+
+    /**
+     * Snapshot of a property state.
+     */
+    record PropertySnapshot(boolean isMortgaged, @Nonnull Items items) {}
+
+    final Game game;
+    final PlayerSnapshot[] players;
+    final PropertySnapshot[] properties;
+    final int currentPlayerNumber;
+    final int turns;
+    final TurnPhase turnPhase;
+    final List<List<Integer>> diceRolls;
+    final Card currentCard;
+    final List<Action> currentActions;
+    final long seed;
+    /**
+     * Copy of the game's random number generator, which restoring copies again.
+     */
+    final RandomGenerator.LeapableGenerator random;
+    final long randomDraws;
+    final long decisionsMade;
+
+    GameSnapshot(
+        Game game,
+        PlayerSnapshot[] players,
+        PropertySnapshot[] properties,
+        int currentPlayerNumber,
+        int turns,
+        TurnPhase turnPhase,
+        List<List<Integer>> diceRolls,
+        Card currentCard,
+        List<Action> currentActions,
+        long seed,
+        RandomGenerator.LeapableGenerator random,
+        long randomDraws,
+        long decisionsMade
+    ) {
+        this.game = game;
+        this.players = players;
+        this.properties = properties;
+        this.currentPlayerNumber = currentPlayerNumber;
+        this.turns = turns;
+        this.turnPhase = turnPhase;
+        this.diceRolls = diceRolls;
+        this.currentCard = currentCard;
+        this.currentActions = currentActions;
+        this.seed = seed;
+        this.random = random;
+        this.randomDraws = randomDraws;
+        this.decisionsMade = decisionsMade;
+    }
+
+    /**
+     * Gets the game the snapshot was taken of.
+     */
+    @Nonnull
+    public Game getGame() {
+        return game;
+    }
+
+    /**
+     * Gets the number of turns at the time of the snapshot.
+     */
+    public int getTurns() {
+        return turns;
+    }
+
+    /**
+     * Gets the current player number at the time of the snapshot.
+     */
+    public int getCurrentPlayerNumber() {
+        return currentPlayerNumber;
+    }
+
+    /**
+     * Gets the phase of the turn at the time of the snapshot.
+     */
+    @Nonnull
+    public TurnPhase getTurnPhase() {
+        return turnPhase;
+    }
+}
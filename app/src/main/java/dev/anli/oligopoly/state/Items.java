@@ -2,6 +2,7 @@ package dev.anli.oligopoly.state;
 
 import dev.anli.oligopoly.board.Board;
 import dev.anli.oligopoly.board.Item;
+import dev.anli.oligopoly.board.ItemIndex;
 import dev.anli.oligopoly.io.Deserializer;
 import dev.anli.oligopoly.io.Serializable;
 import dev.anli.oligopoly.io.Serializer;
@@ -10,24 +11,86 @@ import javax.annotation.Nonnull;
 import java.io.IOException;
 import java.util.*;
 import java.util.function.IntUnaryOperator;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.function.ObjIntConsumer;
 
 /**
  * Represents a collection of item IDs, with possibly multiple copies of each. Note that it is
  * possible to have a negative amount of items (say, in case someone overdraws.)
+ * <p>
+ * Quantities of items in the instance's {@link ItemIndex} are stored in an array by ordinal, so
+ * that instances sharing an index (normally the board's) can be combined with simple loops.
+ * Items outside of the index are kept in a small list on the side.
  */
 public final class Items implements Serializable {
     /**
-     * Underlying map. At no point should this map contain a null value or 0.
+     * Frozen instance without any items, for use as a cost or reward of nothing.
      */
-    private final Map<String, Integer> map;
+    public static final Items EMPTY = new Items().freeze();
+
+    private static final String[] NO_IDS = {};
+    private static final int[] NO_QUANTITIES = {};
+
+    private final ItemIndex index;
+
+    /**
+     * Quantities of the items in the index, by ordinal.
+     */
+    private final int[] quantities;
+
+    /**
+     * IDs and quantities of items that aren't in the index. At no point should the first
+     * otherCount entries contain a quantity of 0.
+     */
+    private String[] otherIds = NO_IDS;
+    private int[] otherQuantities = NO_QUANTITIES;
+    private int otherCount = 0;
+
+    /**
+     * Number of item IDs with a nonzero quantity.
+     */
+    private int size = 0;
+
+    /**
+     * Number of changes made to the quantities, used by caches to tell when they're stale.
+     */
+    private int version = 0;
+
+    /**
+     * Frozen copy made by {@link #snapshot()} or restored from, and the version it matches.
+     */
+    private Items snapshot = null;
+    private int snapshotVersion = 0;
+
+    private Listener listener = null;
+    private boolean frozen = false;
+
+    /**
+     * Callback for changes to the quantities of items in the index.
+     */
+    interface Listener {
+        /**
+         * Called after the quantity of the item with the given ordinal changes.
+         * @param ordinal ordinal of the item in the index
+         * @param oldQuantity quantity before the change
+         * @param newQuantity quantity after the change
+         */
+        void quantityChanged(int ordinal, int oldQuantity, int newQuantity);
+    }
+
+    /**
+     * Constructs an empty Items instance backed by the given index.
+     * @param index index of the item IDs to store in an array
+     */
+    public Items(@Nonnull ItemIndex index) {
+        this.index = index;
+        this.quantities = new int[index.size()];
+    }
 
     /**
      * Constructs an empty Items instance.
      */
     public Items() {
-        map = new HashMap<>();
+        this(ItemIndex.EMPTY);
     }
 
     /**
@@ -41,12 +104,27 @@ public final class Items implements Serializable {
     }
 
     /**
-     * Constructs an Items instance as a copy of another Items instance.
+     * Constructs an Items instance as a copy of another Items instance, using the same index. The
+     * copy is never frozen.
      * @param other other Items instance
      */
     public Items(@Nonnull Items other) {
-        this();
-        map.putAll(other.toMap());
+        this.index = other.index;
+        this.quantities = other.quantities.clone();
+        this.otherIds = Arrays.copyOf(other.otherIds, other.otherCount);
+        this.otherQuantities = Arrays.copyOf(other.otherQuantities, other.otherCount);
+        this.otherCount = other.otherCount;
+        this.size = other.size;
+    }
+
+    /**
+     * Constructs an Items instance as a copy of another Items instance, backed by the given index.
+     * @param other other Items instance
+     * @param index index of the item IDs to store in an array
+     */
+    public Items(@Nonnull Items other, @Nonnull ItemIndex index) {
+        this(index);
+        add(other);
     }
 
     /**
@@ -56,8 +134,101 @@ public final class Items implements Serializable {
      * @param function function to apply to the quantities
      */
     public Items(@Nonnull Items other, @Nonnull IntUnaryOperator function) {
-        this();
-        other.toMap().forEach((itemId, quantity) -> set(itemId, function.applyAsInt(quantity)));
+        this(other.index);
+        other.forEach((itemId, quantity) -> set(itemId, function.applyAsInt(quantity)));
+    }
+
+    /**
+     * Gets the index backing this instance.
+     */
+    @Nonnull
+    public ItemIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Sets the listener notified of changes to items in the index. Copies don't keep the listener.
+     */
+    void setListener(Listener listener) {
+        checkMutable();
+        this.listener = listener;
+    }
+
+    /**
+     * Gets a counter that changes whenever the quantities change. Copies start counting afresh.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets a frozen copy of this instance. The copy is reused until this instance changes, so
+     * snapshots of items that rarely change share the same copy. Frozen instances return
+     * themselves.
+     */
+    @Nonnull
+    public Items snapshot() {
+        if (frozen) {
+            return this;
+        }
+
+        if (snapshot == null || snapshotVersion != version) {
+            snapshot = new Items(this).freeze();
+            snapshotVersion = version;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Sets the quantities to those of the given snapshot (see {@link #snapshot()}). Does nothing
+     * if this instance still matches the snapshot, i.e. it hasn't changed since it took or was
+     * restored to the snapshot.
+     * @param snapshot frozen items to restore
+     */
+    public void restore(@Nonnull Items snapshot) {
+        checkMutable();
+        if (this.snapshot == snapshot && snapshotVersion == version) {
+            return;
+        }
+
+        clear();
+        add(snapshot);
+        if (snapshot.isFrozen()) {
+            this.snapshot = snapshot;
+            snapshotVersion = version;
+        }
+    }
+
+    /**
+     * Makes this instance immutable, so that it can be shared as a constant. Any later attempt to
+     * change it throws an {@link UnsupportedOperationException}.
+     * @return this instance
+     */
+    @Nonnull
+    public Items freeze() {
+        frozen = true;
+        return this;
+    }
+
+    /**
+     * Returns whether this instance has been frozen.
+     * @see #freeze()
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new UnsupportedOperationException("Attempt to modify frozen items");
+        }
+    }
+
+    /**
+     * Gets the amount of the item with the given ordinal in the index.
+     */
+    int getAt(int ordinal) {
+        return quantities[ordinal];
     }
 
     /**
@@ -66,7 +237,13 @@ public final class Items implements Serializable {
      * @return amount of the given item ID
      */
     public int get(@Nonnull String itemId) {
-        return map.getOrDefault(itemId, 0);
+        int ordinal = index.ordinalOf(itemId);
+        if (ordinal >= 0) {
+            return quantities[ordinal];
+        }
+
+        int position = findOther(itemId);
+        return position >= 0 ? otherQuantities[position] : 0;
     }
 
     /**
@@ -85,10 +262,12 @@ public final class Items implements Serializable {
      * @param quantity quantity to set
      */
     public void set(String itemId, int quantity) {
-        if (quantity == 0) {
-            map.remove(itemId);
+        checkMutable();
+        int ordinal = index.ordinalOf(itemId);
+        if (ordinal >= 0) {
+            setAt(ordinal, quantity);
         } else {
-            map.put(itemId, quantity);
+            setOther(itemId, quantity);
         }
     }
 
@@ -99,20 +278,100 @@ public final class Items implements Serializable {
      * @return new quantity of the item ID
      */
     public int add(String itemId, int quantity) {
+        checkMutable();
         int updated = get(itemId) + quantity;
         set(itemId, updated);
         return updated;
     }
 
+    private void setAt(int ordinal, int quantity) {
+        int old = quantities[ordinal];
+        if (old == quantity) {
+            return;
+        }
+
+        if (old == 0) {
+            size++;
+        } else if (quantity == 0) {
+            size--;
+        }
+        quantities[ordinal] = quantity;
+        version++;
+
+        if (listener != null) {
+            listener.quantityChanged(ordinal, old, quantity);
+        }
+    }
+
+    private int findOther(String itemId) {
+        for (int i = 0; i < otherCount; i++) {
+            if (otherIds[i].equals(itemId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void setOther(String itemId, int quantity) {
+        int position = findOther(itemId);
+        if (position >= 0) {
+            version++;
+            if (quantity != 0) {
+                otherQuantities[position] = quantity;
+                return;
+            }
+
+            // Move the last entry into the gap.
+            otherCount--;
+            otherIds[position] = otherIds[otherCount];
+            otherQuantities[position] = otherQuantities[otherCount];
+            otherIds[otherCount] = null;
+            size--;
+        } else if (quantity != 0) {
+            if (otherCount == otherIds.length) {
+                int capacity = Math.max(4, otherCount * 2);
+                otherIds = Arrays.copyOf(otherIds, capacity);
+                otherQuantities = Arrays.copyOf(otherQuantities, capacity);
+            }
+
+            otherIds[otherCount] = itemId;
+            otherQuantities[otherCount] = quantity;
+            otherCount++;
+            size++;
+            version++;
+        }
+    }
+
+    /**
+     * Performs the given action for each item ID and its (nonzero) quantity.
+     * <p>
+     * Items in the index come first, in order of their ordinals.
+     *
+     * @param action action to perform
+     */
+    public void forEach(@Nonnull ObjIntConsumer<String> action) {
+        for (int i = 0; i < quantities.length; i++) {
+            if (quantities[i] != 0) {
+                action.accept(index.idAt(i), quantities[i]);
+            }
+        }
+
+        for (int i = 0; i < otherCount; i++) {
+            action.accept(otherIds[i], otherQuantities[i]);
+        }
+    }
+
     /**
      * Returns the instance's map of item IDs to quantities.
      * <p>
-     * The result of this method is unmodifiable.
+     * The result of this method is an unmodifiable snapshot.
      *
      * @return a map of item IDs to quantities
      */
     @Nonnull
     public Map<String, Integer> toMap() {
+        Map<String, Integer> map = new LinkedHashMap<>();
+        forEach(map::put);
         return Collections.unmodifiableMap(map);
     }
 
@@ -124,8 +383,25 @@ public final class Items implements Serializable {
      * @return whether this Items instance has the items in other
      */
     public boolean has(@Nonnull Items other) {
-        return other.toMap().entrySet().stream()
-            .allMatch(entry -> entry.getValue() < 0 || get(entry.getKey()) >= entry.getValue());
+        boolean sameIndex = other.index == index;
+        for (int i = 0; i < other.quantities.length; i++) {
+            int quantity = other.quantities[i];
+            if (quantity > 0) {
+                int held = sameIndex ? quantities[i] : get(other.index.idAt(i));
+                if (held < quantity) {
+                    return false;
+                }
+            }
+        }
+
+        for (int i = 0; i < other.otherCount; i++) {
+            int quantity = other.otherQuantities[i];
+            if (quantity > 0 && get(other.otherIds[i]) < quantity) {
+                return false;
+            }
+        }
+
+        return true;
     }
 
     /**
@@ -133,9 +409,7 @@ public final class Items implements Serializable {
      * @param other items to add
      */
     public void add(@Nonnull Items other) {
-        // We create a new map to avoid ConcurrentModificationExceptions
-        Map<String, Integer> map = new HashMap<>(other.toMap());
-        map.forEach(this::add);
+        addMultiple(other, 1);
     }
 
     /**
@@ -143,15 +417,49 @@ public final class Items implements Serializable {
      * @param other items to subtract
      */
     public void subtract(@Nonnull Items other) {
-        Map<String, Integer> map = new HashMap<>(other.toMap());
-        map.forEach((item, quantity) -> add(item, -quantity));
+        addMultiple(other, -1);
+    }
+
+    private void addMultiple(Items other, int sign) {
+        checkMutable();
+        if (other == this) {
+            // We copy ourselves first so that entries don't move around while we add them.
+            other = new Items(this);
+        }
+
+        boolean sameIndex = other.index == index;
+        for (int i = 0; i < other.quantities.length; i++) {
+            int quantity = other.quantities[i];
+            if (quantity != 0) {
+                if (sameIndex) {
+                    setAt(i, quantities[i] + sign * quantity);
+                } else {
+                    add(other.index.idAt(i), sign * quantity);
+                }
+            }
+        }
+
+        for (int i = 0; i < other.otherCount; i++) {
+            add(other.otherIds[i], sign * other.otherQuantities[i]);
+        }
     }
 
     /**
      * Clears all items.
      */
     public void clear() {
-        map.clear();
+        checkMutable();
+        if (listener != null) {
+            for (int i = 0; i < quantities.length; i++) {
+                setAt(i, 0);
+            }
+        }
+
+        Arrays.fill(quantities, 0);
+        Arrays.fill(otherIds, 0, otherCount, null);
+        otherCount = 0;
+        size = 0;
+        version++;
     }
 
     /**
@@ -159,7 +467,19 @@ public final class Items implements Serializable {
      * @return whether any of the quantities are negative
      */
     public boolean hasDebt() {
-        return toMap().values().stream().anyMatch(qty -> qty < 0);
+        for (int quantity : quantities) {
+            if (quantity < 0) {
+                return true;
+            }
+        }
+
+        for (int i = 0; i < otherCount; i++) {
+            if (otherQuantities[i] < 0) {
+                return true;
+            }
+        }
+
+        return false;
     }
 
     /**
@@ -167,7 +487,7 @@ public final class Items implements Serializable {
      * @return whether the Items instance is empty
      */
     public boolean isEmpty() {
-        return map.isEmpty();
+        return size == 0;
     }
 
     @Override
@@ -175,12 +495,47 @@ public final class Items implements Serializable {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Items items = (Items) o;
-        return map.equals(items.map);
+        if (size != items.size) {
+            return false;
+        }
+
+        // Both sides have the same number of nonzero entries, so it's enough to check ours.
+        if (items.index == index) {
+            if (!Arrays.equals(quantities, items.quantities)) {
+                return false;
+            }
+        } else {
+            for (int i = 0; i < quantities.length; i++) {
+                if (quantities[i] != 0 && items.get(index.idAt(i)) != quantities[i]) {
+                    return false;
+                }
+            }
+        }
+
+        for (int i = 0; i < otherCount; i++) {
+            if (items.get(otherIds[i]) != otherQuantities[i]) {
+                return false;
+            }
+        }
+
+        return true;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(map);
+        // Same as the hash code of toMap(), without creating the map.
+        int hash = 0;
+        for (int i = 0; i < quantities.length; i++) {
+            if (quantities[i] != 0) {
+                hash += index.idAt(i).hashCode() ^ quantities[i];
+            }
+        }
+
+        for (int i = 0; i < otherCount; i++) {
+            hash += otherIds[i].hashCode() ^ otherQuantities[i];
+        }
+
+        return hash;
     }
 
     /**
@@ -191,47 +546,68 @@ public final class Items implements Serializable {
             return "-";
         }
 
-        return toMap().entrySet().stream().map(
-            entry -> board.getItem(entry.getKey()).formatQuantity(entry.getValue())
-        ).collect(Collectors.joining(", "));
+        StringJoiner joiner = new StringJoiner(", ");
+        forEach((itemId, quantity) ->
+            joiner.add(board.getItem(itemId).formatQuantity(quantity))
+        );
+        return joiner.toString();
     }
 
     /**
      * Returns a sorted array of entries for each item and quantity.
      * <p>
-     * Items are sorted first by order, then by their IDs.
+     * Items are sorted first by order, then by their IDs. If this instance uses the board's index,
+     * the entries are already in that order and no sorting is needed.
      */
     @SuppressWarnings("unchecked")
     public Map.Entry<String, Integer>[] toEntryArray(Board board) {
-        return toMap().entrySet().stream().sorted((a, b) -> {
-            Item aItem = board.getItem(a.getKey());
-            Item bItem = board.getItem(b.getKey());
+        Map.Entry<String, Integer>[] entries = new Map.Entry[size];
+        int[] count = {0};
+        forEach((itemId, quantity) -> entries[count[0]++] = Map.entry(itemId, quantity));
 
-            int order = aItem.getOrder() - bItem.getOrder();
-            if (order != 0) {
-                return order;
-            }
+        if (index != board.itemIndex() || otherCount > 0) {
+            Arrays.sort(entries, (a, b) -> {
+                Item aItem = board.getItem(a.getKey());
+                Item bItem = board.getItem(b.getKey());
+
+                int order = aItem.getOrder() - bItem.getOrder();
+                if (order != 0) {
+                    return order;
+                }
+
+                return a.getKey().compareTo(b.getKey());
+            });
+        }
 
-            return a.getKey().compareTo(b.getKey());
-        }).toList().toArray(new Map.Entry[] {});
+        return entries;
     }
 
     @Override
     public void serialize(Serializer serializer) {
-        serializer.accept(map.size());
-        serializer.acceptAll(toMap().entrySet().stream()
-            .flatMap(entry -> Stream.of(entry.getKey(), entry.getValue().toString()))
-            .toList());
+        serializer.accept(size);
+        forEach((itemId, quantity) -> {
+            serializer.acceptItemId(itemId, index);
+            serializer.accept(quantity);
+        });
     }
 
     /**
      * Deserializes items with the given deserializer.
      */
     public static Items deserialize(Deserializer deserializer) throws IOException {
+        return deserialize(deserializer, ItemIndex.EMPTY);
+    }
+
+    /**
+     * Deserializes items with the given deserializer into an instance backed by the given index,
+     * which has to be the index they were serialized with if that was a board's.
+     */
+    public static Items deserialize(Deserializer deserializer, @Nonnull ItemIndex index)
+        throws IOException {
         int size = deserializer.readInt();
-        Items items = new Items();
+        Items items = new Items(index);
         for (int i = 0; i < size; i++) {
-            String item = deserializer.readLine();
+            String item = deserializer.readItemId(index);
             int quantity = deserializer.readInt();
             items.set(item, quantity);
         }
@@ -0,0 +1,139 @@
+package dev.anli.oligopoly.state;
+
+import dev.anli.oligopoly.board.Board;
+import dev.anli.oligopoly.board.ItemIndex;
+import dev.anli.oligopoly.board.property.PropertyCategory;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+/**
+ * Keeps track of who holds each item on a board and how many properties of each category each
+ * player holds, updated as the players' items change.
+ * <p>
+ * The owner of an item is the lowest-numbered player holding a positive quantity of it.
+ */
+final class Ownership {
+    private final Board board;
+    private final List<Player> players;
+
+    /**
+     * Owner of each item by ordinal, or -1 if nobody holds it.
+     */
+    private final int[] owners;
+
+    /**
+     * Number of properties held by each player in each category, by category number.
+     */
+    private final int[][] categoryCounts;
+
+    /**
+     * Number of times an item has changed hands.
+     */
+    private int version = 0;
+
+    /**
+     * Starts tracking the given players' items. Every player's items must be backed by the board's
+     * item index, and the players must be numbered by their positions in the list.
+     * @throws IllegalArgumentException if a player's items aren't backed by the board's index
+     */
+    Ownership(@Nonnull Board board, @Nonnull List<Player> players) {
+        this.board = board;
+        this.players = players;
+        ItemIndex index = board.itemIndex();
+        this.owners = new int[index.size()];
+        this.categoryCounts = new int[players.size()][board.getCategories().size()];
+
+        for (int ordinal = 0; ordinal < owners.length; ordinal++) {
+            owners[ordinal] = findOwner(ordinal);
+        }
+
+        for (int i = 0; i < players.size(); i++) {
+            Items items = players.get(i).getItems();
+            if (items.getIndex() != index) {
+                throw new IllegalArgumentException("Player items must use the board's index");
+            }
+
+            int number = i;
+            for (int ordinal = 0; ordinal < owners.length; ordinal++) {
+                int category = board.getItemCategoryNumber(ordinal);
+                if (category >= 0 && items.getAt(ordinal) > 0) {
+                    categoryCounts[number][category]++;
+                }
+            }
+            items.setListener((ordinal, oldQuantity, newQuantity) ->
+                quantityChanged(number, ordinal, oldQuantity, newQuantity)
+            );
+            players.get(i).setOwnership(this);
+        }
+    }
+
+    private int findOwner(int ordinal) {
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i).getItems().getAt(ordinal) > 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void quantityChanged(int player, int ordinal, int oldQuantity, int newQuantity) {
+        boolean held = newQuantity > 0;
+        if ((oldQuantity > 0) == held) {
+            return;
+        }
+
+        version++;
+        int category = board.getItemCategoryNumber(ordinal);
+        if (category >= 0) {
+            categoryCounts[player][category] += held ? 1 : -1;
+        }
+
+        if (held) {
+            if (owners[ordinal] == -1 || player < owners[ordinal]) {
+                owners[ordinal] = player;
+            }
+        } else if (owners[ordinal] == player) {
+            owners[ordinal] = findOwner(ordinal);
+        }
+    }
+
+    /**
+     * Gets the board whose items are tracked.
+     */
+    @Nonnull
+    Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Gets the number of the player who owns the item with the given ordinal, or -1 if nobody
+     * does.
+     */
+    int getOwner(int ordinal) {
+        return owners[ordinal];
+    }
+
+    /**
+     * Gets a counter that changes whenever a player starts or stops holding an item.
+     */
+    int getVersion() {
+        return version;
+    }
+
+    /**
+     * Counts the properties the given player holds in the given category.
+     */
+    int countProperties(int player, @Nonnull PropertyCategory category) {
+        int number = board.getCategoryNumber(category);
+        return number >= 0 ? categoryCounts[player][number] : 0;
+    }
+
+    /**
+     * Checks whether the given player holds every property in the given category.
+     */
+    boolean hasMonopoly(int player, @Nonnull PropertyCategory category) {
+        int number = board.getCategoryNumber(category);
+        return number < 0 || categoryCounts[player][number] == board.getProperties(category).size();
+    }
+}
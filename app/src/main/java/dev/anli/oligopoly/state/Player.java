@@ -3,7 +3,6 @@ package dev.anli.oligopoly.state;
 import dev.anli.oligopoly.board.*;
 import dev.anli.oligopoly.board.property.Property;
 import dev.anli.oligopoly.board.property.PropertyCategory;
-import dev.anli.oligopoly.board.tile.JailTile;
 import dev.anli.oligopoly.io.Deserializer;
 import dev.anli.oligopoly.io.Serializable;
 import dev.anli.oligopoly.io.Serializer;
@@ -26,6 +25,7 @@ public class Player implements Serializable {
     private int turnsInJail = -1;
     private boolean isAlive = true;
     private int lastCreditor = -1;
+    private Ownership ownership = null;
 
     /**
      * Constructs a new player.
@@ -92,7 +92,7 @@ public class Player implements Serializable {
      * @return whether sending to jail succeeded
      */
     public boolean sendToJail(Board board) {
-        OptionalInt jail = board.findLocation(tile -> tile instanceof JailTile);
+        OptionalInt jail = board.getJailLocation();
         if (jail.isEmpty()) {
             return false;
         }
@@ -113,26 +113,42 @@ public class Player implements Serializable {
      * Checks whether the player has a monopoly in the given color and board.
      */
     public boolean hasMonopoly(PropertyCategory category, Board board) {
-        return board.items().entrySet().stream().filter(entry -> {
-            Item item = entry.getValue();
-            if (item instanceof Property property) {
-                return category.equals(property.getCategory());
+        if (ownership != null && ownership.getBoard() == board) {
+            return ownership.hasMonopoly(number, category);
+        }
+
+        List<String> properties = board.getProperties(category);
+        for (int i = 0; i < properties.size(); i++) {
+            if (!getItems().has(properties.get(i))) {
+                return false;
             }
-            return false;
-        }).allMatch(entry -> getItems().has(entry.getKey()));
+        }
+        return true;
     }
 
     /**
      * Counts the number of properties the player has in a given category on a given board.
      */
     public int countProperties(PropertyCategory category, Board board) {
-        return (int) board.items().entrySet().stream().filter(entry -> {
-            Item item = entry.getValue();
-            if (item instanceof Property property) {
-                return category.equals(property.getCategory()) && getItems().has(entry.getKey());
+        if (ownership != null && ownership.getBoard() == board) {
+            return ownership.countProperties(number, category);
+        }
+
+        List<String> properties = board.getProperties(category);
+        int count = 0;
+        for (int i = 0; i < properties.size(); i++) {
+            if (getItems().has(properties.get(i))) {
+                count++;
             }
-            return false;
-        }).count();
+        }
+        return count;
+    }
+
+    /**
+     * Sets the ownership tracker of the game the player is in.
+     */
+    void setOwnership(Ownership ownership) {
+        this.ownership = ownership;
     }
 
     /**
@@ -152,9 +168,11 @@ public class Player implements Serializable {
             if (lastCreditor == -1 || !game.getPlayers().get(lastCreditor).isAlive()) {
                 // The player owes money to the bank. Remove everything they have and clear any
                 // properties they own.
-                getItems().toMap().keySet().forEach(id -> {
+                getItems().forEach((id, quantity) -> {
                     if (game.getBoard().getItem(id) instanceof Property) {
-                        game.setPropertyState(id, new PropertyState());
+                        game.setPropertyState(
+                            id, new PropertyState(false, game.getBoard().newItems())
+                        );
                     }
                 });
             } else {
@@ -163,6 +181,7 @@ public class Player implements Serializable {
             }
 
             getItems().clear();
+            game.emit(new GameEvent.PlayerBankrupt(number));
         }
 
         isAlive = false;
@@ -183,6 +202,37 @@ public class Player implements Serializable {
         this.lastCreditor = lastCreditor;
     }
 
+    /**
+     * Takes a snapshot of the player, reusing the previous snapshot if nothing has changed.
+     */
+    GameSnapshot.PlayerSnapshot snapshot(GameSnapshot.PlayerSnapshot previous) {
+        Items itemsSnapshot = items.snapshot();
+        if (previous != null &&
+            previous.items() == itemsSnapshot &&
+            previous.location() == location &&
+            previous.turnsInJail() == turnsInJail &&
+            previous.isAlive() == isAlive &&
+            previous.lastCreditor() == lastCreditor
+        ) {
+            return previous;
+        }
+
+        return new GameSnapshot.PlayerSnapshot(
+            itemsSnapshot, location, turnsInJail, isAlive, lastCreditor
+        );
+    }
+
+    /**
+     * Restores the player to the given snapshot.
+     */
+    void restore(GameSnapshot.PlayerSnapshot snapshot) {
+        items.restore(snapshot.items());
+        location = snapshot.location();
+        turnsInJail = snapshot.turnsInJail();
+        isAlive = snapshot.isAlive();
+        lastCreditor = snapshot.lastCreditor();
+    }
+
     /**
      * Gets the color of the player, given the number of total players.
      * @param numPlayers total number of players in the game
@@ -207,8 +257,21 @@ public class Player implements Serializable {
      * @throws IOException if there was an error or if the data was invalid
      */
     public static Player deserialize(Deserializer deserializer) throws IOException {
+        return deserialize(deserializer, ItemIndex.EMPTY);
+    }
+
+    /**
+     * Deserializes a player on the given board, backing their items with the board's item index.
+     * @throws IOException if there was an error or if the data was invalid
+     */
+    public static Player deserialize(Deserializer deserializer, Board board) throws IOException {
+        return deserialize(deserializer, board.itemIndex());
+    }
+
+    private static Player deserialize(Deserializer deserializer, ItemIndex index)
+        throws IOException {
         int number = deserializer.readInt();
-        Items items = Items.deserialize(deserializer);
+        Items items = Items.deserialize(deserializer, index);
         int location = deserializer.readInt();
         int turnsInJail = deserializer.readInt();
         boolean isAlive = deserializer.readBoolean();
@@ -1,7 +1,6 @@
 package dev.anli.oligopoly.state;
 
-import dev.anli.oligopoly.board.Action;
-import dev.anli.oligopoly.board.property.Property;
+import dev.anli.oligopoly.board.Board;
 import dev.anli.oligopoly.io.Deserializer;
 import dev.anli.oligopoly.io.Serializable;
 import dev.anli.oligopoly.io.Serializer;
@@ -66,6 +65,30 @@ public class PropertyState implements Serializable {
         return items;
     }
 
+    /**
+     * Takes a snapshot of the property state, reusing the previous snapshot if nothing has
+     * changed.
+     */
+    GameSnapshot.PropertySnapshot snapshot(GameSnapshot.PropertySnapshot previous) {
+        Items itemsSnapshot = items.snapshot();
+        if (previous != null &&
+            previous.items() == itemsSnapshot &&
+            previous.isMortgaged() == isMortgaged
+        ) {
+            return previous;
+        }
+
+        return new GameSnapshot.PropertySnapshot(isMortgaged, itemsSnapshot);
+    }
+
+    /**
+     * Restores the property state to the given snapshot.
+     */
+    void restore(GameSnapshot.PropertySnapshot snapshot) {
+        items.restore(snapshot.items());
+        isMortgaged = snapshot.isMortgaged();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -79,68 +102,6 @@ public class PropertyState implements Serializable {
         return Objects.hash(isMortgaged, items);
     }
 
-    /**
-     * Returns an action to mortgage the property.
-     */
-    @Nonnull
-    public Action mortgageAction(@Nonnull Property property, @Nonnull Game game) {
-        return new Action() {
-            @Nonnull
-            @Override
-            public String getName() {
-                return "Mortgage";
-            }
-
-            @Nonnull
-            @Override
-            public Items getCost() {
-                return new Items(property.getMortgagePrice(), qty -> -qty);
-            }
-
-            @Override
-            public boolean isAllowed() {
-                return !isMortgaged() &&
-                    items.isEmpty() &&
-                    game.getCurrentPlayer().getItems().has(getCost());
-            }
-
-            @Override
-            public void perform() {
-                setMortgaged(true);
-            }
-        };
-    }
-
-    /**
-     * Returns an action to unmortgage the property.
-     */
-    @Nonnull
-    public Action unmortgageAction(@Nonnull Property property, @Nonnull Game game) {
-        return new Action() {
-            @Nonnull
-            @Override
-            public String getName() {
-                return "Unmortgage";
-            }
-
-            @Nonnull
-            @Override
-            public Items getCost() {
-                return new Items(property.getMortgagePrice(), qty -> qty + qty / 10);
-            }
-
-            @Override
-            public boolean isAllowed() {
-                return isMortgaged() && game.getCurrentPlayer().getItems().has(getCost());
-            }
-
-            @Override
-            public void perform() {
-                setMortgaged(false);
-            }
-        };
-    }
-
     @Override
     public void serialize(Serializer serializer) {
         serializer.accept(isMortgaged);
@@ -155,4 +116,15 @@ public class PropertyState implements Serializable {
         Items items = Items.deserialize(deserializer);
         return new PropertyState(isMortgaged, items);
     }
+
+    /**
+     * Deserializes a property state on the given board, backing its items with the board's item
+     * index.
+     */
+    public static PropertyState deserialize(Deserializer deserializer, Board board)
+        throws IOException {
+        boolean isMortgaged = deserializer.readBoolean();
+        Items items = Items.deserialize(deserializer, board.itemIndex());
+        return new PropertyState(isMortgaged, items);
+    }
 }
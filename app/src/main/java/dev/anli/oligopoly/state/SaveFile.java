@@ -0,0 +1,436 @@
+package dev.anli.oligopoly.state;
+
+import dev.anli.oligopoly.board.Board;
+import dev.anli.oligopoly.io.BinaryDeserializer;
+import dev.anli.oligopoly.io.BinarySerializer;
+import dev.anli.oligopoly.io.CharBufferDeserializer;
+import dev.anli.oligopoly.io.Deserializer;
+import dev.anli.oligopoly.io.Serializer;
+
+import javax.annotation.Nonnull;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A save file that appends what changed since the previous save, instead of rewriting the whole
+ * game every time.
+ * <p>
+ * The file starts with a {@link SaveHeader} summarizing the game as last saved, followed by a
+ * full save and deltas, in the {@link BinarySerializer} format or the text {@link Serializer}
+ * format (see {@link Format}). A full save is the serialized game; a delta holds the progress of
+ * the game (the turn, the current player and the random number generator) and the players and
+ * property states that changed since the previous save. Changes are found by comparing snapshots
+ * (see {@link Game#snapshot()}), which share whatever hasn't changed, so saving costs about as
+ * much as the changes since the last save.
+ * The file is compacted into a new full save after a number of deltas, or once it grows past a
+ * size.
+ * <p>
+ * Saves are prepared (see {@link #prepare(Game)}) on the game's thread and may be written (see
+ * {@link #write(List)}) on another, such as an {@link AutoSaver}'s. Full saves replace the file
+ * atomically; a delta cut off by a crash is dropped when loading.
+ * <p>
+ * Either format is detected when loading, as are files without a header and files that hold just
+ * a serialized game, as written before deltas.
+ */
+public final class SaveFile {
+    /**
+     * Format saves are written in.
+     */
+    public enum Format {
+        /**
+         * The {@link BinarySerializer} format, which is smaller and faster to load.
+         */
+        BINARY,
+        /**
+         * The text {@link Serializer} format, which is human-readable.
+         */
+        TEXT
+    }
+
+    /**
+     * Default number of deltas after which the file is compacted.
+     */
+    public static final int DEFAULT_MAX_DELTAS = 50;
+
+    /**
+     * Default size in bytes after which the file is compacted.
+     */
+    public static final long DEFAULT_MAX_SIZE = 1 << 20;
+
+    private static final String FULL = "full";
+    private static final String DELTA = "delta";
+
+    private final File file;
+    private final Format format;
+    private final int maxDeltas;
+    private final long maxSize;
+    /**
+     * Snapshot of the game as it was last saved or loaded, or null if the next save has to be
+     * a full save.
+     */
+    private GameSnapshot saved = null;
+    private int deltas = 0;
+    private long size = 0;
+    /**
+     * Whether a write failed and the file has to be replaced by a full save. Set by the thread
+     * writing and read by the thread preparing saves.
+     */
+    private volatile boolean needsFullSave = false;
+    /**
+     * Whether the last write failed, so deltas can't be appended. Guarded by this object.
+     */
+    private boolean isBroken = false;
+
+    /**
+     * Constructs a save file with the default compaction thresholds.
+     * @param file file to save to
+     */
+    public SaveFile(@Nonnull File file) {
+        this(file, Format.BINARY, DEFAULT_MAX_DELTAS, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Constructs a save file.
+     * @param file file to save to
+     * @param format format to write saves in
+     * @param maxDeltas number of deltas after which the file is compacted
+     * @param maxSize size in bytes after which the file is compacted
+     */
+    public SaveFile(@Nonnull File file, @Nonnull Format format, int maxDeltas, long maxSize) {
+        this.file = file;
+        this.format = format;
+        this.maxDeltas = maxDeltas;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Gets the file saved to.
+     */
+    @Nonnull
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Saves a game at the start of a turn. Appends a delta if the file holds an earlier save of
+     * the same game, and otherwise (or when compacting) replaces the file with a full save.
+     * @param game game to save
+     * @return whether a full save was written
+     * @throws IOException if the game couldn't be saved
+     */
+    public boolean save(@Nonnull Game game) throws IOException {
+        Entry entry = prepare(game);
+        write(List.of(entry));
+        return entry.isFull();
+    }
+
+    /**
+     * A serialized save, ready to be written by {@link #write(List)}.
+     * @param bytes serialized entry
+     * @param isFull whether the entry is a full save, which replaces the file
+     * @param header header of the file once the entry is written
+     * @param preparedAt {@link System#nanoTime()} when the entry was prepared
+     */
+    public record Entry(
+        @Nonnull byte[] bytes, boolean isFull, @Nonnull SaveHeader header, long preparedAt
+    ) {}
+
+    /**
+     * Serializes a save of a game at the start of a turn, as a delta if the file holds an earlier
+     * save of the same game, and otherwise (or when compacting) as a full save. Entries have to be
+     * written in the order they were prepared, but may be written on another thread.
+     * @param game game to save
+     */
+    @Nonnull
+    public Entry prepare(@Nonnull Game game) {
+        GameSnapshot snapshot = game.snapshot();
+        boolean full = saved == null ||
+            saved.game != game ||
+            needsFullSave ||
+            deltas >= maxDeltas ||
+            size >= maxSize;
+
+        // Binary deltas are appended to a full save's header. Text saves are read with the
+        // default charset (see FileReader.)
+        ByteArrayOutputStream text = new ByteArrayOutputStream();
+        Serializer serializer = format == Format.BINARY
+            ? new BinarySerializer(full)
+            : new Serializer(text, Charset.defaultCharset());
+        if (full) {
+            needsFullSave = false;
+            serializer.accept(FULL);
+            serializer.accept(game);
+        } else {
+            serializer.accept(DELTA);
+            writeDelta(serializer, game, snapshot);
+        }
+        byte[] bytes;
+        if (serializer instanceof BinarySerializer binarySerializer) {
+            bytes = binarySerializer.toByteArray();
+        } else {
+            try {
+                serializer.flush();
+            } catch (IOException e) {
+                // Writing to memory doesn't fail.
+                throw new UncheckedIOException(e);
+            }
+            text.write('\n');
+            bytes = text.toByteArray();
+        }
+
+        saved = snapshot;
+        deltas = full ? 0 : deltas + 1;
+        size = full ? SaveHeader.SIZE + bytes.length : size + bytes.length;
+        SaveHeader header = SaveHeader.of(game, System.currentTimeMillis());
+        return new Entry(bytes, full, header, System.nanoTime());
+    }
+
+    /**
+     * Writes prepared entries, in order, and forces them to the disk. Only the last full save
+     * and the deltas after it are written: a full save is written to a temporary file that then
+     * replaces the file, and deltas are appended, after which the header is rewritten.
+     * <p>
+     * If writing fails, deltas are skipped until the next full save, which the next call to
+     * {@link #prepare(Game)} makes.
+     * @param entries entries to write, oldest first
+     * @throws IOException if the entries couldn't be written
+     */
+    public synchronized void write(@Nonnull List<Entry> entries) throws IOException {
+        if (entries.isEmpty()) {
+            return;
+        }
+        int first = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            if (entries.get(i).isFull()) {
+                first = i;
+            }
+        }
+
+        boolean full = entries.get(first).isFull();
+        if (!full && isBroken) {
+            throw new IOException("Save file needs a full save after an earlier failure");
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (Entry entry : entries.subList(first, entries.size())) {
+            bytes.writeBytes(entry.bytes());
+        }
+        ByteBuffer body = ByteBuffer.wrap(bytes.toByteArray());
+        ByteBuffer header = entries.get(entries.size() - 1).header().encode();
+
+        Path path = file.toPath();
+        try {
+            if (full) {
+                Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+                try (FileChannel channel = FileChannel.open(
+                    temporary,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING
+                )) {
+                    writeFully(channel, header, 0);
+                    writeFully(channel, body, SaveHeader.SIZE);
+                    channel.force(false);
+                }
+                try {
+                    Files.move(
+                        temporary, path,
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE
+                    );
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } else {
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                    writeFully(channel, body, channel.size());
+                    writeFully(channel, header, 0);
+                    channel.force(false);
+                }
+            }
+            isBroken = false;
+        } catch (IOException e) {
+            isBroken = true;
+            needsFullSave = true;
+            throw e;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer bytes, long position)
+        throws IOException {
+        while (bytes.hasRemaining()) {
+            position += channel.write(bytes, position);
+        }
+    }
+
+    private void writeDelta(Serializer serializer, Game game, GameSnapshot snapshot) {
+        serializer.accept(game.getCurrentPlayerNumber());
+        serializer.accept(game.getTurns());
+        serializer.accept(game.getTurnPhase() == TurnPhase.WINNER);
+        serializer.accept(game.getSeed());
+        serializer.accept(game.getRandomDraws());
+
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < snapshot.players.length; i++) {
+            if (changed(saved.players[i], snapshot.players[i])) {
+                players.add(game.getPlayers().get(i));
+            }
+        }
+        serializer.accept(players);
+
+        // Same format as a map of property IDs to states.
+        List<Integer> properties = new ArrayList<>();
+        for (int i = 0; i < snapshot.properties.length; i++) {
+            if (changed(saved.properties[i], snapshot.properties[i])) {
+                properties.add(i);
+            }
+        }
+        Board board = game.getBoard();
+        serializer.accept(properties.size());
+        for (int number : properties) {
+            String id = board.getPropertyIds().get(number);
+            serializer.acceptItemId(id, board.itemIndex());
+            serializer.accept(game.getPropertyState(id));
+        }
+    }
+
+    private static boolean changed(Record saved, Record current) {
+        // Unchanged entries are usually shared between snapshots.
+        return saved != current && !saved.equals(current);
+    }
+
+    /**
+     * Loads the game from the file, applying any deltas to its last full save. Later saves of the
+     * game append to the file.
+     * @param boards available boards
+     * @throws IOException if there was an error or the file is invalid
+     */
+    @Nonnull
+    public Game load(@Nonnull List<Board> boards) throws IOException {
+        saved = null;
+        byte[] contents;
+        try (FileInputStream input = new FileInputStream(file)) {
+            contents = input.readAllBytes();
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(contents);
+        boolean hasHeader = SaveHeader.isHeader(buffer);
+        if (hasHeader) {
+            buffer.position(SaveHeader.SIZE);
+        }
+        Format loadedFormat = BinaryDeserializer.hasHeader(buffer) ? Format.BINARY : Format.TEXT;
+        Deserializer deserializer;
+        boolean isLegacy = false;
+        if (loadedFormat == Format.BINARY) {
+            deserializer = new BinaryDeserializer(buffer);
+            if (!deserializer.readLine().equals(FULL)) {
+                throw new IOException("Save doesn't start with a full save");
+            }
+        } else {
+            // Text saves are read with the default charset (see FileReader.)
+            CharBuffer chars = Charset.defaultCharset().decode(buffer);
+            deserializer = new CharBufferDeserializer(chars.duplicate());
+            isLegacy = deserializer.isAtEnd() || !deserializer.readLine().equals(FULL);
+            if (isLegacy) {
+                deserializer = new CharBufferDeserializer(chars);
+            }
+        }
+
+        try {
+            Game game = Game.deserialize(deserializer, boards);
+            if (isLegacy) {
+                // Old saves may end without a seed, so rewrite them before appending anything.
+                return game;
+            }
+
+            int count = 0;
+            while (!deserializer.isAtEnd()) {
+                try {
+                    if (!deserializer.readLine().equals(DELTA)) {
+                        throw new IOException("Unknown save entry type");
+                    }
+                    readDelta(deserializer, game);
+                } catch (IOException e) {
+                    if (!deserializer.isAtEnd()) {
+                        throw e;
+                    }
+                    // The last delta was cut off while being appended, so drop it and replace
+                    // the file on the next save.
+                    return game;
+                }
+                count++;
+            }
+
+            if (loadedFormat != format || !hasHeader) {
+                // Deltas can't be appended in another format or without a header to keep up to
+                // date, so rewrite the file first.
+                return game;
+            }
+
+            saved = game.snapshot();
+            deltas = count;
+            size = contents.length;
+            return game;
+        } finally {
+            deserializer.close();
+        }
+    }
+
+    private static void readDelta(Deserializer deserializer, Game game) throws IOException {
+        Board board = game.getBoard();
+        int currentPlayerNumber = deserializer.readInt();
+        int turns = deserializer.readInt();
+        boolean isComplete = deserializer.readBoolean();
+        long seed = deserializer.readLong();
+        long randomDraws = deserializer.readLong();
+        if (currentPlayerNumber < 0 || currentPlayerNumber >= game.getPlayers().size()) {
+            throw new IOException("Invalid current player number");
+        }
+        if (randomDraws < 0) {
+            throw new IOException("Invalid number of random draws");
+        }
+
+        List<Player> players = deserializer.readList(d -> Player.deserialize(d, board));
+        for (Player player : players) {
+            if (player.getNumber() < 0 || player.getNumber() >= game.getPlayers().size()) {
+                throw new IOException("Invalid player number");
+            }
+            if (player.getLocation() < 0 || player.getLocation() >= board.tiles().size()) {
+                throw new IOException("Illegal location for player");
+            }
+        }
+        Map<String, PropertyState> states = new HashMap<>();
+        int count = deserializer.readInt();
+        for (int i = 0; i < count; i++) {
+            String id = deserializer.readItemId(board.itemIndex());
+            if (board.getPropertyNumber(id) < 0) {
+                throw new IOException("Invalid property ID for property state");
+            }
+            states.put(id, PropertyState.deserialize(deserializer, board));
+        }
+
+        // Only change the game once the whole delta has been read.
+        for (Player player : players) {
+            game.getPlayers().get(player.getNumber()).restore(player.snapshot(null));
+        }
+        for (Map.Entry<String, PropertyState> entry : states.entrySet()) {
+            game.getPropertyState(entry.getKey()).restore(entry.getValue().snapshot(null));
+        }
+        game.loadProgress(currentPlayerNumber, turns, isComplete, seed, randomDraws);
+    }
+}
@@ -0,0 +1,152 @@
+package dev.anli.oligopoly.state;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Summary of a saved game, written in a fixed-size header at the start of its {@link SaveFile},
+ * so that saves can be listed without loading them.
+ * <p>
+ * Because the header has a fixed size, it is rewritten in place whenever a delta is appended.
+ * @param boardName name of the game's board, cut short if it doesn't fit
+ * @param turns number of the turn the game was saved at (see {@link Game#getTurns()})
+ * @param playersAlive number of players still in the game
+ * @param players number of players the game started with
+ * @param isComplete whether the game is over
+ * @param lastModified time the game was saved at, in milliseconds since the epoch
+ */
+public record SaveHeader(
+    @Nonnull String boardName,
+    int turns,
+    int playersAlive,
+    int players,
+    boolean isComplete,
+    long lastModified
+) {
+    /**
+     * Size of the header in bytes.
+     */
+    public static final int SIZE = 128;
+
+    /**
+     * Bytes the header starts with, which can't start a serialized game in either format.
+     */
+    private static final byte[] MAGIC = {0, 'O', 'L', 'S'};
+    private static final int VERSION = 1;
+    private static final int NAME_OFFSET = 28;
+
+    /**
+     * Gets the header of a game as it is now.
+     * @param game game to summarize
+     * @param lastModified time the game is saved at, in milliseconds since the epoch
+     */
+    @Nonnull
+    public static SaveHeader of(@Nonnull Game game, long lastModified) {
+        int playersAlive = (int) game.getPlayers().stream().filter(Player::isAlive).count();
+        return new SaveHeader(
+            game.getBoard().name(),
+            game.getTurns(),
+            playersAlive,
+            game.getPlayers().size(),
+            game.getTurnPhase() == TurnPhase.WINNER,
+            lastModified
+        );
+    }
+
+    /**
+     * Encodes the header in {@link #SIZE} bytes.
+     */
+    @Nonnull
+    ByteBuffer encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(SIZE);
+        buffer.put(MAGIC);
+        buffer.put((byte) VERSION);
+        buffer.put((byte) (isComplete ? 1 : 0));
+        buffer.putInt(turns);
+        buffer.putInt(playersAlive);
+        buffer.putInt(players);
+        buffer.putLong(lastModified);
+
+        // Encode as much of the name as fits, without splitting a character.
+        ByteBuffer name = ByteBuffer.allocate(SIZE - NAME_OFFSET);
+        CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        encoder.encode(CharBuffer.wrap(boardName), name, true);
+        name.flip();
+        buffer.putShort((short) name.remaining());
+        buffer.put(name);
+
+        return buffer.clear();
+    }
+
+    /**
+     * Returns whether the buffer's remaining bytes start with a header, without consuming them.
+     */
+    public static boolean isHeader(@Nonnull ByteBuffer buffer) {
+        if (buffer.remaining() < SIZE) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (buffer.get(buffer.position() + i) != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decodes a header from the buffer's remaining bytes, consuming {@link #SIZE} bytes.
+     * @throws IOException if the buffer doesn't start with a header of a supported version
+     */
+    @Nonnull
+    public static SaveHeader decode(@Nonnull ByteBuffer buffer) throws IOException {
+        if (!isHeader(buffer)) {
+            throw new IOException("Not a save header");
+        }
+
+        ByteBuffer header = buffer.slice(buffer.position(), SIZE);
+        buffer.position(buffer.position() + SIZE);
+        header.position(MAGIC.length);
+        if (header.get() > VERSION) {
+            throw new IOException("Unsupported save header version");
+        }
+        boolean isComplete = header.get() != 0;
+        int turns = header.getInt();
+        int playersAlive = header.getInt();
+        int players = header.getInt();
+        long lastModified = header.getLong();
+        int nameLength = header.getShort();
+        if (nameLength < 0 || nameLength > SIZE - NAME_OFFSET) {
+            throw new IOException("Invalid board name length");
+        }
+        header.limit(header.position() + nameLength);
+        String boardName = StandardCharsets.UTF_8.decode(header).toString();
+        return new SaveHeader(boardName, turns, playersAlive, players, isComplete, lastModified);
+    }
+
+    /**
+     * Reads the header of a save file, reading nothing else.
+     * @throws IOException if there was an error or the file doesn't start with a header
+     */
+    @Nonnull
+    public static SaveHeader read(@Nonnull File file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SIZE);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+        }
+        return decode(buffer.flip());
+    }
+}
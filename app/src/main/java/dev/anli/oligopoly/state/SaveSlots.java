@@ -0,0 +1,122 @@
+package dev.anli.oligopoly.state;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A directory of saved games, each in its own slot: a {@link SaveFile} and a {@link GameLog},
+ * named after the slot's ID.
+ * <p>
+ * Slots are listed by reading only the {@link SaveHeader} of each save, in parallel, so listing
+ * takes about as long as reading a small block of every file.
+ */
+public final class SaveSlots {
+    private static final String SAVE_EXTENSION = ".sav";
+    private static final String LOG_EXTENSION = ".log";
+
+    /**
+     * A saved game.
+     * @param id ID of the slot, which names its files
+     * @param header header of the save
+     */
+    public record Slot(@Nonnull String id, @Nonnull SaveHeader header) {}
+
+    private final File directory;
+
+    /**
+     * Constructs a directory of saved games. The directory is created when a slot is.
+     * @param directory directory of the saves
+     */
+    public SaveSlots(@Nonnull File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Gets the directory of the saves.
+     */
+    @Nonnull
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Creates an empty slot.
+     * @return ID of the slot
+     * @throws IOException if the slot couldn't be created
+     */
+    @Nonnull
+    public String create() throws IOException {
+        Files.createDirectories(directory.toPath());
+        while (true) {
+            String id = Long.toString(System.currentTimeMillis(), 36) + '-' +
+                Integer.toString(ThreadLocalRandom.current().nextInt(36 * 36 * 36), 36);
+            try {
+                Files.createFile(getSaveFile(id).toPath());
+                return id;
+            } catch (FileAlreadyExistsException e) {
+                // Try another ID.
+            }
+        }
+    }
+
+    /**
+     * Gets the save file of a slot.
+     */
+    @Nonnull
+    public File getSaveFile(@Nonnull String id) {
+        return new File(directory, id + SAVE_EXTENSION);
+    }
+
+    /**
+     * Gets the log file of a slot.
+     */
+    @Nonnull
+    public File getLogFile(@Nonnull String id) {
+        return new File(directory, id + LOG_EXTENSION);
+    }
+
+    /**
+     * Lists the saved games, most recently saved first. Saves without a readable header, such as
+     * slots that haven't been saved to yet, are left out.
+     */
+    @Nonnull
+    public List<Slot> list() {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(SAVE_EXTENSION));
+        if (files == null) {
+            return List.of();
+        }
+
+        return Arrays.stream(files)
+            .parallel()
+            .map(file -> {
+                String name = file.getName();
+                String id = name.substring(0, name.length() - SAVE_EXTENSION.length());
+                try {
+                    return new Slot(id, SaveHeader.read(file));
+                } catch (IOException e) {
+                    return null;
+                }
+            })
+            .filter(Objects::nonNull)
+            .sorted(Comparator.comparingLong((Slot slot) -> slot.header().lastModified())
+                .reversed())
+            .toList();
+    }
+
+    /**
+     * Deletes a slot's files.
+     * @throws IOException if the files couldn't be deleted
+     */
+    public void delete(@Nonnull String id) throws IOException {
+        Files.deleteIfExists(getLogFile(id).toPath());
+        Files.deleteIfExists(getSaveFile(id).toPath());
+    }
+}
@@ -0,0 +1,70 @@
+package dev.anli.oligopoly;
+
+import dev.anli.oligopoly.board.Board;
+import dev.anli.oligopoly.bot.GreedyBuyerPolicy;
+import dev.anli.oligopoly.bot.PlayerPolicy;
+import dev.anli.oligopoly.state.AutoSaver;
+import dev.anli.oligopoly.state.Game;
+import dev.anli.oligopoly.state.SaveFile;
+import dev.anli.oligopoly.state.TurnPhase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static dev.anli.oligopoly.Fixtures.findBoard;
+import static dev.anli.oligopoly.Fixtures.serialize;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AutoSaverTest {
+    @Test public void autoSaverWritesLatestSave(@TempDir File directory) throws IOException {
+        Board board = findBoard("Standard");
+        Game game = new Game(board, 3, board.startItems(), 29);
+        SaveFile saveFile = new SaveFile(
+            new File(directory, "game.txt"), SaveFile.Format.TEXT, 1000, Long.MAX_VALUE
+        );
+        List<AutoSaver.Report> reports = Collections.synchronizedList(new ArrayList<>());
+        AutoSaver saver = new AutoSaver(saveFile, reports::add);
+        List<String> saves = new ArrayList<>();
+        game.setGameSaver(g -> {
+            saver.save(g);
+            saves.add(serialize(g));
+        });
+
+        PlayerPolicy policy = new GreedyBuyerPolicy();
+        while (game.getTurns() < 40 && game.getTurnPhase() != TurnPhase.WINNER) {
+            policy.step(game);
+        }
+        saver.close();
+
+        assertTrue(reports.stream().allMatch(report -> report.failure() == null));
+        assertEquals(saves.size(), reports.stream().mapToInt(AutoSaver.Report::saves).sum());
+        Game loaded = new SaveFile(saveFile.getFile()).load(List.of(board));
+        assertEquals(saves.get(saves.size() - 1), serialize(loaded));
+
+        // A delta cut off part of the way is dropped.
+        RandomAccessFile file = new RandomAccessFile(saveFile.getFile(), "rw");
+        file.setLength(file.length() - 3);
+        file.close();
+        loaded = new SaveFile(saveFile.getFile()).load(List.of(board));
+        assertEquals(saves.get(saves.size() - 2), serialize(loaded));
+    }
+
+    @Test public void autoSaverReportsFailedWrites(@TempDir File directory) {
+        Board board = findBoard("Standard");
+        SaveFile saveFile = new SaveFile(new File(directory, "missing/game.sav"));
+        List<AutoSaver.Report> reports = Collections.synchronizedList(new ArrayList<>());
+        AutoSaver saver = new AutoSaver(saveFile, reports::add);
+
+        saver.save(new Game(board, 2, board.startItems(), 3));
+        assertThrows(IOException.class, saver::flush);
+        assertThrows(IOException.class, saver::close);
+        assertEquals(1, reports.size());
+        assertNotNull(reports.get(0).failure());
+    }
+}
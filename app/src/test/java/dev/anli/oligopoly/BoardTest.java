@@ -0,0 +1,96 @@
+package dev.anli.oligopoly;
+
+import dev.anli.oligopoly.board.Board;
+import dev.anli.oligopoly.board.ItemIndex;
+import dev.anli.oligopoly.board.property.Property;
+import dev.anli.oligopoly.board.property.PropertyCategory;
+import dev.anli.oligopoly.board.tile.JailTile;
+import dev.anli.oligopoly.board.tile.PropertyTile;
+import dev.anli.oligopoly.board.tile.Tile;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoardTest {
+    @Test public void propertyIndexesMatchItems() {
+        for (Board board : Boards.getBoards()) {
+            ItemIndex index = board.itemIndex();
+            List<String> propertyIds = new ArrayList<>();
+            Set<PropertyCategory> categories = new HashSet<>();
+            for (int ordinal = 0; ordinal < index.size(); ordinal++) {
+                String id = index.idAt(ordinal);
+                if (!(board.getItem(id) instanceof Property property)) {
+                    assertEquals(-1, board.getPropertyNumber(id));
+                    assertEquals(-1, board.getItemCategoryNumber(ordinal));
+                    continue;
+                }
+
+                assertEquals(propertyIds.size(), board.getPropertyNumber(id), id);
+                propertyIds.add(id);
+                PropertyCategory category = property.getCategory();
+                categories.add(category);
+                int number = board.getItemCategoryNumber(ordinal);
+                assertEquals(category, board.getCategories().get(number), id);
+                assertEquals(number, board.getCategoryNumber(category), id);
+                assertEquals(
+                    property.createRentTable(),
+                    board.getRentTable(board.getPropertyNumber(id)),
+                    id
+                );
+            }
+            assertEquals(propertyIds, board.getPropertyIds(), board.name());
+            assertEquals(categories, Set.copyOf(board.getCategories()), board.name());
+            assertEquals(-1, board.getPropertyNumber("NOT_AN_ITEM"));
+
+            for (PropertyCategory category : board.getCategories()) {
+                List<String> expected = propertyIds.stream()
+                    .filter(id -> ((Property) board.getItem(id)).getCategory().equals(category))
+                    .toList();
+                assertEquals(expected, board.getProperties(category), board.name());
+            }
+        }
+    }
+
+    @Test public void tileIndexesMatchTiles() {
+        for (Board board : Boards.getBoards()) {
+            List<Tile> tiles = board.tiles();
+            Set<Class<? extends Tile>> types = new HashSet<>();
+            for (Tile tile : tiles) {
+                types.add(tile.getClass());
+            }
+            for (Class<? extends Tile> type : types) {
+                List<Integer> expected = new ArrayList<>();
+                for (int i = 0; i < tiles.size(); i++) {
+                    if (tiles.get(i).getClass() == type) {
+                        expected.add(i);
+                    }
+                }
+                assertEquals(expected, board.getTileLocations(type), board.name());
+            }
+
+            for (String id : board.items().keySet()) {
+                List<Integer> expected = new ArrayList<>();
+                for (int i = 0; i < tiles.size(); i++) {
+                    if (tiles.get(i) instanceof PropertyTile tile && tile.itemId().equals(id)) {
+                        expected.add(i);
+                    }
+                }
+                assertEquals(expected, board.getPropertyLocations(id), id);
+            }
+
+            OptionalInt jail = OptionalInt.empty();
+            for (int i = tiles.size() - 1; i >= 0; i--) {
+                if (tiles.get(i) instanceof JailTile) {
+                    jail = OptionalInt.of(i);
+                }
+            }
+            assertEquals(jail, board.getJailLocation(), board.name());
+        }
+    }
+}
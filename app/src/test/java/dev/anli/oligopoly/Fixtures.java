@@ -0,0 +1,33 @@
+package dev.anli.oligopoly;
+
+import dev.anli.oligopoly.board.Board;
+import dev.anli.oligopoly.io.Serializer;
+import dev.anli.oligopoly.state.Game;
+
+/**
+ * Boards and helpers shared by the tests.
+ */
+final class Fixtures {
+    private Fixtures() {
+        // This is purely a container for static methods.
+    }
+
+    /**
+     * Finds one of the bundled boards by name.
+     */
+    static Board findBoard(String name) {
+        return Boards.getBoards().stream()
+            .filter(board -> board.name().equals(name))
+            .findFirst()
+            .orElseThrow();
+    }
+
+    /**
+     * Serializes a game as text, so that games can be compared.
+     */
+    static String serialize(Game game) {
+        Serializer serializer = new Serializer();
+        serializer.accept(game);
+        return serializer.dump();
+    }
+}
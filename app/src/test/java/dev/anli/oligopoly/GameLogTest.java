@@ -0,0 +1,110 @@
+package dev.anli.oligopoly;
+
+import dev.anli.oligopoly.board.Board;
+import dev.anli.oligopoly.bot.GreedyBuyerPolicy;
+import dev.anli.oligopoly.bot.PlayerPolicy;
+import dev.anli.oligopoly.state.Game;
+import dev.anli.oligopoly.state.GameLog;
+import dev.anli.oligopoly.state.GameSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static dev.anli.oligopoly.Fixtures.findBoard;
+import static dev.anli.oligopoly.Fixtures.serialize;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameLogTest {
+    @Test public void logRebuildsAnyTurn() throws IOException {
+        Board board = findBoard("Standard");
+        Game game = new Game(board, 3, board.startItems(), 17);
+        Map<Integer, String> turnStarts = new HashMap<>();
+        turnStarts.put(game.getTurns(), serialize(game));
+        game.setGameSaver(g -> turnStarts.put(g.getTurns(), serialize(g)));
+        StringWriter writer = new StringWriter();
+        GameLog log = GameLog.start(game, writer, 4);
+
+        PlayerPolicy policy = new GreedyBuyerPolicy();
+        for (int i = 0; i < 300; i++) {
+            policy.step(game);
+        }
+        // Undo a stretch of the game, which the log has to skip.
+        GameSnapshot snapshot = game.snapshot();
+        for (int i = 0; i < 100; i++) {
+            policy.step(game);
+        }
+        game.restore(snapshot);
+        for (int i = 0; i < 403; i++) {
+            policy.step(game);
+        }
+        log.close();
+
+        String logged = writer.toString();
+        Game latest = GameLog.rebuild(new StringReader(logged), List.of(board), Integer.MAX_VALUE);
+        assertEquals(serialize(game), serialize(latest));
+        assertEquals(game.getTurnPhase(), latest.getTurnPhase());
+        assertEquals(game.getDecisions(), latest.getDecisions());
+        assertEquals(game.getCurrentActions().size(), latest.getCurrentActions().size());
+
+        for (int turn : List.of(1, 5, 8, game.getTurns() - 1)) {
+            Game rebuilt = GameLog.rebuild(new StringReader(logged), List.of(board), turn);
+            assertEquals(turn, rebuilt.getTurns());
+            assertEquals(turnStarts.get(turn), serialize(rebuilt));
+        }
+    }
+
+    @Test public void resumedLogRebuildsLatestGame() throws IOException {
+        Board board = findBoard("Standard");
+        Game game = new Game(board, 3, board.startItems(), 13);
+        StringWriter writer = new StringWriter();
+        GameLog log = GameLog.start(game, writer, 4);
+        PlayerPolicy policy = new GreedyBuyerPolicy();
+        for (int i = 0; i < 150; i++) {
+            policy.step(game);
+        }
+        log.close();
+
+        Game rebuilt =
+            GameLog.rebuild(new StringReader(writer.toString()), List.of(board), Integer.MAX_VALUE);
+        log = GameLog.resume(rebuilt, writer, 4);
+        for (int i = 0; i < 150; i++) {
+            policy.step(rebuilt);
+        }
+        log.close();
+
+        String logged = writer.toString();
+        Game latest = GameLog.rebuild(new StringReader(logged), List.of(board), Integer.MAX_VALUE);
+        assertEquals(serialize(rebuilt), serialize(latest));
+        assertEquals(rebuilt.getDecisions(), latest.getDecisions());
+
+        // Logs whose entries each end with a line break read the same.
+        Game terminated = GameLog.rebuild(
+            new StringReader(logged + "\n"), List.of(board), Integer.MAX_VALUE
+        );
+        assertEquals(serialize(latest), serialize(terminated));
+    }
+
+    @Test public void logStartsAtTurnStart() {
+        Board board = findBoard("Standard");
+        Game game = new Game(board, 2, board.startItems(), 17);
+        game.transitionToPremove();
+        assertThrows(
+            IllegalStateException.class, () -> GameLog.start(game, new StringWriter(), 4)
+        );
+    }
+
+    @Test public void invalidLogsAreRejected() {
+        Board board = findBoard("Standard");
+        for (String log : List.of("", "event\npremove\n", "unknown\n")) {
+            assertThrows(
+                IOException.class,
+                () -> GameLog.rebuild(new StringReader(log), List.of(board), Integer.MAX_VALUE)
+            );
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package dev.anli.oligopoly;
+
+import dev.anli.oligopoly.board.Board;
+import dev.anli.oligopoly.bot.PlayerPolicy;
+import dev.anli.oligopoly.bot.RandomPolicy;
+import dev.anli.oligopoly.io.BinaryDeserializer;
+import dev.anli.oligopoly.io.BinarySerializer;
+import dev.anli.oligopoly.state.Game;
+import dev.anli.oligopoly.state.GameLog;
+import dev.anli.oligopoly.state.GameReplay;
+import dev.anli.oligopoly.state.TurnPhase;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static dev.anli.oligopoly.Fixtures.findBoard;
+import static dev.anli.oligopoly.Fixtures.serialize;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameReplayTest {
+    @Test public void replayPlaysGameBack() throws IOException {
+        Board board = findBoard("Standard");
+        Game game = new Game(board, 4, board.startItems(), 29);
+        GameReplay.Recorder recorder = GameReplay.record(game);
+        Map<Integer, String> turnStarts = new HashMap<>();
+        game.setGameSaver(g -> turnStarts.put(g.getTurns(), serialize(g)));
+        PlayerPolicy policy = new RandomPolicy(new SplittableRandom(29));
+        while (game.getTurns() < 300 && policy.step(game)) {
+            // Keep playing.
+        }
+        assertTrue(recorder.isReplayable());
+
+        byte[] bytes = recorder.getReplay().toByteArray();
+        assertTrue(bytes.length < 512, "Replay takes " + bytes.length + " bytes");
+        GameReplay replay = GameReplay.fromByteArray(bytes, List.of(board));
+        assertEquals(game.getDecisions(), replay.size());
+        assertEquals(serialize(game), serialize(replay.play(Integer.MAX_VALUE)));
+
+        Game turn = replay.play(120);
+        assertEquals(120, turn.getTurns());
+        assertEquals(TurnPhase.START, turn.getTurnPhase());
+        assertEquals(turnStarts.get(120), serialize(turn));
+    }
+
+    @Test public void recorderAndLogListenTogether() throws IOException {
+        Board board = findBoard("Standard");
+        Game game = new Game(board, 3, board.startItems(), 23);
+        GameReplay.Recorder recorder = GameReplay.record(game);
+        StringWriter writer = new StringWriter();
+        GameLog log = GameLog.start(game, writer, 4);
+
+        PlayerPolicy policy = new RandomPolicy(new SplittableRandom(23));
+        for (int i = 0; i < 200; i++) {
+            policy.step(game);
+        }
+        // Closing the log leaves the recorder listening.
+        log.close();
+        String logged = writer.toString();
+        for (int i = 0; i < 200; i++) {
+            policy.step(game);
+        }
+        assertEquals(serialize(game), serialize(recorder.getReplay().play(Integer.MAX_VALUE)));
+        assertEquals(logged, writer.toString());
+
+        // Stopping the recorder leaves a new log listening.
+        StringWriter resumed = new StringWriter();
+        while (game.getTurnPhase() != TurnPhase.START && policy.step(game)) {
+            // Play to the start of a turn.
+        }
+        GameLog next = GameLog.start(game, resumed, 4);
+        recorder.stop();
+        int recorded = recorder.getReplay().size();
+        for (int i = 0; i < 100 && game.getTurnPhase() != TurnPhase.WINNER; i++) {
+            policy.step(game);
+        }
+        next.close();
+        assertEquals(recorded, recorder.getReplay().size());
+        Game rebuilt = GameLog.rebuild(
+            new StringReader(resumed.toString()), List.of(board), Integer.MAX_VALUE
+        );
+        assertEquals(serialize(game), serialize(rebuilt));
+    }
+
+    @Test public void replaysStartWithTheGame() {
+        Board board = findBoard("Standard");
+        Game game = new Game(board, 2, board.startItems(), 29);
+        game.transitionToPremove();
+        assertThrows(IllegalStateException.class, () -> GameReplay.record(game));
+    }
+
+    @Test public void invalidReplaysAreRejected() throws IOException {
+        Board board = findBoard("Standard");
+        assertThrows(
+            IOException.class, () -> GameReplay.fromByteArray(new byte[] {1, 2, 3}, List.of(board))
+        );
+
+        // A replay whose first decision picks an action the game doesn't offer.
+        BinarySerializer serializer = new BinarySerializer();
+        serializer.accept(board.name());
+        serializer.accept(2);
+        serializer.accept(board.startItems());
+        serializer.accept(29L);
+        serializer.accept(1);
+        serializer.accept(2 * 50 + 1);
+        byte[] bytes = serializer.toByteArray();
+        GameReplay replay =
+            GameReplay.deserialize(new BinaryDeserializer(ByteBuffer.wrap(bytes)), List.of(board));
+        assertThrows(IllegalStateException.class, () -> replay.play(Integer.MAX_VALUE));
+
+        assertThrows(
+            IOException.class,
+            () -> GameReplay.deserialize(new BinaryDeserializer(ByteBuffer.wrap(bytes)), List.of())
+        );
+    }
+}
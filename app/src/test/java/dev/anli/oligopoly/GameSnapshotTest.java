@@ -0,0 +1,84 @@
+package dev.anli.oligopoly;
+
+import dev.anli.oligopoly.board.Board;
+import dev.anli.oligopoly.bot.GreedyBuyerPolicy;
+import dev.anli.oligopoly.bot.PlayerPolicy;
+import dev.anli.oligopoly.sim.Simulator;
+import dev.anli.oligopoly.state.Game;
+import dev.anli.oligopoly.state.GameSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static dev.anli.oligopoly.Fixtures.findBoard;
+import static dev.anli.oligopoly.Fixtures.serialize;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameSnapshotTest {
+    @Test public void restoredSnapshotReplaysGame() {
+        Board board = findBoard("Standard");
+        Game game = new Game(board, 4, board.startItems(), 11);
+        new Simulator(board, 4, 30, new SplittableRandom(1)).play(game);
+        GameSnapshot snapshot = game.snapshot();
+        String saved = serialize(game);
+
+        new Simulator(board, 4, 80, new SplittableRandom(2)).play(game);
+        String played = serialize(game);
+        assertNotEquals(saved, played);
+
+        game.restore(snapshot);
+        assertEquals(saved, serialize(game));
+        new Simulator(board, 4, 80, new SplittableRandom(2)).play(game);
+        assertEquals(played, serialize(game));
+    }
+
+    @Test public void snapshotOfAnotherGameIsRejected() {
+        Board board = findBoard("Standard");
+        Game game = new Game(board, 2, board.startItems(), 11);
+        Game other = new Game(board, 2, board.startItems(), 11);
+        assertThrows(IllegalArgumentException.class, () -> game.restore(other.snapshot()));
+    }
+
+    @Test public void restoredSnapshotsKeepDrawing() {
+        Board board = findBoard("Standard");
+        Game game = new Game(board, 2, board.startItems(), 5);
+        new Simulator(board, 2, 40, new SplittableRandom(5)).play(game);
+        GameSnapshot snapshot = game.snapshot();
+        long start = game.getRandomDraws();
+        List<List<Integer>> rolls = List.of(game.rollDice(), game.rollDice(), game.rollDice());
+        long draws = game.getRandomDraws();
+
+        // Restoring twice draws the same numbers, since restoring doesn't share the generator.
+        for (int i = 0; i < 2; i++) {
+            game.restore(snapshot);
+            assertEquals(start, game.getRandomDraws());
+            assertEquals(rolls, List.of(game.rollDice(), game.rollDice(), game.rollDice()));
+            assertEquals(draws, game.getRandomDraws());
+        }
+    }
+
+    @Test public void restoringAnotherTurnSavesTheGame() {
+        Board board = findBoard("Standard");
+        Game game = new Game(board, 2, board.startItems(), 9);
+        List<Integer> savedTurns = new ArrayList<>();
+        game.setGameSaver(g -> savedTurns.add(g.getTurns()));
+        game.transitionToPremove();
+        GameSnapshot premove = game.snapshot();
+        PlayerPolicy policy = new GreedyBuyerPolicy();
+        while (game.getTurns() < 3) {
+            policy.step(game);
+        }
+        GameSnapshot later = game.snapshot();
+        savedTurns.clear();
+
+        // Going back to the first turn saves it over the later one; staying in it doesn't.
+        game.restore(premove);
+        assertEquals(List.of(1), savedTurns);
+        game.restore(game.snapshot());
+        assertEquals(List.of(1), savedTurns);
+        game.restore(later);
+        assertEquals(List.of(1, 3), savedTurns);
+    }
+}
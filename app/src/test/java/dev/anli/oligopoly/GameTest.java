@@ -0,0 +1,214 @@
+package dev.anli.oligopoly;
+
+import dev.anli.oligopoly.board.Board;
+import dev.anli.oligopoly.board.Money;
+import dev.anli.oligopoly.board.property.Hotel;
+import dev.anli.oligopoly.board.property.House;
+import dev.anli.oligopoly.board.property.PropertyCategory;
+import dev.anli.oligopoly.bot.GreedyBuyerPolicy;
+import dev.anli.oligopoly.bot.PlayerPolicy;
+import dev.anli.oligopoly.io.Deserializer;
+import dev.anli.oligopoly.io.Serializer;
+import dev.anli.oligopoly.sim.Simulator;
+import dev.anli.oligopoly.state.Game;
+import dev.anli.oligopoly.state.GameEvent;
+import dev.anli.oligopoly.state.GameSnapshot;
+import dev.anli.oligopoly.state.Items;
+import dev.anli.oligopoly.state.Player;
+import dev.anli.oligopoly.state.PropertyState;
+import dev.anli.oligopoly.state.TurnPhase;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+import static dev.anli.oligopoly.Fixtures.findBoard;
+import static dev.anli.oligopoly.Fixtures.serialize;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameTest {
+    @Test public void ownershipFollowsItemsDuringPlay() {
+        Board board = findBoard("Standard");
+        for (int seed = 0; seed < 20; seed++) {
+            Game game = new Game(board, 4, board.startItems(), seed);
+            new Simulator(board, 4, 300, new SplittableRandom(seed)).play(game);
+
+            for (String id : board.items().keySet()) {
+                Optional<Player> expected = game.getPlayers().stream()
+                    .filter(player -> player.getItems().has(id))
+                    .findFirst();
+                assertEquals(expected, game.findPlayerForItem(id));
+            }
+
+            for (PropertyCategory category : board.getCategories()) {
+                for (Player player : game.getPlayers()) {
+                    long count = board.getProperties(category).stream()
+                        .filter(id -> player.getItems().has(id))
+                        .count();
+                    assertEquals(count, player.countProperties(category, board));
+                    assertEquals(
+                        count == board.getProperties(category).size(),
+                        player.hasMonopoly(category, board)
+                    );
+                }
+            }
+        }
+    }
+
+    @Test public void cachedRentFollowsOwnershipAndBuildings() {
+        Board board = findBoard("Standard");
+        Game game = new Game(board, 2, board.startItems(), 1);
+        Player owner = game.getPlayers().get(0);
+
+        assertTrue(game.getRent("BROWN_1").isEmpty());
+        owner.getItems().add("BROWN_1", 1);
+        assertEquals(2, game.getRent("BROWN_1").get(Money.ID));
+        owner.getItems().add("BROWN_2", 1);
+        assertEquals(4, game.getRent("BROWN_1").get(Money.ID));
+        game.getPropertyState("BROWN_1").getItems().add(House.ID, 1);
+        assertEquals(10, game.getRent("BROWN_1").get(Money.ID));
+        game.getPropertyState("BROWN_1").getItems().set(House.ID, 0);
+        game.getPropertyState("BROWN_1").getItems().add(Hotel.ID, 1);
+        assertEquals(250, game.getRent("BROWN_1").get(Money.ID));
+        game.setPropertyState("BROWN_1", new PropertyState(false, board.newItems()));
+        assertEquals(4, game.getRent("BROWN_1").get(Money.ID));
+
+        owner.getItems().add("RAILROAD_1", 1);
+        assertEquals(25, game.getRent("RAILROAD_1").get(Money.ID));
+        game.getPlayers().get(1).getItems().add("RAILROAD_2", 1);
+        assertEquals(25, game.getRent("RAILROAD_2").get(Money.ID));
+        owner.getItems().add("RAILROAD_3", 1);
+        assertEquals(50, game.getRent("RAILROAD_1").get(Money.ID));
+        game.getPlayers().get(1).getItems().set("RAILROAD_2", 0);
+        owner.getItems().add("RAILROAD_2", 1);
+        assertEquals(100, game.getRent("RAILROAD_1").get(Money.ID));
+    }
+
+    @Test public void seededGamesAreReproducible() {
+        Board board = findBoard("Standard");
+        Game a = new Game(board, 4, board.startItems(), 1234);
+        Game b = new Game(board, 4, board.startItems(), 1234);
+        new Simulator(board, 4, 200, new SplittableRandom(5)).play(a);
+        new Simulator(board, 4, 200, new SplittableRandom(5)).play(b);
+
+        assertEquals(a.getTurns(), b.getTurns());
+        assertEquals(a.getRandomDraws(), b.getRandomDraws());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(a.getPlayers().get(i).getItems(), b.getPlayers().get(i).getItems());
+            assertEquals(a.getPlayers().get(i).getLocation(), b.getPlayers().get(i).getLocation());
+        }
+    }
+
+    @Test public void serializedGameKeepsRandomState() throws IOException {
+        Board board = findBoard("Standard");
+        Game game = new Game(board, 2, board.startItems(), 99);
+        new Simulator(board, 2, 20, new SplittableRandom(3)).play(game);
+
+        Serializer serializer = new Serializer();
+        serializer.accept(game);
+        Game restored = Game.deserialize(
+            new Deserializer(new StringReader(serializer.dump())), List.of(board)
+        );
+
+        assertEquals(game.getSeed(), restored.getSeed());
+        assertEquals(game.getRandomDraws(), restored.getRandomDraws());
+        assertEquals(game.rollDice(), restored.rollDice());
+    }
+
+    @Test public void propertyStatesSurviveSerializationAndSnapshots() throws IOException {
+        Board board = findBoard("Standard");
+        Game game = new Game(board, 2, board.startItems(), 7);
+        Items houses = board.newItems();
+        houses.add(House.ID, 3);
+        Items hotel = board.newItems();
+        hotel.add(Hotel.ID, 1);
+        game.setPropertyState("BROWN_1", new PropertyState(false, houses));
+        game.setPropertyState("BROWN_2", new PropertyState(false, hotel));
+        game.setPropertyState("BLUE_1", new PropertyState(true, board.newItems()));
+        List<PropertyState> states = board.getPropertyIds().stream()
+            .map(id -> new PropertyState(
+                game.getPropertyState(id).isMortgaged(),
+                new Items(game.getPropertyState(id).getItems())
+            ))
+            .toList();
+
+        Serializer serializer = new Serializer();
+        serializer.accept(game);
+        Game restored = Game.deserialize(
+            new Deserializer(new StringReader(serializer.dump())), List.of(board)
+        );
+        for (int i = 0; i < states.size(); i++) {
+            String id = board.getPropertyIds().get(i);
+            assertEquals(states.get(i), restored.getPropertyState(id), id);
+            assertEquals(states.get(i), restored.getPropertyState(i), id);
+        }
+
+        GameSnapshot snapshot = game.snapshot();
+        game.getPropertyState("BROWN_1").getItems().set(House.ID, 0);
+        game.setPropertyState("BROWN_2", new PropertyState(true, board.newItems()));
+        game.setPropertyState("BLUE_1", new PropertyState(false, board.newItems()));
+        game.restore(snapshot);
+        for (int i = 0; i < states.size(); i++) {
+            String id = board.getPropertyIds().get(i);
+            assertEquals(states.get(i), game.getPropertyState(id), id);
+        }
+        assertEquals(serializer.dump(), serialize(game));
+    }
+
+    @Test public void copyReplaysCurrentTurn() {
+        Board board = findBoard("Standard");
+        Game game = new Game(board, 3, board.startItems(), 21);
+        game.recordTurns();
+        PlayerPolicy policy = new GreedyBuyerPolicy();
+        for (int i = 0; i < 200 || game.getTurnPhase() == TurnPhase.START; i++) {
+            policy.step(game);
+        }
+
+        Game copy = game.copy();
+        assertEquals(game.getTurnPhase(), copy.getTurnPhase());
+        assertEquals(game.getDiceRolls(), copy.getDiceRolls());
+        assertEquals(serialize(game), serialize(copy));
+
+        for (int i = 0; i < 200; i++) {
+            policy.step(game);
+            policy.step(copy);
+        }
+        assertEquals(serialize(game), serialize(copy));
+    }
+
+    @Test public void copyRequiresRecordedTurn() {
+        Board board = findBoard("Standard");
+        Game game = new Game(board, 2, board.startItems(), 21);
+        assertFalse(game.canCopy());
+        assertThrows(IllegalStateException.class, game::copy);
+    }
+
+    @Test public void listenersCanRemoveThemselvesDuringAnEvent() {
+        Board board = findBoard("Standard");
+        Game game = new Game(board, 2, board.startItems(), 3);
+        List<GameEvent> removed = new ArrayList<>();
+        List<GameEvent> kept = new ArrayList<>();
+        game.addEventListener(new Consumer<>() {
+            @Override
+            public void accept(GameEvent event) {
+                removed.add(event);
+                game.removeEventListener(this);
+            }
+        });
+        game.addEventListener(kept::add);
+
+        PlayerPolicy policy = new GreedyBuyerPolicy();
+        for (int i = 0; i < 20; i++) {
+            policy.step(game);
+        }
+        // The listener after the one that removed itself is still told about that event.
+        assertEquals(1, removed.size());
+        assertTrue(kept.size() > 1);
+        assertSame(removed.get(0), kept.get(0));
+    }
+}
@@ -490,6 +490,107 @@ public class ItemsTest {
         assertEquals(-234, entries[3].getValue());
     }
 
+    @Test public void indexedItemsEqualUnindexedItems() {
+        Items indexed = board.newItems();
+        indexed.set("A", 3);
+        indexed.set("OUTSIDE", -2);
+
+        Items unindexed = new Items();
+        unindexed.set("OUTSIDE", -2);
+        unindexed.set("A", 3);
+
+        assertEquals(unindexed, indexed);
+        assertEquals(indexed, unindexed);
+        assertEquals(unindexed.hashCode(), indexed.hashCode());
+        assertEquals(unindexed.toMap(), indexed.toMap());
+    }
+
+    @Test public void indexedItemsAddAcrossIndices() {
+        Items items = board.newItems();
+        items.set("A", 5);
+
+        Items toAdd = new Items();
+        toAdd.set("A", -5);
+        toAdd.set("OUTSIDE", 7);
+        items.add(toAdd);
+
+        assertEquals(0, items.get("A"));
+        assertEquals(7, items.get("OUTSIDE"));
+        assertTrue(items.has(new Items("OUTSIDE", 7)));
+
+        items.subtract(new Items("OUTSIDE", 7));
+        assertTrue(items.isEmpty());
+    }
+
+    @Test public void toEntryArrayIndexedWithUnknownItem() {
+        Items items = board.newItems();
+        items.set("A", -234);
+        items.set("ZZZ", 1);
+        items.set("D", 69420);
+
+        Map.Entry<String, Integer>[] entries = items.toEntryArray(board);
+
+        assertEquals(3, entries.length);
+        assertEquals("D", entries[0].getKey());
+        assertEquals("A", entries[1].getKey());
+        assertEquals("ZZZ", entries[2].getKey());
+    }
+
+    @Test public void emptyConstantIsFrozenAndEmpty() {
+        assertTrue(Items.EMPTY.isFrozen());
+        assertTrue(Items.EMPTY.isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> Items.EMPTY.add("THING", 1));
+    }
+
+    @Test public void frozenItemsRejectChanges() {
+        Items items = new Items("THING", 12).freeze();
+
+        assertThrows(UnsupportedOperationException.class, () -> items.set("THING", 1));
+        assertThrows(UnsupportedOperationException.class, () -> items.add("THING", 1));
+        assertThrows(UnsupportedOperationException.class, () -> items.add(new Items("A", 1)));
+        assertThrows(UnsupportedOperationException.class, () -> items.subtract(items));
+        assertThrows(UnsupportedOperationException.class, items::clear);
+        assertEquals(new Items("THING", 12), items);
+    }
+
+    @Test public void copyOfFrozenItemsIsMutable() {
+        Items frozen = new Items("THING", 12).freeze();
+        Items copy = new Items(frozen);
+        copy.add(frozen);
+
+        assertFalse(copy.isFrozen());
+        assertEquals(24, copy.get("THING"));
+        assertEquals(12, frozen.get("THING"));
+    }
+
+    @Test public void snapshotIsSharedUntilChanged() {
+        Items items = board.newItems();
+        items.add("A", 3);
+        Items snapshot = items.snapshot();
+
+        assertTrue(snapshot.isFrozen());
+        assertSame(snapshot, items.snapshot());
+
+        items.add("A", 1);
+        Items changed = items.snapshot();
+        assertNotSame(snapshot, changed);
+        assertEquals(3, snapshot.get("A"));
+        assertEquals(4, changed.get("A"));
+    }
+
+    @Test public void restoreSnapshot() {
+        Items items = board.newItems();
+        items.add("A", 3);
+        Items snapshot = items.snapshot();
+        items.add("A", 2);
+        items.add("UNKNOWN", 5);
+
+        items.restore(snapshot);
+
+        assertEquals(snapshot, items);
+        assertSame(snapshot, items.snapshot());
+    }
+
     private static Items deserialize(String string) throws IOException {
         StringReader reader = new StringReader(string);
         Deserializer deserializer = new Deserializer(reader);
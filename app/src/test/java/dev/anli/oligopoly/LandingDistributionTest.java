@@ -0,0 +1,40 @@
+package dev.anli.oligopoly;
+
+import dev.anli.oligopoly.analysis.LandingDistribution;
+import dev.anli.oligopoly.analysis.LandingDistribution.JailStrategy;
+import dev.anli.oligopoly.board.Board;
+import org.junit.jupiter.api.Test;
+
+import static dev.anli.oligopoly.Fixtures.findBoard;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LandingDistributionTest {
+    @Test public void landingDistributionFollowsRules() {
+        // Deathmatch has no jail, so each turn lands once, plus once more for each double.
+        Board deathmatch = findBoard("Deathmatch");
+        LandingDistribution distribution = LandingDistribution.of(deathmatch);
+        double landings = 0;
+        for (int i = 0; i < deathmatch.tiles().size(); i++) {
+            landings += distribution.getLandingsPerTurn(i);
+        }
+        assertEquals(1 + 1 / 6.0 + 1 / 36.0, landings, 1e-9);
+        assertSame(distribution, LandingDistribution.of(deathmatch));
+
+        Board standard = findBoard("Standard");
+        LandingDistribution rolling = LandingDistribution.of(standard);
+        LandingDistribution paying = LandingDistribution.of(standard, JailStrategy.PAY_FINE);
+        double probability = 0;
+        for (int i = 0; i < standard.tiles().size(); i++) {
+            probability += rolling.getLandingProbability(i);
+        }
+        assertEquals(1, probability, 1e-9);
+        assertTrue(paying.getJailProbability() < rolling.getJailProbability());
+
+        int location = standard.getPropertyLocations("BLUE_2").get(0);
+        assertEquals(
+            rolling.getLandingsPerTurn(location),
+            rolling.getPropertyLandingsPerTurn("BLUE_2")
+        );
+        assertEquals(0, rolling.getPropertyLandingsPerTurn("NOT_A_PROPERTY"));
+    }
+}
@@ -0,0 +1,46 @@
+package dev.anli.oligopoly;
+
+import dev.anli.oligopoly.board.Board;
+import dev.anli.oligopoly.bot.GreedyBuyerPolicy;
+import dev.anli.oligopoly.bot.MctsPolicy;
+import dev.anli.oligopoly.sim.Simulator;
+import dev.anli.oligopoly.state.Game;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static dev.anli.oligopoly.Fixtures.findBoard;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MctsPolicyTest {
+    @Test public void searchPlaysOnSeveralThreads() {
+        Board board = findBoard("King of the Hill");
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            SplittableRandom random = new SplittableRandom(3);
+            MctsPolicy search =
+                new MctsPolicy(random, 40, Long.MAX_VALUE, 5, pool, r -> new GreedyBuyerPolicy());
+            Simulator simulator =
+                new Simulator(board, List.of(search, new GreedyBuyerPolicy()), 300, random);
+            Game game = new Game(board, 2, board.startItems(), 3);
+
+            simulator.play(game);
+            assertTrue(search.getTotalPlayouts() > 0);
+            assertTrue(search.getPlayoutsPerSecond() > 0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test public void searchRejectsEmptyBudget() {
+        SplittableRandom random = new SplittableRandom(3);
+        assertThrows(IllegalArgumentException.class, () -> new MctsPolicy(
+            random, 0, Long.MAX_VALUE, 5, null, r -> new GreedyBuyerPolicy()
+        ));
+        assertThrows(IllegalArgumentException.class, () -> new MctsPolicy(
+            random, 40, Long.MAX_VALUE, 0, null, r -> new GreedyBuyerPolicy()
+        ));
+    }
+}
@@ -0,0 +1,47 @@
+package dev.anli.oligopoly;
+
+import dev.anli.oligopoly.analysis.LandingDistribution;
+import dev.anli.oligopoly.analysis.PropertyAnalytics;
+import dev.anli.oligopoly.board.Board;
+import org.junit.jupiter.api.Test;
+
+import static dev.anli.oligopoly.Fixtures.findBoard;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PropertyAnalyticsTest {
+    @Test public void analyticsScaleWithLevelAndPlayers() {
+        Board board = findBoard("Standard");
+        int property = board.getPropertyNumber("BROWN_1");
+        PropertyAnalytics twoPlayers = PropertyAnalytics.of(board, 2);
+        PropertyAnalytics threePlayers = PropertyAnalytics.of(board, 3);
+        double landings = LandingDistribution.of(board).getPropertyLandingsPerTurn(property);
+
+        assertEquals(7, twoPlayers.getLevelCount(property));
+        assertEquals(2 * landings, twoPlayers.getRentPerOpponentTurn(property, 0), 1e-9);
+        assertEquals(60 / (2 * landings), twoPlayers.getPaybackRounds(property, 0), 1e-6);
+        assertEquals(
+            twoPlayers.getPaybackRounds(property, 0) / 2,
+            twoPlayers.getPaybackRounds(property, 1),
+            1e-6
+        );
+        assertEquals(
+            2 * twoPlayers.getRentPerRound(property, 6),
+            threePlayers.getRentPerRound(property, 6),
+            1e-9
+        );
+        assertSame(threePlayers, PropertyAnalytics.of(board, 3));
+    }
+
+    @Test public void analyticsRejectMissingLevels() {
+        Board board = findBoard("Standard");
+        int property = board.getPropertyNumber("BROWN_1");
+        PropertyAnalytics analytics = PropertyAnalytics.of(board, 2);
+
+        assertThrows(
+            IndexOutOfBoundsException.class, () -> analytics.getPaybackRounds(property, 7)
+        );
+        assertThrows(
+            IndexOutOfBoundsException.class, () -> analytics.getRentPerRound(property, -1)
+        );
+    }
+}
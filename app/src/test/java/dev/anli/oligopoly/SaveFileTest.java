@@ -0,0 +1,123 @@
+package dev.anli.oligopoly;
+
+import dev.anli.oligopoly.board.Board;
+import dev.anli.oligopoly.bot.GreedyBuyerPolicy;
+import dev.anli.oligopoly.bot.PlayerPolicy;
+import dev.anli.oligopoly.state.Game;
+import dev.anli.oligopoly.state.SaveFile;
+import dev.anli.oligopoly.state.SaveHeader;
+import dev.anli.oligopoly.state.TurnPhase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static dev.anli.oligopoly.Fixtures.findBoard;
+import static dev.anli.oligopoly.Fixtures.serialize;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SaveFileTest {
+    /**
+     * Plays a game, saving it at the start of every turn, and returns the saved games.
+     */
+    private static List<String> playAndSave(Game game, SaveFile saveFile, int turns)
+        throws IOException {
+        List<String> saves = new ArrayList<>();
+        saveFile.save(game);
+        saves.add(serialize(game));
+        PlayerPolicy policy = new GreedyBuyerPolicy();
+        while (game.getTurns() < turns && game.getTurnPhase() != TurnPhase.WINNER) {
+            policy.step(game);
+            if (game.getTurnPhase() == TurnPhase.START) {
+                saveFile.save(game);
+                saves.add(serialize(game));
+            }
+        }
+        return saves;
+    }
+
+    @Test public void saveFileAppendsDeltas(@TempDir File directory) throws IOException {
+        for (SaveFile.Format format : SaveFile.Format.values()) {
+            Board board = findBoard("Standard");
+            Game game = new Game(board, 4, board.startItems(), 23);
+            File file = new File(directory, format + ".txt");
+            SaveFile saveFile = new SaveFile(file, format, 5, Long.MAX_VALUE);
+            List<Boolean> saves = new ArrayList<>();
+            game.setGameSaver(g -> {
+                try {
+                    saves.add(saveFile.save(g));
+                    if (g.getTurnPhase() == TurnPhase.START) {
+                        // Either format loads.
+                        Game loaded = new SaveFile(file).load(List.of(board));
+                        assertEquals(serialize(g), serialize(loaded));
+                        assertEquals(g.getRandomDraws(), loaded.getRandomDraws());
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            saves.add(saveFile.save(game));
+
+            PlayerPolicy policy = new GreedyBuyerPolicy();
+            while (game.getTurns() < 30 && game.getTurnPhase() != TurnPhase.WINNER) {
+                policy.step(game);
+            }
+
+            // A full save, then five deltas, then compaction.
+            assertEquals(
+                List.of(true, false, false, false, false, false, true), saves.subList(0, 7)
+            );
+        }
+    }
+
+    @Test public void tornDeltaIsDropped(@TempDir File directory) throws IOException {
+        Board board = findBoard("Standard");
+        for (SaveFile.Format format : SaveFile.Format.values()) {
+            File file = new File(directory, format + ".sav");
+            SaveFile saveFile = new SaveFile(file, format, 100, Long.MAX_VALUE);
+            Game game = new Game(board, 3, board.startItems(), 19);
+            List<String> saves = playAndSave(game, saveFile, 10);
+
+            try (RandomAccessFile output = new RandomAccessFile(file, "rw")) {
+                output.setLength(output.length() - 2);
+            }
+            SaveFile reloaded = new SaveFile(file, format, 100, Long.MAX_VALUE);
+            Game loaded = reloaded.load(List.of(board));
+            assertEquals(saves.get(saves.size() - 2), serialize(loaded));
+
+            // The torn file is replaced rather than appended to.
+            assertTrue(reloaded.save(loaded));
+            assertEquals(serialize(loaded), serialize(new SaveFile(file).load(List.of(board))));
+        }
+    }
+
+    @Test public void corruptSavesAreRejected(@TempDir File directory) throws IOException {
+        Board board = findBoard("Standard");
+        File file = new File(directory, "game.sav");
+        SaveFile saveFile = new SaveFile(file, SaveFile.Format.TEXT, 100, Long.MAX_VALUE);
+        playAndSave(new Game(board, 3, board.startItems(), 19), saveFile, 10);
+        byte[] contents = Files.readAllBytes(file.toPath());
+
+        // A damaged delta that isn't the last one can't be skipped.
+        String text = new String(contents, StandardCharsets.ISO_8859_1);
+        String damaged = text.replaceFirst("\ndelta\n", "\ndelte\n");
+        assertNotEquals(text, damaged);
+        Files.write(file.toPath(), damaged.getBytes(StandardCharsets.ISO_8859_1));
+        assertThrows(IOException.class, () -> new SaveFile(file).load(List.of(board)));
+
+        // Neither can a full save that was cut off.
+        Files.write(file.toPath(), java.util.Arrays.copyOf(contents, SaveHeader.SIZE + 20));
+        assertThrows(IOException.class, () -> new SaveFile(file).load(List.of(board)));
+
+        File missing = new File(directory, "missing.sav");
+        assertThrows(FileNotFoundException.class, () -> new SaveFile(missing).load(List.of(board)));
+    }
+}
@@ -0,0 +1,106 @@
+package dev.anli.oligopoly;
+
+import dev.anli.oligopoly.board.Board;
+import dev.anli.oligopoly.bot.GreedyBuyerPolicy;
+import dev.anli.oligopoly.bot.PlayerPolicy;
+import dev.anli.oligopoly.state.Game;
+import dev.anli.oligopoly.state.Player;
+import dev.anli.oligopoly.state.SaveFile;
+import dev.anli.oligopoly.state.SaveHeader;
+import dev.anli.oligopoly.state.SaveSlots;
+import dev.anli.oligopoly.state.TurnPhase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static dev.anli.oligopoly.Fixtures.findBoard;
+import static dev.anli.oligopoly.Fixtures.serialize;
+import static org.junit.jupiter.api.Assertions.*;
+import static java.util.stream.Collectors.toSet;
+
+public class SaveSlotsTest {
+    @Test public void saveSlotsListHeaders(@TempDir File directory) throws IOException {
+        Board board = findBoard("Standard");
+        SaveSlots slots = new SaveSlots(directory);
+        Map<String, Game> games = new HashMap<>();
+        for (int i = 0; i < 3; i++) {
+            String id = slots.create();
+            Game game = new Game(board, 2 + i, board.startItems(), 41 + i);
+            SaveFile saveFile = new SaveFile(slots.getSaveFile(id));
+            saveFile.save(game);
+            PlayerPolicy policy = new GreedyBuyerPolicy();
+            while (game.getTurns() < 5 * (i + 1) && game.getTurnPhase() != TurnPhase.WINNER) {
+                policy.step(game);
+                if (game.getTurnPhase() == TurnPhase.START) {
+                    saveFile.save(game);
+                }
+            }
+            games.put(id, game);
+        }
+        // A slot that hasn't been saved to isn't listed.
+        slots.create();
+
+        List<SaveSlots.Slot> listed = slots.list();
+        assertEquals(games.keySet(), listed.stream().map(SaveSlots.Slot::id).collect(toSet()));
+        for (int i = 1; i < listed.size(); i++) {
+            assertTrue(
+                listed.get(i - 1).header().lastModified() >= listed.get(i).header().lastModified()
+            );
+        }
+        for (SaveSlots.Slot slot : listed) {
+            Game game = games.get(slot.id());
+            SaveHeader header = slot.header();
+            assertEquals(board.name(), header.boardName());
+            assertEquals(game.getTurns(), header.turns());
+            assertEquals(game.getPlayers().size(), header.players());
+            assertEquals(
+                game.getPlayers().stream().filter(Player::isAlive).count(), header.playersAlive()
+            );
+
+            Game loaded = new SaveFile(slots.getSaveFile(slot.id())).load(List.of(board));
+            assertEquals(serialize(game), serialize(loaded));
+        }
+
+        String deleted = listed.get(0).id();
+        slots.delete(deleted);
+        assertFalse(slots.getSaveFile(deleted).exists());
+        assertEquals(2, slots.list().size());
+    }
+
+    @Test public void damagedHeadersAreSkipped(@TempDir File directory) throws IOException {
+        Board board = findBoard("Standard");
+        SaveSlots slots = new SaveSlots(directory);
+        String intact = slots.create();
+        new SaveFile(slots.getSaveFile(intact)).save(new Game(board, 2, board.startItems(), 5));
+
+        // Bad magic, a newer version and a board name longer than the header.
+        long[] positions = {1, 4, 26};
+        byte[] values = {'X', 2, 0x7F};
+        for (int i = 0; i < positions.length; i++) {
+            String id = slots.create();
+            File file = slots.getSaveFile(id);
+            new SaveFile(file).save(new Game(board, 2, board.startItems(), 5));
+            try (RandomAccessFile output = new RandomAccessFile(file, "rw")) {
+                output.seek(positions[i]);
+                output.write(values[i]);
+            }
+            assertThrows(IOException.class, () -> SaveHeader.read(file));
+        }
+
+        String cut = slots.create();
+        try (RandomAccessFile output = new RandomAccessFile(slots.getSaveFile(cut), "rw")) {
+            output.write(new byte[SaveHeader.SIZE / 2]);
+        }
+        assertThrows(IOException.class, () -> SaveHeader.read(slots.getSaveFile(cut)));
+
+        assertEquals(
+            List.of(intact), slots.list().stream().map(SaveSlots.Slot::id).toList()
+        );
+    }
+}
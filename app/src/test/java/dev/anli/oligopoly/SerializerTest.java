@@ -0,0 +1,171 @@
+package dev.anli.oligopoly;
+
+import dev.anli.oligopoly.board.Board;
+import dev.anli.oligopoly.bot.GreedyBuyerPolicy;
+import dev.anli.oligopoly.bot.PlayerPolicy;
+import dev.anli.oligopoly.io.BinaryDeserializer;
+import dev.anli.oligopoly.io.BinarySerializer;
+import dev.anli.oligopoly.io.CharBufferDeserializer;
+import dev.anli.oligopoly.io.Serializer;
+import dev.anli.oligopoly.state.Game;
+import dev.anli.oligopoly.state.TurnPhase;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static dev.anli.oligopoly.Fixtures.findBoard;
+import static dev.anli.oligopoly.Fixtures.serialize;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SerializerTest {
+    @Test public void streamingSerializerMatchesDump() throws IOException {
+        Board board = findBoard("Standard");
+        Game game = new Game(board, 3, board.startItems(), 37);
+        PlayerPolicy policy = new GreedyBuyerPolicy();
+        while (game.getTurns() < 10) {
+            policy.step(game);
+        }
+
+        Serializer buffered = new Serializer();
+        buffered.accept(game);
+        buffered.accept("back\\slash\nnew line");
+        String dumped = buffered.dump();
+
+        StringWriter writer = new StringWriter();
+        Serializer streaming = new Serializer(writer, 7);
+        streaming.accept(game);
+        streaming.accept("back\\slash\nnew line");
+        streaming.finish();
+        assertEquals(dumped, writer.toString());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Serializer channel =
+            new Serializer(Channels.newChannel(bytes), StandardCharsets.UTF_8);
+        channel.accept(game);
+        channel.accept("back\\slash\nnew line");
+        channel.flush();
+        assertEquals(dumped, bytes.toString(StandardCharsets.UTF_8));
+        assertThrows(IllegalStateException.class, channel::dump);
+    }
+
+    @Test public void streamingSerializerKeepsEscapesAcrossFlushes() throws IOException {
+        Serializer buffered = new Serializer();
+        buffered.accept("\\\n\\n");
+        String dumped = buffered.dump();
+
+        // Every buffer size splits an escape somewhere.
+        for (int size = 1; size <= 8; size++) {
+            StringWriter writer = new StringWriter();
+            Serializer streaming = new Serializer(writer, size);
+            streaming.accept("\\\n\\n");
+            streaming.finish();
+            assertEquals(dumped, writer.toString(), "Buffer size " + size);
+        }
+    }
+
+    @Test public void charBufferDeserializerMatchesReader() throws IOException {
+        Board board = findBoard("Standard");
+        Game game = new Game(board, 3, board.startItems(), 41);
+        PlayerPolicy policy = new GreedyBuyerPolicy();
+        while (game.getTurns() < 15 || game.getTurnPhase() != TurnPhase.START) {
+            policy.step(game);
+        }
+
+        Serializer serializer = new Serializer();
+        serializer.accept(game);
+        serializer.accept(Long.MIN_VALUE);
+        serializer.accept("+42");
+        serializer.accept("");
+        serializer.accept("back\\slash\nnew line\\n");
+        String dumped = serializer.dump();
+
+        CharBufferDeserializer deserializer = new CharBufferDeserializer(CharBuffer.wrap(dumped));
+        assertEquals(serialize(game), serialize(Game.deserialize(deserializer, List.of(board))));
+        assertEquals(Long.MIN_VALUE, deserializer.readLong());
+        assertEquals(42, deserializer.readInt());
+        assertEquals("", deserializer.readLine());
+        assertEquals("back\\slash\nnew line\\n", deserializer.readLine());
+        assertTrue(deserializer.isAtEnd());
+        assertThrows(IOException.class, deserializer::readLine);
+
+        for (String invalid : List.of("", "-", "1x", "2147483648", "99999999999999999999")) {
+            assertThrows(
+                IOException.class,
+                () -> new CharBufferDeserializer(CharBuffer.wrap(invalid + "\n")).readInt()
+            );
+        }
+        assertEquals(-7, new CharBufferDeserializer(CharBuffer.wrap("-7\r\n")).readInt());
+    }
+
+    @Test public void charBufferDeserializerStopsAtBufferEnd() throws IOException {
+        // "a\\nb\\sc" is the escaped form of "a", a new line, "b", a backslash and "c".
+        String text = "a\\nb\\sc\n";
+
+        // A buffer that ends in the middle of an escape keeps the dangling backslash.
+        CharBufferDeserializer cut = new CharBufferDeserializer(CharBuffer.wrap(text, 0, 2));
+        assertEquals("a\\", cut.readLine());
+        assertTrue(cut.isAtEnd());
+        assertThrows(IOException.class, cut::readLine);
+
+        // A buffer that starts in the middle of one reads from its own position.
+        CharBufferDeserializer rest =
+            new CharBufferDeserializer(CharBuffer.wrap(text, 2, text.length()));
+        assertEquals("nb\\c", rest.readLine());
+        assertTrue(rest.isAtEnd());
+    }
+
+    @Test public void binarySerializationRoundTrips() throws IOException {
+        Board board = findBoard("Standard");
+        Game game = new Game(board, 3, board.startItems(), 31);
+        PlayerPolicy policy = new GreedyBuyerPolicy();
+        while (game.getTurns() < 20 || game.getTurnPhase() != TurnPhase.START) {
+            policy.step(game);
+        }
+
+        BinarySerializer serializer = new BinarySerializer();
+        serializer.accept(game);
+        serializer.accept(Long.MIN_VALUE);
+        serializer.accept("caf\u00e9\nline");
+        serializer.acceptItemId("not an item", board.itemIndex());
+        byte[] bytes = serializer.toByteArray();
+        assertTrue(bytes.length < serialize(game).length() / 2);
+
+        BinaryDeserializer deserializer = new BinaryDeserializer(ByteBuffer.wrap(bytes));
+        assertEquals(serialize(game), serialize(Game.deserialize(deserializer, List.of(board))));
+        assertEquals(Long.MIN_VALUE, deserializer.readLong());
+        assertEquals("caf\u00e9\nline", deserializer.readLine());
+        assertEquals("not an item", deserializer.readItemId(board.itemIndex()));
+        assertTrue(deserializer.isAtEnd());
+        assertThrows(IOException.class, deserializer::readInt);
+    }
+
+    @Test public void binaryDeserializerRejectsBadData() throws IOException {
+        byte[] header = new BinarySerializer().toByteArray();
+
+        byte[] badMagic = header.clone();
+        badMagic[1] = 'X';
+        assertThrows(IOException.class, () -> new BinaryDeserializer(ByteBuffer.wrap(badMagic)));
+        assertThrows(IOException.class, () -> new BinaryDeserializer(ByteBuffer.wrap(new byte[2])));
+
+        byte[] newer = header.clone();
+        newer[newer.length - 1] = (byte) (BinarySerializer.VERSION + 1);
+        assertThrows(IOException.class, () -> new BinaryDeserializer(ByteBuffer.wrap(newer)));
+
+        BinarySerializer serializer = new BinarySerializer(false);
+        serializer.accept("string");
+        byte[] truncated = Arrays.copyOf(serializer.toByteArray(), 4);
+        BinaryDeserializer cut = new BinaryDeserializer(ByteBuffer.wrap(truncated), false);
+        assertThrows(IOException.class, cut::readLine);
+
+        BinaryDeserializer invalid = new BinaryDeserializer(ByteBuffer.wrap(new byte[] {2}), false);
+        assertThrows(IOException.class, invalid::readBoolean);
+    }
+}
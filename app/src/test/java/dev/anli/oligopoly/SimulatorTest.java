@@ -0,0 +1,132 @@
+package dev.anli.oligopoly;
+
+import dev.anli.oligopoly.board.Board;
+import dev.anli.oligopoly.bot.PlayerPolicy;
+import dev.anli.oligopoly.sim.ParallelSimulator;
+import dev.anli.oligopoly.sim.SimulationStats;
+import dev.anli.oligopoly.sim.Simulator;
+import dev.anli.oligopoly.state.Game;
+import dev.anli.oligopoly.state.TurnPhase;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static dev.anli.oligopoly.Fixtures.findBoard;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SimulatorTest {
+    private static long totalWins(SimulationStats stats, int numPlayers) {
+        long wins = 0;
+        for (int i = 0; i < numPlayers; i++) {
+            wins += stats.getWins(i);
+        }
+        return wins;
+    }
+
+    @Test public void playEndsWithWinner() {
+        Board board = findBoard("King of the Hill");
+        Simulator simulator = new Simulator(board, 3, 1000, new SplittableRandom(1));
+        Game game = new Game(board, 3);
+
+        assertTrue(simulator.play(game));
+        assertEquals(TurnPhase.WINNER, game.getTurnPhase());
+    }
+
+    @Test public void playAbandonsAfterMaxTurns() {
+        Board board = findBoard("Deathmatch");
+        Simulator simulator = new Simulator(board, 2, 10, new SplittableRandom(1));
+        Game game = new Game(board, 2);
+
+        assertFalse(simulator.play(game));
+        assertTrue(game.getTurns() > 10);
+    }
+
+    @Test public void referencePoliciesPlayToCompletion() {
+        Board board = findBoard("Standard");
+        SplittableRandom random = new SplittableRandom(7);
+        List<PlayerPolicy> policies = List.of(
+            PlayerPolicy.byName("greedy", random),
+            PlayerPolicy.byName("hoarder", random),
+            PlayerPolicy.byName("random", random)
+        );
+        Simulator simulator = new Simulator(board, policies, 5000, random);
+        Game game = new Game(board, 3, board.startItems(), 7);
+
+        assertTrue(simulator.play(game));
+        assertEquals(TurnPhase.WINNER, game.getTurnPhase());
+    }
+
+    @Test public void runRecordsEveryGame() {
+        Board board = findBoard("King of the Hill");
+        SimulationStats stats = new Simulator(board, 4, 1000, new SplittableRandom(1)).run(200);
+
+        assertEquals(200, stats.getGames());
+        assertEquals(stats.getFinishedGames(), totalWins(stats, 4));
+    }
+
+    @Test public void mergeCombinesStats() {
+        Board board = findBoard("King of the Hill");
+        SimulationStats a = new Simulator(board, 2, 1000, new SplittableRandom(1)).run(30);
+        SimulationStats b = new Simulator(board, 2, 1000, new SplittableRandom(2)).run(20);
+        long turns = a.getTotalTurns() + b.getTotalTurns();
+        long wins = a.getWins(0) + b.getWins(0);
+
+        a.merge(b);
+
+        assertEquals(50, a.getGames());
+        assertEquals(turns, a.getTotalTurns());
+        assertEquals(wins, a.getWins(0));
+    }
+
+    @Test public void parallelRunIsReproducible() {
+        Board board = findBoard("King of the Hill");
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ParallelSimulator simulator = new ParallelSimulator(board, 4, 1000, pool);
+            SimulationStats a = simulator.run(500, new SplittableRandom(42));
+            SimulationStats b = simulator.run(500, new SplittableRandom(42));
+
+            assertEquals(a.getTotalTurns(), b.getTotalTurns());
+            for (int i = 0; i < 4; i++) {
+                assertEquals(a.getWins(i), b.getWins(i));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test public void parallelRunUnderContention() throws InterruptedException {
+        // Oversubscribe the pools and run several simulations sharing the same boards at once.
+        List<Board> boards = List.of(findBoard("King of the Hill"), findBoard("Standard"));
+        int parallelism = 4 * Runtime.getRuntime().availableProcessors();
+        SimulationStats[] results = new SimulationStats[4];
+        Thread[] threads = new Thread[results.length];
+
+        for (int i = 0; i < threads.length; i++) {
+            int index = i;
+            threads[i] = new Thread(() -> {
+                ForkJoinPool pool = new ForkJoinPool(parallelism);
+                try {
+                    Board board = boards.get(index % boards.size());
+                    ParallelSimulator simulator = new ParallelSimulator(board, 4, 50, pool);
+                    results[index] = simulator.run(1000, new SplittableRandom(index));
+                } finally {
+                    pool.shutdown();
+                }
+            });
+            threads[i].start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (SimulationStats stats : results) {
+            assertNotNull(stats);
+            assertEquals(1000, stats.getGames());
+            assertEquals(stats.getFinishedGames(), totalWins(stats, 4));
+        }
+    }
+}